@@ -0,0 +1,74 @@
+package com.pehchaan.backend.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pehchaan.backend.config.ApplicationConfig;
+import com.pehchaan.backend.search.LaborerGeoIndex;
+import com.pehchaan.backend.search.LaborerSnapshot;
+
+/**
+ * Location hot paths: building a JTS point through the app's GeometryFactory
+ * bean (every GPS ping and gig request), and ranking the nearest available
+ * laborers in {@link LaborerGeoIndex} for "Find a Plumber".
+ *
+ * The index holds {@code laborers} synthetic laborers spread over a ~40 km
+ * square around Bengaluru, a third of them plumbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeoBenchmark {
+
+    private static final double CENTER_LAT = 12.9716;
+    private static final double CENTER_LON = 77.5946;
+
+    @Param({"10000", "100000"})
+    public int laborers;
+
+    private GeometryFactory geometryFactory;
+    private LaborerGeoIndex geoIndex;
+    private double latitude;
+    private double longitude;
+
+    @Setup
+    public void setUp() {
+        geometryFactory = new ApplicationConfig(null).geometryFactory();
+        // The repository is only used by rebuild(); the index is filled through update() here
+        geoIndex = new LaborerGeoIndex(null);
+
+        SplittableRandom random = new SplittableRandom(7);
+        List<Set<String>> skills = List.of(Set.of("PLUMBER"), Set.of("ELECTRICIAN"), Set.of("CARPENTER", "PAINTER"));
+        for (int i = 0; i < laborers; i++) {
+            geoIndex.update(new LaborerSnapshot((long) i, "9" + i, "Worker", Integer.toString(i),
+                    random.nextDouble(3.0, 5.0), true, LaborerSnapshot.STATUS_AVAILABLE, skills.get(i % 3),
+                    CENTER_LAT + random.nextDouble(-0.18, 0.18), CENTER_LON + random.nextDouble(-0.18, 0.18)));
+        }
+        latitude = CENTER_LAT + 0.01;
+        longitude = CENTER_LON - 0.02;
+    }
+
+    @Benchmark
+    public Point createPoint() {
+        return geometryFactory.createPoint(new Coordinate(longitude, latitude));
+    }
+
+    @Benchmark
+    public List<LaborerSnapshot> nearestPlumbers() {
+        return geoIndex.findNearest("PLUMBER", latitude, longitude, 5_000, 20);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pehchaan.backend.benchmarks;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ *
+ * {@code legacyFilterPath} reproduces what JwtAuthFilter used to do: three full
+ * parses (username, username again, expiry), each one decoding the key and
+ * building a new parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtServiceBenchmark {
+
+    private String secret;
+    private JwtService jwtService;
+    private String token;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[32];
+        for (int i = 0; i < keyBytes.length; i++) {
+            keyBytes[i] = (byte) (i * 31 + 7);
+        }
+        secret = Base64.getEncoder().encodeToString(keyBytes);
+        jwtService = new JwtService(secret);
+
+        user = User.builder()
+                .id(42L)
+                .phone("9876543210")
+                .password("unused")
+                .role(Role.ROLE_LABOR)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken parseOnce() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims().getSubject();
+        boolean sameUser = legacyClaims().getSubject().equals(username);
+        return sameUser && !legacyClaims().getExpiration().before(new java.util.Date());
+    }
+
+    private Claims legacyClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
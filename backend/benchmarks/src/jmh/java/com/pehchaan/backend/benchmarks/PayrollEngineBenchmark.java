@@ -0,0 +1,83 @@
+package com.pehchaan.backend.benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.pehchaan.backend.payroll.PayrollBatch;
+import com.pehchaan.backend.payroll.PayrollCalculator;
+
+/**
+ * Time to price a full payroll run of one million approved logs.
+ *
+ * The logs are a synthetic mix of hourly and daily assignments with and
+ * without overtime and half-day rules, held in columns the way
+ * PayrollLogRepository reads them off each page. The sink only consumes the
+ * batches, so this measures the engine itself, not the database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PayrollEngineBenchmark {
+
+    @Param({"1000000"})
+    public int logs;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private int[] wageKinds;
+    private long[] ratesMinor;
+    private long[] minutes;
+    private int[] overtimeAfter;
+    private int[] overtimePercent;
+    private int[] halfDay;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        wageKinds = new int[logs];
+        ratesMinor = new long[logs];
+        minutes = new long[logs];
+        overtimeAfter = new int[logs];
+        overtimePercent = new int[logs];
+        halfDay = new int[logs];
+        for (int i = 0; i < logs; i++) {
+            boolean hourly = random.nextBoolean();
+            wageKinds[i] = hourly ? PayrollCalculator.WAGE_HOURLY : PayrollCalculator.WAGE_DAILY;
+            ratesMinor[i] = hourly ? random.nextLong(5_000, 20_000) : random.nextLong(40_000, 150_000);
+            minutes[i] = random.nextLong(120, 14 * 60);
+            overtimeAfter[i] = random.nextInt(4) == 0 ? 0 : 8 * 60;
+            overtimePercent[i] = random.nextBoolean() ? 0 : 200;
+            halfDay[i] = hourly || random.nextBoolean() ? 0 : 4 * 60;
+        }
+    }
+
+    @Benchmark
+    public long priceRun(Blackhole blackhole) {
+        PayrollBatch batch = new PayrollBatch(batchSize, (logIds, amountsMinor, count) -> {
+            blackhole.consume(logIds);
+            blackhole.consume(count);
+        });
+        for (int i = 0; i < logs; i++) {
+            batch.add(i, wageKinds[i], ratesMinor[i], minutes[i], overtimeAfter[i], overtimePercent[i], halfDay[i]);
+        }
+        batch.flush();
+        return batch.grossMinor();
+    }
+}
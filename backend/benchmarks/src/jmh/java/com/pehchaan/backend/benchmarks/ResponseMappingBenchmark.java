@@ -0,0 +1,134 @@
+package com.pehchaan.backend.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pehchaan.backend.config.ApplicationConfig;
+import com.pehchaan.backend.dto.gig.GigResponse;
+import com.pehchaan.backend.dto.profile.ProfileResponse;
+import com.pehchaan.backend.dto.work.WorkLogResponse;
+import com.pehchaan.backend.entity.Gig;
+import com.pehchaan.backend.entity.Project;
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.entity.WorkLog;
+
+/**
+ * Entity-to-DTO mapping for the responses on the busiest endpoints, alone and
+ * followed by JSON serialization. The ObjectMapper is configured like Spring
+ * Boot's (java.time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Gig gig;
+    private WorkLog workLog;
+    private User laborer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        GeometryFactory geometryFactory = new ApplicationConfig(null).geometryFactory();
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+        laborer = User.builder()
+                .id(42L)
+                .phone("9876543210")
+                .role(Role.ROLE_LABOR)
+                .firstName("Ravi")
+                .lastName("Kumar")
+                .rating(4.6)
+                .isVerified(true)
+                .status("AVAILABLE")
+                .skills(Set.of("PLUMBER", "ELECTRICIAN"))
+                .currentLocation(geometryFactory.createPoint(new Coordinate(77.5946, 12.9716)))
+                .build();
+        User consumer = User.builder()
+                .id(7L)
+                .phone("9123456780")
+                .role(Role.ROLE_CONSUMER)
+                .firstName("Asha")
+                .lastName("Rao")
+                .build();
+        User contractor = User.builder()
+                .id(3L)
+                .role(Role.ROLE_CONTRACTOR)
+                .firstName("Mehul")
+                .lastName("Shah")
+                .build();
+
+        gig = Gig.builder()
+                .id(1001L)
+                .consumer(consumer)
+                .laborer(laborer)
+                .status(Gig.GigStatus.ACCEPTED)
+                .skill("PLUMBER")
+                .consumerLocation(geometryFactory.createPoint(new Coordinate(77.6, 12.97)))
+                .consumerAddress("12 MG Road, Bengaluru")
+                .visitingCharge(new BigDecimal("110.00"))
+                .totalAmount(new BigDecimal("450.00"))
+                .createdAt(now)
+                .acceptedAt(now.plusMinutes(3))
+                .build();
+
+        workLog = WorkLog.builder()
+                .id(5001L)
+                .project(Project.builder().id(11L).name("Tower B").contractor(contractor).build())
+                .laborer(laborer)
+                .checkInTime(now)
+                .checkOutTime(now.plusHours(9))
+                .wageEarned(new BigDecimal("900.00"))
+                .status(WorkLog.WorkStatus.PENDING_APPROVAL)
+                .build();
+    }
+
+    @Benchmark
+    public GigResponse mapGig() {
+        return GigResponse.fromEntity(gig);
+    }
+
+    @Benchmark
+    public WorkLogResponse mapWorkLog() {
+        return WorkLogResponse.fromEntity(workLog);
+    }
+
+    @Benchmark
+    public ProfileResponse mapProfile() {
+        return ProfileResponse.fromEntity(laborer);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeGig() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GigResponse.fromEntity(gig));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeWorkLog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(WorkLogResponse.fromEntity(workLog));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ProfileResponse.fromEntity(laborer));
+    }
+}
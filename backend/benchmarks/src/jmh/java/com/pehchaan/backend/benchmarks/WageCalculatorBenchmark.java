@@ -0,0 +1,45 @@
+package com.pehchaan.backend.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.pehchaan.backend.payroll.PayrollCalculator;
+import com.pehchaan.backend.service.WageCalculator;
+
+/**
+ * Wage for one shift as check-out computes it (BigDecimal), next to the
+ * payroll engine's integer version of the same hourly rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WageCalculatorBenchmark {
+
+    private final BigDecimal rate = new BigDecimal("125.50");
+    private final LocalDateTime checkIn = LocalDateTime.of(2024, 5, 1, 8, 17);
+    private final LocalDateTime checkOut = LocalDateTime.of(2024, 5, 1, 17, 44);
+
+    @Benchmark
+    public BigDecimal hourly() {
+        return WageCalculator.calculate("HOURLY", rate, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public BigDecimal daily() {
+        return WageCalculator.calculate("DAILY", rate, checkIn, checkOut);
+    }
+
+    @Benchmark
+    public long hourlyMinorUnits() {
+        return PayrollCalculator.payMinor(PayrollCalculator.WAGE_HOURLY, 12_550,
+                WageCalculator.minutesWorked(checkIn, checkOut), 480, 150, 0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.pehchaan.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A blocking JSON client for the app's API. Every call is timed into
+ * {@link LatencyStats} under its endpoint (method and path template), and
+ * non-2xx answers are counted by status code.
+ */
+final class ApiClient {
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyStats stats;
+    private final Map<Integer, LongAdder> failuresByStatus = new ConcurrentHashMap<>();
+
+    ApiClient(int port, LatencyStats stats) {
+        this.baseUrl = "http://localhost:" + port;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Returns the parsed response body, or null when the call failed. {@code endpoint}
+     * is the metrics key, e.g. "POST /api/gigs/{id}/accept".
+     */
+    JsonNode call(String endpoint, String method, String path, Object body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body for " + endpoint, e);
+        }
+
+        long start = System.nanoTime();
+        int status = -1;
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            boolean ok = status / 100 == 2;
+            stats.record(endpoint, System.nanoTime() - start, ok);
+            if (!ok) {
+                failuresByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+                return null;
+            }
+            byte[] responseBody = response.body();
+            return responseBody.length > 0 ? objectMapper.readTree(responseBody) : objectMapper.nullNode();
+        } catch (IOException e) {
+            if (status < 0) {
+                stats.record(endpoint, System.nanoTime() - start, false);
+                failuresByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Failed calls so far by HTTP status (-1 means no response at all).
+     */
+    Map<Integer, Long> failuresByStatus() {
+        Map<Integer, Long> failures = new TreeMap<>();
+        failuresByStatus.forEach((status, count) -> failures.put(status, count.sum()));
+        return failures;
+    }
+}
@@ -0,0 +1,90 @@
+package com.pehchaan.backend.loadtest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * The synthetic population the load test plays: every registered user with
+ * their token and whatever state the workload needs to pick valid requests.
+ */
+final class City {
+
+    // Bengaluru; everyone lives within ~20 km of it
+    static final double CENTER_LAT = 12.9716;
+    static final double CENTER_LON = 77.5946;
+    static final double SPREAD_DEGREES = 0.18;
+
+    static final List<String> SKILLS = List.of("PLUMBER", "ELECTRICIAN", "CARPENTER", "PAINTER", "MASON");
+
+    /**
+     * One user. A client must hold {@link #lock} while it acts as this user, so
+     * two clients never, say, check the same laborer in twice.
+     */
+    static final class Actor {
+        final String phone;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile String token;
+        volatile long id;
+        volatile double latitude;
+        volatile double longitude;
+        volatile String skill;
+        // Laborers: the project they are assigned to and its site centre
+        volatile long projectId;
+        volatile double siteLatitude;
+        volatile double siteLongitude;
+        volatile boolean checkedIn;
+
+        Actor(String phone) {
+            this.phone = phone;
+        }
+    }
+
+    record Site(long projectId, Actor contractor, double latitude, double longitude) {
+    }
+
+    final List<Actor> laborers;
+    final List<Actor> consumers;
+    final List<Actor> contractors;
+    final List<Site> sites;
+    final Map<Long, Actor> laborersById = new ConcurrentHashMap<>();
+
+    City(List<Actor> laborers, List<Actor> consumers, List<Actor> contractors, List<Site> sites) {
+        this.laborers = laborers;
+        this.consumers = consumers;
+        this.contractors = contractors;
+        this.sites = sites;
+        laborers.forEach(laborer -> laborersById.put(laborer.id, laborer));
+    }
+
+    /**
+     * Locks a random actor matching the filter, trying a few times; null if none was free.
+     * The caller must unlock it.
+     */
+    static Actor lockAny(List<Actor> actors, Predicate<Actor> filter, SplittableRandom random) {
+        if (actors.isEmpty()) {
+            return null;
+        }
+        for (int attempt = 0; attempt < 8; attempt++) {
+            Actor actor = actors.get(random.nextInt(actors.size()));
+            if (filter.test(actor) && actor.lock.tryLock()) {
+                if (filter.test(actor)) {
+                    return actor;
+                }
+                actor.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    static double randomLatitude(SplittableRandom random) {
+        return CENTER_LAT + random.nextDouble(-SPREAD_DEGREES, SPREAD_DEGREES);
+    }
+
+    static double randomLongitude(SplittableRandom random) {
+        return CENTER_LON + random.nextDouble(-SPREAD_DEGREES, SPREAD_DEGREES);
+    }
+}
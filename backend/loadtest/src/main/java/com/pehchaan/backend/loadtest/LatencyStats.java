@@ -0,0 +1,59 @@
+package com.pehchaan.backend.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histograms and error counts per key (an endpoint), safe to record
+ * into from any number of threads. {@link #drain} hands back everything
+ * recorded since the previous drain, so each phase is reported on its own.
+ */
+final class LatencyStats {
+
+    record Result(Histogram histogram, long errors) {
+
+        long count() {
+            return histogram.getTotalCount();
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        double maxMillis() {
+            return histogram.getMaxValue() / 1000.0;
+        }
+    }
+
+    private static final class Entry {
+        final Recorder recorder = new Recorder(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    void record(String key, long elapsedNanos, boolean ok) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        if (!ok) {
+            entry.errors.increment();
+        }
+    }
+
+    /**
+     * Everything recorded since the last drain, by key (latencies in microseconds).
+     */
+    Map<String, Result> drain() {
+        Map<String, Result> results = new TreeMap<>();
+        entries.forEach((key, entry) ->
+                results.put(key, new Result(entry.recorder.getIntervalHistogram(), entry.errors.sumThenReset())));
+        results.values().removeIf(result -> result.count() == 0);
+        return results;
+    }
+}
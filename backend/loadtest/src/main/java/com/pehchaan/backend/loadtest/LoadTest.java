@@ -0,0 +1,105 @@
+package com.pehchaan.backend.loadtest;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import com.pehchaan.backend.BackendApplication;
+
+/**
+ * End-to-end load test.
+ *
+ * Starts a throwaway PostGIS (Testcontainers, or {@code loadtest.jdbc-url}),
+ * boots the real app against it on a random port, seeds a synthetic city
+ * through the public API, then replays the configured phases of a day
+ * (morning check-in wave, daytime traffic, evening gig rush) with
+ * virtual-thread clients. Reports throughput and p50/p95/p99 latency per
+ * endpoint and phase, plus how long requests waited for a pooled connection.
+ *
+ * <pre>
+ * ./gradlew :loadtest:run -Dloadtest.laborers=2000 -Dloadtest.clients=400 -Dloadtest.phases=MORNING:120,EVENING:120
+ * </pre>
+ * See {@link LoadTestConfig} for every setting.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        PostgreSQLContainer<?> database = null;
+        String jdbcUrl = config.jdbcUrl();
+        String jdbcUser = config.jdbcUser();
+        String jdbcPassword = config.jdbcPassword();
+        if (jdbcUrl == null) {
+            database = new PostgreSQLContainer<>(
+                    DockerImageName.parse(config.postgisImage()).asCompatibleSubstituteFor("postgres"));
+            database.start();
+            jdbcUrl = database.getJdbcUrl();
+            jdbcUser = database.getUsername();
+            jdbcPassword = database.getPassword();
+        }
+
+        LatencyStats requestStats = new LatencyStats();
+        LatencyStats poolStats = new LatencyStats();
+        SpringApplication application = new SpringApplication(BackendApplication.class);
+        application.addInitializers(context ->
+                context.getBeanFactory().addBeanPostProcessor(new PoolWaitTracker(poolStats)));
+
+        try (ConfigurableApplicationContext context = application.run(appArguments(config, jdbcUrl, jdbcUser, jdbcPassword))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ApiClient api = new ApiClient(port, requestStats);
+            Report report = new Report();
+
+            long seedStart = System.nanoTime();
+            City city = new Seeder(api, config).seed();
+            report.addPhase("SEED", Duration.ofNanos(System.nanoTime() - seedStart),
+                    requestStats.drain(), poolStats.drain(), System.out);
+
+            Workload workload = new Workload(api, city, config.thinkTime());
+            workload.start(config.clients(), config.phases().getFirst().phase(), config.seed());
+            for (LoadTestConfig.PhaseRun run : config.phases()) {
+                workload.switchTo(run.phase());
+                long phaseStart = System.nanoTime();
+                Thread.sleep(run.duration());
+                report.addPhase(run.phase().name(), Duration.ofNanos(System.nanoTime() - phaseStart),
+                        requestStats.drain(), poolStats.drain(), System.out);
+            }
+            workload.stop();
+
+            report.printFailures(api.failuresByStatus(), System.out);
+            report.write(config.reportFile());
+            System.out.println("Report written to " + config.reportFile().toAbsolutePath());
+        } finally {
+            if (database != null) {
+                database.stop();
+            }
+        }
+    }
+
+    // --- Helper Methods ---
+
+    // Command-line arguments win over application.properties
+    private static String[] appArguments(LoadTestConfig config, String jdbcUrl, String jdbcUser, String jdbcPassword) {
+        byte[] jwtKey = new byte[32];
+        new SecureRandom().nextBytes(jwtKey);
+        return List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + jdbcUser,
+                "--spring.datasource.password=" + jdbcPassword,
+                "--spring.datasource.hikari.maximum-pool-size=" + config.poolSize(),
+                "--jwt.secret.key=" + Base64.getEncoder().encodeToString(jwtKey),
+                "--spring.jpa.show-sql=false"
+        ).toArray(String[]::new);
+    }
+}
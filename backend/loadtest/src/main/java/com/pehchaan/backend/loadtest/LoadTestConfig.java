@@ -0,0 +1,85 @@
+package com.pehchaan.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param laborers       laborers to register, each assigned to one project
+ * @param consumers      consumers to register
+ * @param contractors    contractors to register
+ * @param projectsPerContractor projects each contractor creates
+ * @param clients        concurrent virtual-thread clients during the phases
+ * @param thinkTime      pause between two requests of one client
+ * @param phases         the day to replay, in order
+ * @param poolSize       Hikari pool size for the app (production runs with 3)
+ * @param jdbcUrl        an existing PostGIS database to use instead of starting a container
+ * @param postgisImage   image for the throwaway database
+ * @param reportFile     CSV report written at the end
+ * @param seed           random seed, so two runs generate the same city
+ */
+record LoadTestConfig(
+        int laborers,
+        int consumers,
+        int contractors,
+        int projectsPerContractor,
+        int clients,
+        Duration thinkTime,
+        List<PhaseRun> phases,
+        int poolSize,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        String postgisImage,
+        Path reportFile,
+        long seed
+) {
+
+    record PhaseRun(Phase phase, Duration duration) {
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                intProperty("laborers", 500),
+                intProperty("consumers", 300),
+                intProperty("contractors", 20),
+                intProperty("projects-per-contractor", 3),
+                intProperty("clients", 200),
+                Duration.ofMillis(intProperty("think-ms", 50)),
+                parsePhases(property("phases", "MORNING:60,DAY:60,EVENING:60")),
+                intProperty("pool-size", 3),
+                property("jdbc-url", null),
+                property("jdbc-user", "postgres"),
+                property("jdbc-password", "postgres"),
+                property("postgis-image", "postgis/postgis:16-3.4"),
+                Path.of(property("report", "build/loadtest/report.csv")),
+                Long.parseLong(property("seed", "42")));
+    }
+
+    // --- Helper Methods ---
+
+    // "MORNING:60,DAY:120" -> phase and seconds
+    private static List<PhaseRun> parsePhases(String value) {
+        List<PhaseRun> phases = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String[] nameAndSeconds = part.trim().split(":");
+            if (nameAndSeconds.length != 2) {
+                throw new IllegalArgumentException("loadtest.phases entries look like MORNING:60, got: " + part);
+            }
+            phases.add(new PhaseRun(Phase.valueOf(nameAndSeconds[0].trim().toUpperCase()),
+                    Duration.ofSeconds(Long.parseLong(nameAndSeconds[1].trim()))));
+        }
+        return List.copyOf(phases);
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, Integer.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.pehchaan.backend.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * A part of the day, as a weighted mix of what clients do during it.
+ */
+enum Phase {
+
+    // Crews arrive on site; everyone else is just starting to move
+    MORNING(new int[] {25, 10, 5, 55, 0, 5}),
+    // Laborers on the move, consumers searching and booking, contractors checking dashboards
+    DAY(new int[] {45, 25, 15, 5, 5, 5}),
+    // Shifts end while household gig requests peak
+    EVENING(new int[] {10, 20, 35, 0, 30, 5});
+
+    enum Action {
+        LOCATION_PING,
+        NEARBY_SEARCH,
+        GIG_LIFECYCLE,
+        CHECK_IN,
+        CHECK_OUT,
+        DASHBOARD
+    }
+
+    private final int[] cumulativeWeights;
+
+    Phase(int[] weights) {
+        if (weights.length != Action.values().length) {
+            throw new IllegalArgumentException("One weight per action.");
+        }
+        cumulativeWeights = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Action pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return Action.values()[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,58 @@
+package com.pehchaan.backend.loadtest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Records how long the app's requests wait for a Hikari connection (and how
+ * long they then hold it) into {@link LatencyStats}.
+ *
+ * Installed as Hikari's metrics tracker before the pool starts; Spring Boot
+ * then leaves its own Micrometer binding out, so nothing is counted twice.
+ */
+final class PoolWaitTracker implements BeanPostProcessor, MetricsTrackerFactory {
+
+    static final String ACQUIRE = "hikari acquire wait";
+    static final String USAGE = "hikari connection held";
+    static final String TIMEOUT = "hikari acquire timeout";
+
+    private final LatencyStats stats;
+
+    PoolWaitTracker(LatencyStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            hikari.setMetricsTrackerFactory(this);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                stats.record(ACQUIRE, elapsedAcquiredNanos, true);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                stats.record(USAGE, TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis), true);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                stats.record(TIMEOUT, 0, false);
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.pehchaan.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Prints per-phase throughput and latency percentiles per endpoint, the Hikari
+ * wait-time distribution, and writes the same numbers to a CSV file.
+ */
+final class Report {
+
+    // Bucket upper bounds for the pool wait histogram, in microseconds
+    private static final long[] WAIT_BUCKETS_MICROS = {100, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+
+    private final List<String> csv = new ArrayList<>();
+
+    Report() {
+        csv.add("phase,endpoint,count,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms");
+    }
+
+    void addPhase(String phase, Duration duration, Map<String, LatencyStats.Result> requests,
+                  Map<String, LatencyStats.Result> pool, PrintStream out) {
+        double seconds = Math.max(duration.toMillis(), 1) / 1000.0;
+        out.printf(Locale.ROOT, "%n=== %s (%.0f s) ===%n", phase, seconds);
+        out.printf(Locale.ROOT, "%-34s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        requests.forEach((endpoint, result) -> row(phase, endpoint, result, seconds, out));
+        pool.forEach((key, result) -> row(phase, key, result, seconds, out));
+
+        LatencyStats.Result acquire = pool.get(PoolWaitTracker.ACQUIRE);
+        if (acquire != null) {
+            printWaitHistogram(acquire.histogram(), out);
+        }
+    }
+
+    void printFailures(Map<Integer, Long> failuresByStatus, PrintStream out) {
+        if (!failuresByStatus.isEmpty()) {
+            out.println();
+            out.println("Failed requests by HTTP status (-1 = no response): " + failuresByStatus);
+        }
+    }
+
+    void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, csv);
+    }
+
+    // --- Helper Methods ---
+
+    private void row(String phase, String key, LatencyStats.Result result, double seconds, PrintStream out) {
+        double throughput = result.count() / seconds;
+        out.printf(Locale.ROOT, "%-34s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", key, result.count(), result.errors(),
+                throughput, result.percentileMillis(50), result.percentileMillis(95), result.percentileMillis(99),
+                result.maxMillis());
+        csv.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f", phase, key, result.count(),
+                result.errors(), throughput, result.percentileMillis(50), result.percentileMillis(95),
+                result.percentileMillis(99), result.maxMillis()));
+    }
+
+    private static void printWaitHistogram(Histogram histogram, PrintStream out) {
+        out.println("Hikari acquire wait:");
+        long total = histogram.getTotalCount();
+        long lower = 0;
+        for (int i = 0; i <= WAIT_BUCKETS_MICROS.length; i++) {
+            boolean last = i == WAIT_BUCKETS_MICROS.length;
+            long upper = last ? histogram.getMaxValue() : WAIT_BUCKETS_MICROS[i] - 1;
+            long count = upper >= lower ? histogram.getCountBetweenValues(lower, upper) : 0;
+            String label = last ? ">= " + millis(lower) : "< " + millis(WAIT_BUCKETS_MICROS[i]);
+            int bar = total > 0 ? (int) Math.round(40.0 * count / total) : 0;
+            out.printf(Locale.ROOT, "  %-10s %9d %s%n", label, count, "#".repeat(bar));
+            if (!last) {
+                lower = WAIT_BUCKETS_MICROS[i];
+            }
+        }
+    }
+
+    private static String millis(long micros) {
+        return micros < 1_000 ? String.format(Locale.ROOT, "%.1f ms", micros / 1000.0) : (micros / 1_000) + " ms";
+    }
+}
@@ -0,0 +1,178 @@
+package com.pehchaan.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Builds the city through the public API, exactly as the apps would:
+ * registration (AuthService.register), profiles, locations and statuses,
+ * contractor projects, and crew assignments.
+ */
+final class Seeder {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final int PARALLELISM = 64;
+    private static final int ASSIGNMENT_CHUNK = 1000;
+    private static final double SITE_RADIUS_METERS = 300;
+
+    private final ApiClient api;
+    private final LoadTestConfig config;
+    private final SplittableRandom random;
+
+    Seeder(ApiClient api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    City seed() {
+        List<City.Actor> laborers = actors("7", config.laborers());
+        List<City.Actor> consumers = actors("8", config.consumers());
+        List<City.Actor> contractors = actors("9", config.contractors());
+
+        parallel(laborers, actor -> register(actor, "ROLE_LABOR"));
+        parallel(consumers, actor -> register(actor, "ROLE_CONSUMER"));
+        parallel(contractors, actor -> register(actor, "ROLE_CONTRACTOR"));
+
+        // Random values are drawn up front, on one thread, so the same seed builds the same city
+        for (City.Actor actor : concat(laborers, consumers)) {
+            actor.latitude = City.randomLatitude(random);
+            actor.longitude = City.randomLongitude(random);
+            actor.skill = City.SKILLS.get(random.nextInt(City.SKILLS.size()));
+        }
+        List<double[]> sitePoints = new ArrayList<>();
+        for (int i = 0; i < contractors.size() * config.projectsPerContractor(); i++) {
+            sitePoints.add(new double[] {City.randomLatitude(random), City.randomLongitude(random)});
+        }
+
+        List<City.Site> sites = Collections.synchronizedList(new ArrayList<>());
+        parallel(IntStream.range(0, contractors.size()).boxed().toList(), index -> {
+            City.Actor contractor = contractors.get(index);
+            int first = index * config.projectsPerContractor();
+            for (int i = 0; i < config.projectsPerContractor(); i++) {
+                double[] point = sitePoints.get(first + i);
+                JsonNode project = api.call("POST /api/projects", "POST", "/api/projects", Map.of(
+                        "name", "Site " + contractor.phone + "-" + i,
+                        "address", "Plot " + i + ", Load Test Layout",
+                        "latitude", point[0],
+                        "longitude", point[1],
+                        "siteRadiusMeters", SITE_RADIUS_METERS), contractor.token);
+                if (project != null) {
+                    sites.add(new City.Site(project.get("id").asLong(), contractor, point[0], point[1]));
+                }
+            }
+        });
+
+        parallel(laborers, laborer -> {
+            api.call("PUT /api/profile/me", "PUT", "/api/profile/me", Map.of(
+                    "firstName", "Laborer",
+                    "lastName", laborer.phone,
+                    "skills", List.of(laborer.skill)), laborer.token);
+            api.call("PUT /api/profile/me/location", "PUT", "/api/profile/me/location",
+                    Map.of("latitude", laborer.latitude, "longitude", laborer.longitude), laborer.token);
+            api.call("PUT /api/profile/me/status", "PUT", "/api/profile/me/status",
+                    Map.of("status", "AVAILABLE"), laborer.token);
+        });
+        parallel(consumers, consumer -> api.call("PUT /api/profile/me", "PUT", "/api/profile/me", Map.of(
+                "firstName", "Consumer",
+                "lastName", consumer.phone), consumer.token));
+
+        assignCrews(laborers, sites);
+        return new City(laborers, consumers, contractors, List.copyOf(sites));
+    }
+
+    // --- Helper Methods ---
+
+    private List<City.Actor> actors(String prefix, int count) {
+        List<City.Actor> actors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            actors.add(new City.Actor(prefix + String.format("%09d", i)));
+        }
+        return actors;
+    }
+
+    private void register(City.Actor actor, String role) {
+        JsonNode auth = api.call("POST /api/auth/register", "POST", "/api/auth/register",
+                Map.of("phone", actor.phone, "password", PASSWORD, "role", role), null);
+        if (auth == null) {
+            throw new IllegalStateException("Could not register " + actor.phone + "; is the database empty?");
+        }
+        actor.token = auth.get("token").asText();
+        actor.id = api.call("GET /api/profile/me", "GET", "/api/profile/me", null, actor.token).get("id").asLong();
+    }
+
+    // Laborers are spread round-robin over the sites, one bulk assignment per site
+    private void assignCrews(List<City.Actor> laborers, List<City.Site> sites) {
+        if (sites.isEmpty()) {
+            return;
+        }
+        Map<City.Site, List<City.Actor>> crews = new LinkedHashMap<>();
+        for (int i = 0; i < laborers.size(); i++) {
+            City.Site site = sites.get(i % sites.size());
+            City.Actor laborer = laborers.get(i);
+            laborer.projectId = site.projectId();
+            laborer.siteLatitude = site.latitude();
+            laborer.siteLongitude = site.longitude();
+            crews.computeIfAbsent(site, s -> new ArrayList<>()).add(laborer);
+        }
+        parallel(new ArrayList<>(crews.keySet()), site -> {
+            List<City.Actor> crew = crews.get(site);
+            for (int from = 0; from < crew.size(); from += ASSIGNMENT_CHUNK) {
+                List<Map<String, Object>> workers = crew.subList(from, Math.min(from + ASSIGNMENT_CHUNK, crew.size()))
+                        .stream()
+                        .map(laborer -> Map.<String, Object>of(
+                                "laborerId", laborer.id,
+                                "wageRate", 800,
+                                "wageType", "DAILY",
+                                "overtimeAfterMinutes", 480))
+                        .toList();
+                api.call("POST /api/assignments/bulk", "POST", "/api/assignments/bulk",
+                        Map.of("projectId", site.projectId(), "workers", workers), site.contractor().token);
+            }
+        });
+    }
+
+    private <T> void parallel(List<T> items, Consumer<T> task) {
+        Semaphore permits = new Semaphore(PARALLELISM);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        task.accept(item);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding was interrupted.", e);
+        }
+    }
+
+    private static List<City.Actor> concat(List<City.Actor> first, List<City.Actor> second) {
+        List<City.Actor> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+}
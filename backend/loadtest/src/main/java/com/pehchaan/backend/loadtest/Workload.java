@@ -0,0 +1,211 @@
+package com.pehchaan.backend.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Closed-loop clients, one virtual thread each, that act as random users of
+ * the city according to the current {@link Phase}'s mix, until stopped.
+ */
+final class Workload {
+
+    // Within a few metres of the site centre, well inside its geofence
+    private static final double ON_SITE_JITTER_DEGREES = 0.0003;
+    private static final double PING_JITTER_DEGREES = 0.002;
+    private static final int CANDIDATES_TRIED = 5;
+
+    private final ApiClient api;
+    private final City city;
+    private final Duration thinkTime;
+    private volatile Phase phase;
+    private volatile boolean running;
+    private ExecutorService clients;
+
+    Workload(ApiClient api, City city, Duration thinkTime) {
+        this.api = api;
+        this.city = city;
+        this.thinkTime = thinkTime;
+    }
+
+    void start(int clientCount, Phase firstPhase, long seed) {
+        phase = firstPhase;
+        running = true;
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < clientCount; i++) {
+            SplittableRandom random = seeds.split();
+            clients.submit(() -> runClient(random));
+        }
+    }
+
+    void switchTo(Phase next) {
+        phase = next;
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    // --- Helper Methods ---
+
+    private void runClient(SplittableRandom random) {
+        while (running) {
+            switch (phase.pick(random)) {
+                case LOCATION_PING -> locationPing(random);
+                case NEARBY_SEARCH -> nearbySearch(random);
+                case GIG_LIFECYCLE -> gigLifecycle(random);
+                case CHECK_IN -> checkIn(random);
+                case CHECK_OUT -> checkOut(random);
+                case DASHBOARD -> dashboard(random);
+            }
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void locationPing(SplittableRandom random) {
+        City.Actor laborer = City.lockAny(city.laborers, a -> true, random);
+        if (laborer == null) {
+            return;
+        }
+        try {
+            double latitude = laborer.latitude + random.nextDouble(-PING_JITTER_DEGREES, PING_JITTER_DEGREES);
+            double longitude = laborer.longitude + random.nextDouble(-PING_JITTER_DEGREES, PING_JITTER_DEGREES);
+            if (api.call("PUT /api/profile/me/location", "PUT", "/api/profile/me/location",
+                    Map.of("latitude", latitude, "longitude", longitude), laborer.token) != null) {
+                laborer.latitude = latitude;
+                laborer.longitude = longitude;
+            }
+        } finally {
+            laborer.lock.unlock();
+        }
+    }
+
+    private void nearbySearch(SplittableRandom random) {
+        City.Actor consumer = City.lockAny(city.consumers, a -> true, random);
+        if (consumer == null) {
+            return;
+        }
+        try {
+            search(consumer, City.SKILLS.get(random.nextInt(City.SKILLS.size())));
+        } finally {
+            consumer.lock.unlock();
+        }
+    }
+
+    /**
+     * Search, request the nearest free laborer, and play the gig through to payment.
+     */
+    private void gigLifecycle(SplittableRandom random) {
+        City.Actor consumer = City.lockAny(city.consumers, a -> true, random);
+        if (consumer == null) {
+            return;
+        }
+        try {
+            String skill = consumer.skill;
+            JsonNode nearby = search(consumer, skill);
+            if (nearby == null) {
+                return;
+            }
+            for (int i = 0; i < Math.min(nearby.size(), CANDIDATES_TRIED); i++) {
+                City.Actor laborer = city.laborersById.get(nearby.get(i).get("id").asLong());
+                if (laborer != null && !laborer.checkedIn && laborer.lock.tryLock()) {
+                    try {
+                        playGig(consumer, laborer, skill);
+                    } finally {
+                        laborer.lock.unlock();
+                    }
+                    return;
+                }
+            }
+        } finally {
+            consumer.lock.unlock();
+        }
+    }
+
+    private void playGig(City.Actor consumer, City.Actor laborer, String skill) {
+        JsonNode gig = api.call("POST /api/gigs/request", "POST", "/api/gigs/request", Map.of(
+                "laborerId", laborer.id,
+                "skill", skill,
+                "latitude", consumer.latitude,
+                "longitude", consumer.longitude,
+                "address", "House " + consumer.phone), consumer.token);
+        if (gig == null) {
+            return;
+        }
+        String path = "/api/gigs/" + gig.get("id").asLong();
+        if (api.call("POST /api/gigs/{id}/accept", "POST", path + "/accept", null, laborer.token) == null) {
+            return;
+        }
+        boolean started = api.call("POST /api/gigs/{id}/start", "POST", path + "/start", null, laborer.token) != null;
+        if (started && api.call("POST /api/gigs/{id}/complete", "POST", path + "/complete",
+                        Map.of("additionalAmount", 150), laborer.token) != null) {
+            api.call("POST /api/gigs/{id}/pay", "POST", path + "/pay", Map.of("paymentMethod", "CASH"), consumer.token);
+        }
+        // Accepting took the laborer offline; put them back in the pool either way
+        api.call("PUT /api/profile/me/status", "PUT", "/api/profile/me/status",
+                Map.of("status", "AVAILABLE"), laborer.token);
+    }
+
+    private void checkIn(SplittableRandom random) {
+        City.Actor laborer = City.lockAny(city.laborers, a -> !a.checkedIn && a.projectId != 0, random);
+        if (laborer == null) {
+            return;
+        }
+        try {
+            JsonNode log = api.call("POST /api/work/check-in", "POST", "/api/work/check-in", Map.of(
+                    "projectId", laborer.projectId,
+                    "latitude", laborer.siteLatitude + random.nextDouble(-ON_SITE_JITTER_DEGREES, ON_SITE_JITTER_DEGREES),
+                    "longitude", laborer.siteLongitude + random.nextDouble(-ON_SITE_JITTER_DEGREES, ON_SITE_JITTER_DEGREES)),
+                    laborer.token);
+            laborer.checkedIn = log != null;
+        } finally {
+            laborer.lock.unlock();
+        }
+    }
+
+    private void checkOut(SplittableRandom random) {
+        City.Actor laborer = City.lockAny(city.laborers, a -> a.checkedIn, random);
+        if (laborer == null) {
+            return;
+        }
+        try {
+            if (api.call("POST /api/work/check-out", "POST", "/api/work/check-out", null, laborer.token) != null) {
+                laborer.checkedIn = false;
+            }
+        } finally {
+            laborer.lock.unlock();
+        }
+    }
+
+    private void dashboard(SplittableRandom random) {
+        City.Actor contractor = City.lockAny(city.contractors, a -> true, random);
+        if (contractor == null) {
+            return;
+        }
+        try {
+            api.call("GET /api/work/dashboard", "GET", "/api/work/dashboard?limit=50", null, contractor.token);
+        } finally {
+            contractor.lock.unlock();
+        }
+    }
+
+    private JsonNode search(City.Actor consumer, String skill) {
+        return api.call("GET /api/workers/nearby", "GET",
+                "/api/workers/nearby?skill=" + skill + "&lat=" + consumer.latitude + "&lon=" + consumer.longitude,
+                null, consumer.token);
+    }
+}
@@ -0,0 +1,169 @@
+package com.pehchaan.backend.admission;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs every API request through the {@link AdmissionGate} before Spring
+ * Security and the controllers see it, and answers 503 + Retry-After when the
+ * gate sheds it.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10) // Before Spring Security
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CRITICAL_POSTS = Set.of(
+            "/api/work/check-in",
+            "/api/work/check-out",
+            "/api/gigs/request"
+    );
+    private static final Set<String> CRITICAL_PUTS = Set.of(
+            "/api/profile/me/status",
+            "/api/profile/me/location"
+    );
+    private static final Set<String> BULK_GETS = Set.of(
+            "/api/work/my-logs",
+            "/api/work/dashboard",
+            "/api/work/summary",
+            "/api/gigs/my-gigs",
+            "/api/gigs/history",
+            "/api/workers/nearby",
+            "/api/assignments/workers/search",
+            "/api/assignments/workers/search/page"
+    );
+
+    private final AdmissionGate admissionGate;
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestPriority priority = classify(request);
+        boolean admitted;
+        try {
+            admitted = admissionGate.acquire(priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            reject(response, priority);
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // Streamed bodies (exports) keep working, and hold their DB connection, after this returns
+                request.getAsyncContext().addListener(new ReleaseOnComplete(priority));
+            } else {
+                admissionGate.release(priority);
+            }
+        }
+    }
+
+    /**
+     * Null means "not subject to admission control" (preflights, SSE streams, actuator).
+     */
+    private RequestPriority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (!path.startsWith("/api/") || HttpMethod.OPTIONS.matches(method)) {
+            return null;
+        }
+        // Long-lived streams hold no DB connection once open
+        if (path.endsWith("/stream") || path.endsWith("/laborer-location")) {
+            return null;
+        }
+
+        if (HttpMethod.POST.matches(method)
+                && (CRITICAL_POSTS.contains(path) || (path.startsWith("/api/gigs/") && isGigTransition(path)))) {
+            return RequestPriority.CRITICAL;
+        }
+        if (HttpMethod.PUT.matches(method) && CRITICAL_PUTS.contains(path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (HttpMethod.GET.matches(method) && path.equals("/api/work/export")) {
+            return RequestPriority.EXPORT;
+        }
+        if (HttpMethod.GET.matches(method) && BULK_GETS.contains(path)) {
+            return RequestPriority.BULK;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    // POST /api/gigs/{id}/accept | start | complete | pay
+    private boolean isGigTransition(String path) {
+        return path.endsWith("/accept") || path.endsWith("/start") || path.endsWith("/complete") || path.endsWith("/pay");
+    }
+
+    private void reject(HttpServletResponse response, RequestPriority priority) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", Integer.toString(priority.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Server is busy, please retry shortly.\"}");
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final RequestPriority priority;
+
+        ReleaseOnComplete(RequestPriority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionGate.release(priority);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.pehchaan.backend.admission;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Limits how many requests run at once to roughly the size of the DB pool,
+ * and decides who goes next by {@link RequestPriority} rather than arrival order.
+ *
+ * A request that can't start right away waits in its class's bounded queue.
+ * It is rejected straight away if that queue is full, or once its class
+ * deadline passes, so callers get a quick 503 instead of sitting in Hikari's
+ * connection timeout. BULK requests and exports together may also never
+ * take every slot, so a long dashboard query can't lock out check-ins, and
+ * exports, which keep their slot for the whole download, have a cap of their own.
+ *
+ * Metrics: admission.in.flight, admission.queue.depth{priority},
+ * admission.wait{priority,outcome} and admission.rejected{priority,reason}.
+ */
+@Component
+public class AdmissionGate {
+
+    private final int maxConcurrent;
+    private final int bulkMaxConcurrent;
+    private final int exportMaxConcurrent;
+
+    // All state below is guarded by "this"
+    private final Map<RequestPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(RequestPriority.class);
+    private final int[] inFlightByPriority = new int[RequestPriority.values().length];
+    private int inFlight;
+
+    private final Map<RequestPriority, Timer> admittedWait = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Timer> rejectedWait = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejectedQueueFull = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejectedTimeout = new EnumMap<>(RequestPriority.class);
+
+    public AdmissionGate(@Value("${admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:3}}") int maxConcurrent,
+                         @Value("${admission.bulk-max-concurrent:0}") int bulkMaxConcurrent,
+                         @Value("${admission.export-max-concurrent:1}") int exportMaxConcurrent,
+                         MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        // Default: leave at least one slot for everything else
+        this.bulkMaxConcurrent = bulkMaxConcurrent > 0 ? bulkMaxConcurrent : Math.max(1, maxConcurrent - 1);
+        this.exportMaxConcurrent = exportMaxConcurrent;
+
+        Gauge.builder("admission.in.flight", this, AdmissionGate::inFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        for (RequestPriority priority : RequestPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("admission.queue.depth", this, gate -> gate.queueDepth(priority))
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            admittedWait.put(priority, Timer.builder("admission.wait")
+                    .tags("priority", tag, "outcome", "admitted").register(meterRegistry));
+            rejectedWait.put(priority, Timer.builder("admission.wait")
+                    .tags("priority", tag, "outcome", "rejected").register(meterRegistry));
+            rejectedQueueFull.put(priority, Counter.builder("admission.rejected")
+                    .tags("priority", tag, "reason", "queue_full").register(meterRegistry));
+            rejectedTimeout.put(priority, Counter.builder("admission.rejected")
+                    .tags("priority", tag, "reason", "timeout").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Waits (up to the class deadline) for a slot. Returns false if the request
+     * should be shed; on true the caller must call {@link #release} when done.
+     */
+    public boolean acquire(RequestPriority priority) throws InterruptedException {
+        long start = System.nanoTime();
+        Waiter waiter;
+        synchronized (this) {
+            if (!hasWaitersAtOrAbove(priority) && canStart(priority)) {
+                start(priority);
+                admittedWait.get(priority).record(0, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            ArrayDeque<Waiter> queue = queues.get(priority);
+            if (queue.size() >= priority.queueCapacity()) {
+                rejectedQueueFull.get(priority).increment();
+                return false;
+            }
+            waiter = new Waiter(priority, start + priority.maxWait().toNanos());
+            queue.addLast(waiter);
+        }
+
+        boolean admitted = awaitGrant(waiter);
+        (admitted ? admittedWait : rejectedWait).get(priority).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return admitted;
+    }
+
+    public synchronized void release(RequestPriority priority) {
+        inFlight--;
+        inFlightByPriority[priority.ordinal()]--;
+        dispatch();
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queueDepth(RequestPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    // --- Helper Methods ---
+
+    private boolean awaitGrant(Waiter waiter) throws InterruptedException {
+        try {
+            return waiter.grant().get(waiter.deadlineNanos() - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            synchronized (this) {
+                if (queues.get(waiter.priority()).remove(waiter)) {
+                    rejectedTimeout.get(waiter.priority()).increment();
+                    if (e instanceof InterruptedException interrupted) {
+                        throw interrupted;
+                    }
+                    return false;
+                }
+            }
+            // Granted (or expired by dispatch) just as we gave up; the future is already complete
+            boolean admitted = waiter.grant().join();
+            if (e instanceof InterruptedException interrupted) {
+                if (admitted) {
+                    release(waiter.priority());
+                }
+                throw interrupted;
+            }
+            return admitted;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Hands freed slots to the highest-priority waiters that may run. Caller holds the lock.
+    private void dispatch() {
+        long now = System.nanoTime();
+        for (RequestPriority priority : RequestPriority.values()) {
+            ArrayDeque<Waiter> queue = queues.get(priority);
+            while (!queue.isEmpty() && canStart(priority)) {
+                Waiter waiter = queue.pollFirst();
+                if (waiter.deadlineNanos() - now <= 0) {
+                    rejectedTimeout.get(priority).increment();
+                    waiter.grant().complete(false);
+                    continue;
+                }
+                start(priority);
+                waiter.grant().complete(true);
+            }
+            if (inFlight >= maxConcurrent) {
+                return;
+            }
+        }
+    }
+
+    private boolean hasWaitersAtOrAbove(RequestPriority priority) {
+        for (RequestPriority p : RequestPriority.values()) {
+            if (!queues.get(p).isEmpty()) {
+                return true;
+            }
+            if (p == priority) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean canStart(RequestPriority priority) {
+        if (inFlight >= maxConcurrent) {
+            return false;
+        }
+        return switch (priority) {
+            case BULK -> heavyInFlight() < bulkMaxConcurrent;
+            case EXPORT -> heavyInFlight() < bulkMaxConcurrent
+                    && inFlightByPriority[RequestPriority.EXPORT.ordinal()] < exportMaxConcurrent;
+            default -> true;
+        };
+    }
+
+    private int heavyInFlight() {
+        return inFlightByPriority[RequestPriority.BULK.ordinal()] + inFlightByPriority[RequestPriority.EXPORT.ordinal()];
+    }
+
+    private void start(RequestPriority priority) {
+        inFlight++;
+        inFlightByPriority[priority.ordinal()]++;
+    }
+
+    private record Waiter(RequestPriority priority, long deadlineNanos, CompletableFuture<Boolean> grant) {
+        Waiter(RequestPriority priority, long deadlineNanos) {
+            this(priority, deadlineNanos, new CompletableFuture<>());
+        }
+    }
+}
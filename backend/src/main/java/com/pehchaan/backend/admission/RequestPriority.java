@@ -0,0 +1,44 @@
+package com.pehchaan.backend.admission;
+
+import java.time.Duration;
+
+/**
+ * Admission classes, highest priority first. Each class has its own bounded
+ * queue and a deadline after which a waiting request is shed with a 503.
+ */
+public enum RequestPriority {
+
+    // Hot write paths: check-in/check-out, gig transitions, status/location pings
+    CRITICAL(100, Duration.ofMillis(3000), 1),
+
+    // Everything not listed elsewhere
+    NORMAL(50, Duration.ofMillis(1500), 1),
+
+    // Heavy reads: history, dashboards, worker search
+    BULK(20, Duration.ofMillis(500), 2),
+
+    // Streamed exports: hold a slot and a connection for the whole download, so few run and few wait
+    EXPORT(2, Duration.ofMillis(500), 30);
+
+    private final int queueCapacity;
+    private final Duration maxWait;
+    private final int retryAfterSeconds;
+
+    RequestPriority(int queueCapacity, Duration maxWait, int retryAfterSeconds) {
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int queueCapacity() {
+        return queueCapacity;
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    public int retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,49 @@
+package com.pehchaan.backend.config;
+
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
+
+/**
+ * The lightweight, immutable principal JwtAuthFilter puts in the SecurityContext.
+ * It is built from the token's claims, so authenticating a request needs no
+ * database lookup. Services use {@link #current()} to get the caller's id and
+ * role, and {@code getReferenceById} when they need to link the caller to an entity.
+ */
+public record AuthenticatedUser(Long id, String phone, Role role) implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser fromEntity(User user) {
+        return new AuthenticatedUser(user.getId(), user.getPhone(), user.getRole());
+    }
+
+    /**
+     * The principal of the current request.
+     */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new UsernameNotFoundException("No authenticated user for this request.");
+    }
+
+    /**
+     * Authentication#getName() resolves to this, so it stays the phone number as before.
+     */
+    @Override
+    public String getName() {
+        return phone;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+}
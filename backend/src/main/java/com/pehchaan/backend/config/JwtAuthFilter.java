@@ -5,12 +5,13 @@ import java.io.IOException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
 import com.pehchaan.backend.service.JwtService;
 
 import jakarta.servlet.FilterChain;
@@ -46,30 +47,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // 2. Extract the token
         jwt = authHeader.substring(7); // "Bearer " is 7 chars
 
-        // 3. Extract the phone number (username) from the token
-        userPhone = jwtService.extractUsername(jwt);
+        // 3. Verify the token once and take the phone number (username) from its claims
+        JwtService.VerifiedToken verifiedToken = jwtService.verify(jwt);
+        userPhone = verifiedToken.subject();
 
         // 4. If we have a phone number AND the user is not already authenticated...
         if (userPhone != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load the user from the database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userPhone);
-            
-            // 5. Check if the token is valid
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // If valid, create an authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null, // We don't have credentials
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                // 6. Set this user as the currently authenticated user
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            // 5. Build the principal straight from the verified claims (no DB lookup)
+            AuthenticatedUser principal = toPrincipal(verifiedToken);
+
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null, // We don't have credentials
+                    principal.authorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            // 6. Set this user as the currently authenticated user
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         // Pass to the next filter in the chain
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private AuthenticatedUser toPrincipal(JwtService.VerifiedToken token) {
+        if (token.userId() != null && token.role() != null) {
+            return new AuthenticatedUser(token.userId(), token.subject(), Role.valueOf(token.role()));
+        }
+        // Tokens issued before the id claim existed still need one lookup until they expire
+        User user = (User) userDetailsService.loadUserByUsername(token.subject());
+        return AuthenticatedUser.fromEntity(user);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pehchaan.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Makes {@code @Timed} work on Spring beans (services, the nearby-search
+     * query, the geofence check). Controllers are already timed by Spring MVC
+     * as http.server.requests.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
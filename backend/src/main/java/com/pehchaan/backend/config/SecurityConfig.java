@@ -1,5 +1,7 @@
 package com.pehchaan.backend.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -24,6 +26,10 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider; // This comes from ApplicationConfig
 
+    // Actuator is served on its own port, which is not published outside the host/cluster
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -31,6 +37,11 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Liveness probes and the Prometheus scraper carry no token, but only on the management port
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && isOpenActuatorPath(request.getRequestURI())).permitAll()
+                        // SSE responses complete on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider) // Use the injected provider
@@ -39,6 +50,10 @@ public class SecurityConfig {
         return http.build();
     }
     
+    private static boolean isOpenActuatorPath(String path) {
+        return path.equals("/actuator/health") || path.equals("/actuator/prometheus");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -2,6 +2,11 @@ package com.pehchaan.backend.controller;
 
 import com.pehchaan.backend.dto.assignment.AssignmentRequest;
 import com.pehchaan.backend.dto.assignment.AssignmentResponse;
+import com.pehchaan.backend.dto.assignment.BulkAssignmentRequest;
+import com.pehchaan.backend.dto.assignment.BulkAssignmentResponse;
+import com.pehchaan.backend.dto.assignment.WorkerSearchQuery;
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.common.PageResponse;
 import com.pehchaan.backend.dto.profile.ProfileResponse;
 import com.pehchaan.backend.service.AssignmentService;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/assignments")
@@ -18,10 +24,36 @@ public class AssignmentController {
 
     private final AssignmentService assignmentService;
 
+    /**
+     * GET /api/assignments/workers/search?skill=...
+     * First page (up to 100) of laborers with this skill, best rated first.
+     * Use /workers/search/page for filters and further pages.
+     */
     @GetMapping("/workers/search")
     @PreAuthorize("hasRole('CONTRACTOR')")
     public ResponseEntity<List<ProfileResponse>> searchWorkers(@RequestParam String skill) {
-        return ResponseEntity.ok(assignmentService.searchWorkers(skill));
+        return ResponseEntity.ok(assignmentService.searchWorkers(
+                WorkerSearchQuery.bySkill(skill), null, KeysetCursor.MAX_PAGE_SIZE).getItems());
+    }
+
+    /**
+     * GET /api/assignments/workers/search/page?skill=A&skill=B&match=all&available=true&verified=true&minRating=4&cursor=...&limit=...
+     * Keyset-paginated worker search, best rated first. match=all requires every
+     * skill (default: any). Pass the returned nextCursor back as cursor.
+     */
+    @GetMapping("/workers/search/page")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<PageResponse<ProfileResponse>> searchWorkersPage(
+            @RequestParam(required = false) Set<String> skill,
+            @RequestParam(defaultValue = "any") String match,
+            @RequestParam(defaultValue = "false") boolean available,
+            @RequestParam(defaultValue = "false") boolean verified,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        WorkerSearchQuery query = new WorkerSearchQuery(skill, "all".equalsIgnoreCase(match), available, verified, minRating);
+        return ResponseEntity.ok(assignmentService.searchWorkers(query, cursor, limit));
     }
 
     @PostMapping
@@ -30,6 +62,16 @@ public class AssignmentController {
         return ResponseEntity.ok(assignmentService.createAssignment(request));
     }
 
+    /**
+     * POST /api/assignments/bulk
+     * Assigns a crew to one project: {"projectId": .., "workers": [{"laborerId", "wageRate", "wageType"}, ..]}.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<BulkAssignmentResponse> createAssignments(@RequestBody BulkAssignmentRequest request) {
+        return ResponseEntity.ok(assignmentService.createAssignments(request));
+    }
+
     @GetMapping("/my-projects")
     @PreAuthorize("hasRole('LABOR')")
     public ResponseEntity<List<AssignmentResponse>> getMyAssignments() {
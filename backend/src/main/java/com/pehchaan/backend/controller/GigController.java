@@ -1,14 +1,20 @@
 package com.pehchaan.backend.controller;
 
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.common.PageResponse;
 import com.pehchaan.backend.dto.gig.GigRequest;
 import com.pehchaan.backend.dto.gig.GigResponse;
 import com.pehchaan.backend.dto.gig.InvoiceRequest;
 import com.pehchaan.backend.dto.gig.PaymentRequest;
+import com.pehchaan.backend.realtime.GigEventHub;
+import com.pehchaan.backend.realtime.GigLocationHub;
 import com.pehchaan.backend.service.GigService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,10 +24,13 @@ import java.util.List;
 public class GigController {
 
     private final GigService gigService;
+    private final GigEventHub gigEventHub;
+    private final GigLocationHub gigLocationHub;
 
     /**
      * POST /api/gigs/request
-     * Consumer requests a gig from a laborer.
+     * Consumer requests a gig from a laborer, or omits laborerId to offer it
+     * to the nearest available laborers.
      */
     @PostMapping("/request")
     @PreAuthorize("hasRole('CONSUMER')")
@@ -39,6 +48,55 @@ public class GigController {
         return ResponseEntity.ok(gigService.getMyGigs());
     }
 
+    /**
+     * GET /api/gigs/history?cursor=...&limit=...
+     * Keyset-paginated gig history for the logged-in user, newest first.
+     * Pass the returned nextCursor back as cursor to get the following page.
+     */
+    @GetMapping("/history")
+    @PreAuthorize("hasAnyRole('CONSUMER', 'LABOR')")
+    public ResponseEntity<PageResponse<GigResponse>> getGigHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(gigService.getGigHistory(cursor, limit));
+    }
+
+    /**
+     * GET /api/gigs/stream
+     * Server-Sent Events: one "gig" event per committed transition on any of the
+     * user's gigs. Reconnects with Last-Event-ID replay what was missed; a
+     * "resync" event means the client should reload its gigs once.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('CONSUMER', 'LABOR')")
+    public SseEmitter streamGigEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return gigEventHub.subscribe(AuthenticatedUser.current().id(), lastEventId);
+    }
+
+    /**
+     * GET /api/gigs/{id}/laborer-location
+     * Server-Sent Events: the laborer's live location while the gig is
+     * ACCEPTED or IN_PROGRESS (at most one "location" event per second).
+     * The stream ends when the gig moves on.
+     */
+    @GetMapping(path = "/{id}/laborer-location", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CONSUMER')")
+    public SseEmitter streamLaborerLocation(@PathVariable Long id) {
+        return gigLocationHub.subscribe(id, AuthenticatedUser.current().id());
+    }
+
+    /**
+     * GET /api/gigs/offers
+     * Dispatch-mode gigs currently offered to the logged-in laborer.
+     * The first laborer to accept one gets it.
+     */
+    @GetMapping("/offers")
+    @PreAuthorize("hasRole('LABOR')")
+    public ResponseEntity<List<GigResponse>> getMyOffers() {
+        return ResponseEntity.ok(gigService.getMyOffers());
+    }
+
     /**
      * POST /api/gigs/{id}/accept
      * Laborer accepts an incoming gig request.
@@ -0,0 +1,35 @@
+package com.pehchaan.backend.controller;
+
+import com.pehchaan.backend.dto.payroll.PayrollRunRequest;
+import com.pehchaan.backend.dto.payroll.PayrollRunResponse;
+import com.pehchaan.backend.service.PayrollService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll")
+@RequiredArgsConstructor
+public class PayrollController {
+
+    private final PayrollService payrollService;
+
+    /**
+     * POST /api/payroll/runs {"from": "yyyy-MM-dd", "to": "yyyy-MM-dd"}
+     * Pays every approved log of the caller's projects in the period and returns the run summary.
+     */
+    @PostMapping("/runs")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<PayrollRunResponse> runPayroll(@RequestBody PayrollRunRequest request) {
+        return ResponseEntity.ok(payrollService.runPayroll(request));
+    }
+
+    @GetMapping("/runs")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<List<PayrollRunResponse>> getMyRuns() {
+        return ResponseEntity.ok(payrollService.getMyRuns());
+    }
+}
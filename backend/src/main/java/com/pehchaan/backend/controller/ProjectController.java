@@ -2,6 +2,8 @@ package com.pehchaan.backend.controller;
 
 import com.pehchaan.backend.dto.project.CreateProjectRequest;
 import com.pehchaan.backend.dto.project.ProjectResponse;
+import com.pehchaan.backend.dto.project.UpdateProjectSiteRequest;
+import com.pehchaan.backend.dto.project.UpdateShiftPolicyRequest;
 import com.pehchaan.backend.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +44,32 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * PUT /api/projects/{id}/site
+     * Sets the check-in geofence: a site outline plus buffer, or just a radius.
+     */
+    @PutMapping("/{id}/site")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<ProjectResponse> updateProjectSite(
+            @PathVariable Long id,
+            @RequestBody UpdateProjectSiteRequest request
+    ) {
+        return ResponseEntity.ok(projectService.updateProjectSite(id, request));
+    }
+
+    /**
+     * PUT /api/projects/{id}/shift-policy
+     * Sets when open shifts are auto-checked out: a daily cutoff time and/or a maximum shift length.
+     */
+    @PutMapping("/{id}/shift-policy")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<ProjectResponse> updateShiftPolicy(
+            @PathVariable Long id,
+            @RequestBody UpdateShiftPolicyRequest request
+    ) {
+        return ResponseEntity.ok(projectService.updateShiftPolicy(id, request));
+    }
+
     // ❌ REMOVED: The GET /api/projects endpoint is deleted.
     // Laborers now use GET /api/assignments/my-projects to find work.
 }
\ No newline at end of file
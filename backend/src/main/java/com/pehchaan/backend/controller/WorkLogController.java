@@ -1,14 +1,28 @@
 package com.pehchaan.backend.controller;
 
+import com.pehchaan.backend.dto.common.PageResponse;
+import com.pehchaan.backend.dto.work.BulkApproveRequest;
+import com.pehchaan.backend.dto.work.BulkApproveResponse;
 import com.pehchaan.backend.dto.work.CheckInRequest;
+import com.pehchaan.backend.dto.work.WorkLogFilter;
 import com.pehchaan.backend.dto.work.WorkLogResponse;
+import com.pehchaan.backend.dto.work.WorkSummaryResponse;
+import com.pehchaan.backend.entity.WorkLog;
+import com.pehchaan.backend.export.ExportFormat;
+import com.pehchaan.backend.export.WorkLogExporter;
 import com.pehchaan.backend.service.WorkLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/work")
@@ -16,6 +30,7 @@ import java.util.List;
 public class WorkLogController {
 
     private final WorkLogService workLogService;
+    private final WorkLogExporter workLogExporter;
 
     @PostMapping("/check-in")
     @PreAuthorize("hasRole('LABOR')")
@@ -35,6 +50,75 @@ public class WorkLogController {
         return ResponseEntity.ok(workLogService.getMyWorkLogs()); // ✅ FIXED: Changed to getMyWorkLogs()
     }
 
+    /**
+     * GET /api/work/dashboard?projectId=&status=&from=&to=&cursor=&limit=
+     * Contractor dashboard: keyset-paginated logs across all their projects.
+     * Dates are ISO (yyyy-MM-dd) and inclusive.
+     */
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<PageResponse<WorkLogResponse>> getDashboard(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) WorkLog.WorkStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        WorkLogFilter filter = new WorkLogFilter(projectId, status, from, to);
+        return ResponseEntity.ok(workLogService.getContractorDashboard(filter, cursor, limit));
+    }
+
+    /**
+     * GET /api/work/export?format=csv|ndjson&gzip=&projectId=&status=&from=&to=
+     * Streams the caller's logs as a file download, straight from a database cursor.
+     * With gzip=true the body is sent with Content-Encoding: gzip. Dates are ISO (yyyy-MM-dd) and inclusive.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('LABOR', 'CONTRACTOR')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) WorkLog.WorkStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        WorkLogFilter filter = new WorkLogFilter(projectId, status, from, to);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"work-logs." + format.extension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(workLogExporter.export(format, filter, gzip));
+    }
+
+    /**
+     * GET /api/work/summary?projectId=&from=&to=
+     * Payroll totals per project, laborer and day (minutes, wages, logs per status).
+     * Read from the rollup table only. Dates are ISO (yyyy-MM-dd) and inclusive.
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('LABOR', 'CONTRACTOR')")
+    public ResponseEntity<WorkSummaryResponse> getSummary(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(workLogService.getWorkSummary(projectId, from, to));
+    }
+
+    /**
+     * Recomputes the caller's project rollups from the raw work logs.
+     */
+    @PostMapping("/summary/rebuild")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<Map<String, Integer>> rebuildSummary() {
+        return ResponseEntity.ok(Map.of("rows", workLogService.rebuildWorkSummary()));
+    }
+
     /**
      * Endpoint for a contractor to approve a work log.
      * We use a path variable {id} to specify which log to approve.
@@ -44,4 +128,14 @@ public class WorkLogController {
     public ResponseEntity<WorkLogResponse> approveLog(@PathVariable("id") Long logId) {
         return ResponseEntity.ok(workLogService.approveWorkLog(logId));
     }
+
+    /**
+     * POST /api/work/logs/approve
+     * Approves a batch of logs: {"logIds": [..]} or {"projectId": .., "from": .., "to": ..}.
+     */
+    @PostMapping("/logs/approve")
+    @PreAuthorize("hasRole('CONTRACTOR')")
+    public ResponseEntity<BulkApproveResponse> approveLogs(@RequestBody BulkApproveRequest request) {
+        return ResponseEntity.ok(workLogService.approveWorkLogs(request));
+    }
 }
\ No newline at end of file
@@ -13,4 +13,8 @@ public class AssignmentRequest {
     private Long laborerId;
     private BigDecimal wageRate;
     private String wageType; // "DAILY" or "HOURLY"
+    // Optional payroll rules; see Assignment
+    private Integer overtimeAfterMinutes;
+    private Integer overtimeRatePercent;
+    private Integer halfDayMinutes;
 }
\ No newline at end of file
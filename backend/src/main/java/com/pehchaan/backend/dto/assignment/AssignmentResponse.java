@@ -13,6 +13,9 @@ public class AssignmentResponse {
     private Long laborerId;
     private BigDecimal wageRate;
     private String wageType;
+    private Integer overtimeAfterMinutes;
+    private Integer overtimeRatePercent;
+    private Integer halfDayMinutes;
 
     // Denormalized project data for easy frontend display
     private String projectName;
@@ -27,6 +30,9 @@ public class AssignmentResponse {
                 .laborerId(assignment.getLaborer().getId())
                 .wageRate(assignment.getWageRate())
                 .wageType(assignment.getWageType())
+                .overtimeAfterMinutes(assignment.getOvertimeAfterMinutes())
+                .overtimeRatePercent(assignment.getOvertimeRatePercent())
+                .halfDayMinutes(assignment.getHalfDayMinutes())
                 .projectName(assignment.getProject().getName())
                 .projectAddress(assignment.getProject().getAddress())
                 .projectLatitude(assignment.getProject().getLocation().getY()) // Lat is Y
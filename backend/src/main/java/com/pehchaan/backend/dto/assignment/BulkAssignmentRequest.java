@@ -0,0 +1,27 @@
+package com.pehchaan.backend.dto.assignment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkAssignmentRequest {
+    private Long projectId;
+    private List<Worker> workers;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Worker {
+        private Long laborerId;
+        private BigDecimal wageRate;
+        private String wageType; // "DAILY" or "HOURLY"
+        private Integer overtimeAfterMinutes;
+        private Integer overtimeRatePercent;
+        private Integer halfDayMinutes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.pehchaan.backend.dto.assignment;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkAssignmentResponse {
+    private int createdCount;
+    private List<AssignmentResponse> created;
+    // Skipped: already on the project
+    private List<Long> alreadyAssigned;
+    // Skipped: no such user, or the user is not a laborer
+    private List<Long> unknownLaborers;
+}
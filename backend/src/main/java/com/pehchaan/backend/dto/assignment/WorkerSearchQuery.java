@@ -0,0 +1,30 @@
+package com.pehchaan.backend.dto.assignment;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Contractor worker search filters. Skills are matched case-insensitively;
+ * with matchAll a worker needs every skill, otherwise any one of them.
+ * An empty skill set matches every laborer.
+ */
+public record WorkerSearchQuery(
+        Set<String> skills,
+        boolean matchAll,
+        boolean availableOnly,
+        boolean verifiedOnly,
+        Double minRating
+) {
+
+    public WorkerSearchQuery {
+        skills = skills == null ? Set.of() : skills.stream()
+                .filter(skill -> skill != null && !skill.isBlank())
+                .map(skill -> skill.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static WorkerSearchQuery bySkill(String skill) {
+        return new WorkerSearchQuery(Set.of(skill), false, false, false, null);
+    }
+}
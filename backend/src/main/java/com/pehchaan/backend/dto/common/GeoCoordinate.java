@@ -0,0 +1,13 @@
+package com.pehchaan.backend.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GeoCoordinate {
+    private double latitude;
+    private double longitude;
+}
@@ -0,0 +1,21 @@
+package com.pehchaan.backend.dto.common;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated list. Pass {@code nextCursor} back as
+ * {@code cursor} to get the next page; it is null on the last page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
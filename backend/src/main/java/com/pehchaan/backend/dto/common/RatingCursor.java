@@ -0,0 +1,49 @@
+package com.pehchaan.backend.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a list sorted by (rating DESC, id ASC), where an unrated user
+ * counts as rating -1 (after everyone rated). Sent to clients as an opaque
+ * base64url string, like {@link KeysetCursor}.
+ */
+public record RatingCursor(double rating, long id) {
+
+    public static final double UNRATED = -1;
+
+    // Sorts before every real row, so "strictly after START" means "from the top"
+    public static final RatingCursor START = new RatingCursor(Double.MAX_VALUE, 0);
+
+    public static RatingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new RatingCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public static double sortRating(Double rating) {
+        return rating != null ? rating : UNRATED;
+    }
+
+    /**
+     * True if a row with this (rating, id) comes after the cursor.
+     */
+    public boolean isBefore(double rating, long id) {
+        return rating < this.rating || (rating == this.rating && id > this.id);
+    }
+
+    public String encode() {
+        String raw = rating + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
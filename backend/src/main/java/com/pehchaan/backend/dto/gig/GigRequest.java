@@ -8,7 +8,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class GigRequest {
-    private Long laborerId;
+    private Long laborerId;   // Leave null to dispatch to the nearest available laborers
     private String skill;
     private double latitude;  // Consumer's latitude
     private double longitude; // Consumer's longitude
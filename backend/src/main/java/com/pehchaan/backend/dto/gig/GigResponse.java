@@ -47,8 +47,8 @@ public class GigResponse {
                 .consumerLatitude(gig.getConsumerLocation().getY()) // Lat is Y
                 .consumerLongitude(gig.getConsumerLocation().getX()) // Lon is X
                 .consumerAddress(gig.getConsumerAddress())
-                .laborerId(gig.getLaborer().getId())
-                .laborerName(gig.getLaborer().getFirstName() + " " + gig.getLaborer().getLastName())
+                .laborerId(gig.getLaborer() != null ? gig.getLaborer().getId() : null)
+                .laborerName(gig.getLaborer() != null ? gig.getLaborer().getFirstName() + " " + gig.getLaborer().getLastName() : null)
                 .createdAt(gig.getCreatedAt())
                 .acceptedAt(gig.getAcceptedAt())
                 .workStartedAt(gig.getWorkStartedAt())
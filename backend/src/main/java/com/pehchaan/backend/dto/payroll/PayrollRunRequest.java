@@ -0,0 +1,18 @@
+package com.pehchaan.backend.dto.payroll;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Pays every APPROVED log with a check-in day between from and to (inclusive).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PayrollRunRequest {
+    private LocalDate from;
+    private LocalDate to;
+}
@@ -0,0 +1,28 @@
+package com.pehchaan.backend.dto.payroll;
+
+import com.pehchaan.backend.entity.PayrollRun;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class PayrollRunResponse {
+    private Long id;
+    private LocalDate periodFrom;
+    private LocalDate periodTo;
+    private PayrollRun.RunStatus status;
+    private long logCount;
+    private long laborerCount;
+    private long totalMinutes;
+    private long overtimeMinutes;
+    private long halfDayCount;
+    private long grossMinor; // paise
+    private BigDecimal gross;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private String failureReason;
+}
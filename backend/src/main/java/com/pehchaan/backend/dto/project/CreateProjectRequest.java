@@ -4,6 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 // import java.math.BigDecimal; // No longer needed
+import java.time.LocalTime;
+import java.util.List;
+
+import com.pehchaan.backend.dto.common.GeoCoordinate;
 
 @Data
 @AllArgsConstructor
@@ -13,6 +17,13 @@ public class CreateProjectRequest {
     private String address;
     private double latitude; // We'll get this from the map pin
     private double longitude; // We'll get this from the map pin
+    // Optional geofence; see UpdateProjectSiteRequest
+    private List<GeoCoordinate> siteBoundary;
+    private Double siteBufferMeters;
+    private Double siteRadiusMeters;
+    // Optional auto-checkout policy; see UpdateShiftPolicyRequest
+    private LocalTime shiftCutoff;
+    private Integer maxShiftMinutes;
     // ❌ Wage fields removed
     // private BigDecimal wageRate;
     // private String wageType; 
@@ -6,6 +6,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 // import java.math.BigDecimal; // No longer needed
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import com.pehchaan.backend.dto.common.GeoCoordinate;
 
 @Data
 @Builder
@@ -18,6 +23,11 @@ public class ProjectResponse {
     private double latitude;
     private double longitude;
     private Long contractorId;
+    private List<GeoCoordinate> siteBoundary;
+    private Double siteBufferMeters;
+    private Double siteRadiusMeters;
+    private LocalTime shiftCutoff;
+    private Integer maxShiftMinutes;
     // ❌ REMOVED: Wage fields are no longer part of a Project
     // private BigDecimal wageRate;
     // private String wageType;
@@ -33,6 +43,14 @@ public class ProjectResponse {
                 .latitude(project.getLocation().getY()) // In PostGIS, Y is Latitude
                 .longitude(project.getLocation().getX()) // In PostGIS, X is Longitude
                 .contractorId(project.getContractor().getId())
+                .siteBoundary(project.getSitePolygon() == null ? null
+                        : Arrays.stream(project.getSitePolygon().getExteriorRing().getCoordinates())
+                                .map(c -> new GeoCoordinate(c.getY(), c.getX()))
+                                .toList())
+                .siteBufferMeters(project.getSiteBufferMeters())
+                .siteRadiusMeters(project.getSiteRadiusMeters())
+                .shiftCutoff(project.getShiftCutoff())
+                .maxShiftMinutes(project.getMaxShiftMinutes())
                 // ❌ REMOVED: Wage fields
                 // .wageRate(project.getWageRate())
                 // .wageType(project.getWageType())
@@ -0,0 +1,18 @@
+package com.pehchaan.backend.dto.project;
+
+import java.util.List;
+
+import com.pehchaan.backend.dto.common.GeoCoordinate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UpdateProjectSiteRequest {
+    private List<GeoCoordinate> siteBoundary; // Site outline (3+ points); null/empty = radius only
+    private Double siteBufferMeters;          // Allowed distance outside the outline
+    private Double siteRadiusMeters;          // Used when there is no outline
+}
@@ -0,0 +1,15 @@
+package com.pehchaan.backend.dto.project;
+
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UpdateShiftPolicyRequest {
+    private LocalTime shiftCutoff;   // e.g. "19:00"; open shifts are closed at this time; null = none
+    private Integer maxShiftMinutes; // Longest a shift may stay open; null = server default
+}
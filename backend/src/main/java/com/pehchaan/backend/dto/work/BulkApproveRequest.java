@@ -0,0 +1,22 @@
+package com.pehchaan.backend.dto.work;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Either a list of log ids, or a project with an optional (inclusive) check-in date range.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkApproveRequest {
+    private List<Long> logIds;
+
+    private Long projectId;
+    private LocalDate from;
+    private LocalDate to;
+}
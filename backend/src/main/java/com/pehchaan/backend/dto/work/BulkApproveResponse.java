@@ -0,0 +1,14 @@
+package com.pehchaan.backend.dto.work;
+
+import lombok.Builder;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkApproveResponse {
+    private int approvedCount;
+    private List<Long> approvedIds;
+    // Requested ids that were not approved: unknown, not the caller's, or not pending approval
+    private List<Long> skippedIds;
+}
@@ -0,0 +1,14 @@
+package com.pehchaan.backend.dto.work;
+
+import java.time.LocalDate;
+
+import com.pehchaan.backend.entity.WorkLog;
+
+/**
+ * Optional filters for work-log listings. Any null field is ignored.
+ * Dates are inclusive and apply to the check-in day.
+ */
+public record WorkLogFilter(Long projectId, WorkLog.WorkStatus status, LocalDate from, LocalDate to) {
+
+    public static final WorkLogFilter NONE = new WorkLogFilter(null, null, null, null);
+}
@@ -0,0 +1,17 @@
+package com.pehchaan.backend.dto.work;
+
+import lombok.Builder;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payroll summary read from the rollups: the per-day rows plus their totals.
+ */
+@Data
+@Builder
+public class WorkSummaryResponse {
+    private List<WorkSummaryRow> rows;
+    private long totalMinutesWorked;
+    private BigDecimal totalWage;
+}
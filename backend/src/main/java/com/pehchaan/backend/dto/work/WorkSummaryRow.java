@@ -0,0 +1,26 @@
+package com.pehchaan.backend.dto.work;
+
+import lombok.Builder;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One laborer's payroll totals on one project for one (check-in) day.
+ */
+@Data
+@Builder
+public class WorkSummaryRow {
+    private Long projectId;
+    private String projectName;
+    private Long laborerId;
+    private String laborerName;
+    private LocalDate workDate;
+    private Long minutesWorked;
+    private BigDecimal wageTotal;
+    private int activeCount;
+    private int pendingApprovalCount;
+    private int approvedCount;
+    private int paidCount;
+    private int disputedCount;
+}
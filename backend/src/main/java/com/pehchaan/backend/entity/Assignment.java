@@ -17,7 +17,9 @@ import java.math.BigDecimal;
 public class Assignment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than IDENTITY so bulk assignment inserts can be JDBC-batched (see db/migration)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignments_seq")
+    @SequenceGenerator(name = "assignments_seq", sequenceName = "assignments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,4 +35,9 @@ public class Assignment {
 
     @Column(nullable = false)
     private String wageType; // "DAILY", "HOURLY"
+
+    // --- Payroll rules (see PayrollCalculator); null means off ---
+    private Integer overtimeAfterMinutes; // Minutes per shift before overtime starts
+    private Integer overtimeRatePercent;  // Overtime pay as % of the base rate (default 150)
+    private Integer halfDayMinutes;       // DAILY shifts shorter than this pay half
 }
\ No newline at end of file
@@ -33,15 +33,17 @@ public class Gig {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gigs_seq")
+    @SequenceGenerator(name = "gigs_seq", sequenceName = "gigs_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "consumer_id", nullable = false)
     private User consumer;
 
+    // Null while a dispatch-mode gig is still being offered
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "laborer_id", nullable = false)
+    @JoinColumn(name = "laborer_id")
     private User laborer;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,73 @@
+package com.pehchaan.backend.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One payroll run: every APPROVED log of a contractor's projects with a
+ * check-in day in [periodFrom, periodTo], priced and marked PAID. Amounts are
+ * in minor units (paise).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "payroll_runs")
+public class PayrollRun {
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "contractor_id", nullable = false)
+    private User contractor;
+
+    @Column(nullable = false)
+    private LocalDate periodFrom;
+
+    @Column(nullable = false)
+    private LocalDate periodTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RunStatus status;
+
+    private long logCount;
+    private long laborerCount;
+    private long totalMinutes;
+    private long overtimeMinutes;
+    private long halfDayCount;
+    private long grossMinor;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    // Why a FAILED run stopped
+    private String failureReason;
+}
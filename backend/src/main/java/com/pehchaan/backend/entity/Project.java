@@ -1,6 +1,7 @@
 package com.pehchaan.backend.entity;
 
 import org.locationtech.jts.geom.Point; 
+import org.locationtech.jts.geom.Polygon;
 
 import jakarta.persistence.CascadeType; // ✅ ADD
 import jakarta.persistence.Column;
@@ -18,6 +19,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 // import java.math.BigDecimal; // No longer needed
+import java.time.LocalTime;
 import java.util.Set; // ✅ ADD
 
 @Data
@@ -40,6 +42,24 @@ public class Project {
 
     @Column(columnDefinition = "geometry(Point,4326)", nullable = false)
     private Point location;
+
+    // --- Geofence used at check-in (see SiteGeofence) ---
+    // Optional site outline; when set, check-in must be inside it (plus the buffer)
+    @Column(columnDefinition = "geometry(Polygon,4326)")
+    private Polygon sitePolygon;
+
+    // Extra meters allowed around the polygon (GPS drift, site entrances)
+    private Double siteBufferMeters;
+
+    // Used when there is no polygon: max distance from location; null means the 200 m default
+    private Double siteRadiusMeters;
+
+    // --- Auto-checkout (see ShiftPolicy); both optional ---
+    // Time of day open shifts are closed at
+    private LocalTime shiftCutoff;
+
+    // Longest a shift may stay open; null means the configured default
+    private Integer maxShiftMinutes;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contractor_id", nullable = false)
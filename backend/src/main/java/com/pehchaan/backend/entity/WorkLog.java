@@ -13,6 +13,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -36,7 +37,8 @@ public class WorkLog {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "work_logs_seq")
+    @SequenceGenerator(name = "work_logs_seq", sequenceName = "work_logs_seq", allocationSize = 50)
     private Long id;
 
     // Link to the Project this log is for
@@ -60,4 +62,7 @@ public class WorkLog {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private WorkStatus status;
+
+    // The PayrollRun that paid this log; null until PAID
+    private Long payrollRunId;
 }
\ No newline at end of file
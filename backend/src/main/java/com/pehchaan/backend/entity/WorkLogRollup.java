@@ -0,0 +1,73 @@
+package com.pehchaan.backend.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running payroll totals for one laborer on one project on one (check-in) day.
+ * Kept in step with work_logs by WorkLogService in the same transaction, and
+ * written only through WorkLogRollupRepository's native upserts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "work_log_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_work_log_rollups_day", columnNames = {"project_id", "laborer_id", "work_date"})
+})
+public class WorkLogRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "laborer_id", nullable = false)
+    private User laborer;
+
+    @Column(nullable = false)
+    private LocalDate workDate;
+
+    // Only checked-out logs add minutes and wages
+    @Column(nullable = false)
+    private long minutesWorked;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal wageTotal;
+
+    // How many of the day's logs are currently in each WorkLog.WorkStatus
+    @Column(nullable = false)
+    private int activeCount;
+
+    @Column(nullable = false)
+    private int pendingApprovalCount;
+
+    @Column(nullable = false)
+    private int approvedCount;
+
+    @Column(nullable = false)
+    private int paidCount;
+
+    @Column(nullable = false)
+    private int disputedCount;
+}
@@ -0,0 +1,84 @@
+package com.pehchaan.backend.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * RFC 4180 CSV. Text cells that a spreadsheet would run as a formula are
+ * prefixed with a single quote.
+ */
+final class CsvWorkLogWriter implements WorkLogRowWriter {
+
+    private static final String HEADER =
+            "id,projectId,projectName,laborerId,laborerName,checkInTime,checkOutTime,wageEarned,status\r\n";
+
+    private final Writer out;
+
+    CsvWorkLogWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        out.write(HEADER);
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws SQLException, IOException {
+        out.write(Long.toString(rs.getLong(1)));
+        out.write(',');
+        out.write(Long.toString(rs.getLong(2)));
+        out.write(',');
+        writeText(rs.getString(3));
+        out.write(',');
+        out.write(Long.toString(rs.getLong(4)));
+        out.write(',');
+        writeText(WorkLogRowWriter.laborerName(rs));
+        out.write(',');
+        writeNullable(WorkLogRowWriter.timestamp(rs, 7));
+        out.write(',');
+        writeNullable(WorkLogRowWriter.timestamp(rs, 8));
+        out.write(',');
+        BigDecimal wage = rs.getBigDecimal(9);
+        writeNullable(wage != null ? wage.toPlainString() : null);
+        out.write(',');
+        out.write(rs.getString(10));
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    // --- Helper Methods ---
+
+    private void writeNullable(String value) throws IOException {
+        if (value != null) {
+            out.write(value);
+        }
+    }
+
+    private void writeText(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,35 @@
+package com.pehchaan.backend.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The file formats /api/work/export can stream.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    WorkLogRowWriter open(Writer out, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvWorkLogWriter(out) : new NdjsonWorkLogWriter(out, objectMapper);
+    }
+}
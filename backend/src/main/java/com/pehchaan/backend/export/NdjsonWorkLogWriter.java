@@ -0,0 +1,55 @@
+package com.pehchaan.backend.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One JSON object per line, with the same field names as WorkLogResponse.
+ * A single generator writes the whole stream.
+ */
+final class NdjsonWorkLogWriter implements WorkLogRowWriter {
+
+    private final JsonGenerator json;
+    private boolean empty = true;
+
+    NdjsonWorkLogWriter(Writer out, ObjectMapper objectMapper) throws IOException {
+        this.json = objectMapper.getFactory().createGenerator(out);
+        this.json.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON has no header
+    }
+
+    @Override
+    public void writeRow(ResultSet rs) throws SQLException, IOException {
+        empty = false;
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong(1));
+        json.writeNumberField("projectId", rs.getLong(2));
+        json.writeStringField("projectName", rs.getString(3));
+        json.writeNumberField("laborerId", rs.getLong(4));
+        json.writeStringField("laborerName", WorkLogRowWriter.laborerName(rs));
+        json.writeStringField("checkInTime", WorkLogRowWriter.timestamp(rs, 7));
+        json.writeStringField("checkOutTime", WorkLogRowWriter.timestamp(rs, 8));
+        json.writeFieldName("wageEarned");
+        json.writeNumber(rs.getBigDecimal(9));
+        json.writeStringField("status", rs.getString(10));
+        json.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!empty) {
+            json.writeRaw('\n');
+        }
+        json.flush();
+    }
+}
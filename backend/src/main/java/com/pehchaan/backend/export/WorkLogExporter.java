@@ -0,0 +1,99 @@
+package com.pehchaan.backend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.work.WorkLogFilter;
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.repository.WorkLogExportRepository;
+
+/**
+ * Builds the response body for /api/work/export.
+ *
+ * Rows go from the database cursor through a {@link WorkLogRowWriter} into a
+ * fixed-size buffer on the response, optionally gzipped on the way, so memory
+ * use does not grow with the number of logs. The header is flushed before the
+ * query runs, so the client sees the first bytes right away.
+ */
+@Component
+public class WorkLogExporter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final WorkLogExportRepository workLogExportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public WorkLogExporter(WorkLogExportRepository workLogExportRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
+        this.workLogExportRepository = workLogExportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The caller's logs (their projects' for a contractor, their own for a
+     * laborer). The body runs on an async thread, so the caller is resolved here.
+     */
+    public StreamingResponseBody export(ExportFormat format, WorkLogFilter filter, boolean gzip) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user.role() != Role.ROLE_CONTRACTOR && user.role() != Role.ROLE_LABOR) {
+            throw new IllegalArgumentException("Only contractors and laborers have work logs to export.");
+        }
+        return out -> write(user, format, filter, gzip ? new GZIPOutputStream(out, 8192, true) : out);
+    }
+
+    // --- Helper Methods ---
+
+    private void write(AuthenticatedUser user, ExportFormat format, WorkLogFilter filter, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        WorkLogRowWriter rows = format.open(writer, objectMapper);
+        rows.writeHeader();
+        writer.flush();
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                if (user.role() == Role.ROLE_CONTRACTOR) {
+                    workLogExportRepository.streamContractorLogs(user.id(), filter, rs -> writeRow(rows, rs));
+                } else {
+                    workLogExportRepository.streamLaborerLogs(user.id(), filter, rs -> writeRow(rows, rs));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // The client went away; the cursor and transaction are already closed
+            throw e.getCause();
+        }
+
+        rows.finish();
+        writer.flush();
+        if (out instanceof GZIPOutputStream gzip) {
+            gzip.finish();
+        }
+    }
+
+    private static void writeRow(WorkLogRowWriter rows, ResultSet rs) throws SQLException {
+        try {
+            rows.writeRow(rs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
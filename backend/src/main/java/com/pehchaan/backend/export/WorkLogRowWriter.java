@@ -0,0 +1,32 @@
+package com.pehchaan.backend.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes work-log rows straight from the export cursor (see
+ * WorkLogExportRepository for the column order), one row at a time.
+ */
+interface WorkLogRowWriter {
+
+    // Same shape Jackson gives LocalDateTime in the JSON APIs
+    DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    void writeHeader() throws IOException;
+
+    void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    void finish() throws IOException;
+
+    static String timestamp(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? TIMESTAMP.format(value.toLocalDateTime()) : null;
+    }
+
+    static String laborerName(ResultSet rs) throws SQLException {
+        return rs.getString(5) + " " + rs.getString(6);
+    }
+}
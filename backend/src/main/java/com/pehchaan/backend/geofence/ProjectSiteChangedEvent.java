@@ -0,0 +1,8 @@
+package com.pehchaan.backend.geofence;
+
+/**
+ * Published when a project's location or geofence settings change, so the
+ * cached {@link SiteGeofence} is rebuilt on the next check-in.
+ */
+public record ProjectSiteChangedEvent(Long projectId) {
+}
@@ -0,0 +1,90 @@
+package com.pehchaan.backend.geofence;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+import com.pehchaan.backend.entity.Project;
+import com.pehchaan.backend.search.GeoMath;
+
+/**
+ * A project's check-in area, ready for fast in-memory point tests.
+ *
+ * With a site polygon, the polygon is moved into a local metric frame (meters
+ * east/north of the project location), buffered by siteBufferMeters and
+ * prepared once, so each check is a cheap point-in-polygon test. Holes stay
+ * holes, shrunk by the same buffer. Without one,
+ * it is a plain distance check against siteRadiusMeters (200 m by default,
+ * the old hard-coded ST_DWithin radius).
+ */
+public final class SiteGeofence {
+
+    public static final double DEFAULT_RADIUS_METERS = 200.0;
+
+    private final GeometryFactory geometryFactory;
+    private final double originLatitude;
+    private final double originLongitude;
+    private final double metersPerDegreeLon;
+    private final PreparedGeometry area; // null = radius check
+    private final double radiusMeters;
+
+    private SiteGeofence(GeometryFactory geometryFactory, double originLatitude, double originLongitude,
+                         Polygon sitePolygon, double bufferMeters, double radiusMeters) {
+        this.geometryFactory = geometryFactory;
+        this.originLatitude = originLatitude;
+        this.originLongitude = originLongitude;
+        this.metersPerDegreeLon = 1.0 / GeoMath.metersToLonDegrees(1.0, originLatitude);
+        this.radiusMeters = radiusMeters;
+
+        if (sitePolygon == null) {
+            this.area = null;
+        } else {
+            LinearRing[] holes = new LinearRing[sitePolygon.getNumInteriorRing()];
+            for (int i = 0; i < holes.length; i++) {
+                holes[i] = toLocal(sitePolygon.getInteriorRingN(i));
+            }
+            Geometry fence = geometryFactory.createPolygon(toLocal(sitePolygon.getExteriorRing()), holes);
+            if (bufferMeters > 0) {
+                fence = fence.buffer(bufferMeters);
+            }
+            this.area = PreparedGeometryFactory.prepare(fence);
+        }
+    }
+
+    public static SiteGeofence of(Project project, GeometryFactory geometryFactory) {
+        Point location = project.getLocation();
+        double buffer = project.getSiteBufferMeters() != null ? project.getSiteBufferMeters() : 0.0;
+        double radius = project.getSiteRadiusMeters() != null ? project.getSiteRadiusMeters() : DEFAULT_RADIUS_METERS;
+        return new SiteGeofence(geometryFactory, location.getY(), location.getX(),
+                project.getSitePolygon(), buffer, radius);
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (area == null) {
+            return GeoMath.distanceMeters(originLatitude, originLongitude, latitude, longitude) <= radiusMeters;
+        }
+        return area.covers(geometryFactory.createPoint(toLocal(latitude, longitude)));
+    }
+
+    private LinearRing toLocal(LineString ring) {
+        Coordinate[] coordinates = ring.getCoordinates();
+        Coordinate[] local = new Coordinate[coordinates.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            local[i] = toLocal(coordinates[i].getY(), coordinates[i].getX()); // Lat is Y, Lon is X
+        }
+        return geometryFactory.createLinearRing(local);
+    }
+
+    // Equirectangular projection around the project; accurate to well under a meter at site scale
+    private Coordinate toLocal(double latitude, double longitude) {
+        return new Coordinate(
+                (longitude - originLongitude) * metersPerDegreeLon,
+                (latitude - originLatitude) * GeoMath.METERS_PER_DEGREE_LAT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.pehchaan.backend.geofence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.locationtech.jts.geom.GeometryFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.entity.Project;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Prepared geofences keyed by project id. Built from the Project the caller
+ * already loaded, so a check-in needs no spatial query; dropped when
+ * the project's site changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SiteGeofenceCache {
+
+    private final GeometryFactory geometryFactory;
+    private final Map<Long, SiteGeofence> fences = new ConcurrentHashMap<>();
+
+    @Timed(value = "geofence.check", histogram = true)
+    public boolean isOnSite(Project project, double latitude, double longitude) {
+        return fences.computeIfAbsent(project.getId(), id -> SiteGeofence.of(project, geometryFactory))
+                .contains(latitude, longitude);
+    }
+
+    // After commit, so the next check-in rebuilds from the saved site
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectSiteChanged(ProjectSiteChangedEvent event) {
+        fences.remove(event.projectId());
+    }
+}
@@ -0,0 +1,73 @@
+package com.pehchaan.backend.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.entity.Gig;
+import com.pehchaan.backend.realtime.GigTransitionEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Business counters, next to the technical timers: gig state transitions,
+ * rejected check-ins and nearby searches by outcome.
+ */
+@Component
+public class DomainMetrics {
+
+    public enum CheckInRejection {
+        GEOFENCE,
+        NOT_ASSIGNED,
+        ALREADY_CHECKED_IN
+    }
+
+    public enum SearchSource {
+        INDEX,
+        SQL
+    }
+
+    private final Map<Gig.GigStatus, Counter> gigTransitions = new EnumMap<>(Gig.GigStatus.class);
+    private final Map<CheckInRejection, Counter> checkInsRejected = new EnumMap<>(CheckInRejection.class);
+    private final Map<SearchSource, Counter> nearbySearches = new EnumMap<>(SearchSource.class);
+    private final Map<SearchSource, Counter> nearbySearchesEmpty = new EnumMap<>(SearchSource.class);
+
+    public DomainMetrics(MeterRegistry meterRegistry) {
+        for (Gig.GigStatus status : Gig.GigStatus.values()) {
+            gigTransitions.put(status, Counter.builder("gigs.transitions")
+                    .description("Gigs that entered a state (committed transitions only)")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (CheckInRejection reason : CheckInRejection.values()) {
+            checkInsRejected.put(reason, Counter.builder("work.checkins.rejected")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        for (SearchSource source : SearchSource.values()) {
+            String tag = source.name().toLowerCase();
+            nearbySearches.put(source, Counter.builder("workers.nearby.searches")
+                    .tags("source", tag, "result", "found").register(meterRegistry));
+            nearbySearchesEmpty.put(source, Counter.builder("workers.nearby.searches")
+                    .tags("source", tag, "result", "empty").register(meterRegistry));
+        }
+    }
+
+    // Rolled-back transitions never happened, so they are counted after commit
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGigTransition(GigTransitionEvent event) {
+        gigTransitions.get(event.status()).increment();
+    }
+
+    public void checkInRejected(CheckInRejection reason) {
+        checkInsRejected.get(reason).increment();
+    }
+
+    public void nearbySearch(SearchSource source, int results) {
+        (results == 0 ? nearbySearchesEmpty : nearbySearches).get(source).increment();
+    }
+}
@@ -0,0 +1,88 @@
+package com.pehchaan.backend.payroll;
+
+/**
+ * Prices a stream of work logs and hands them to a {@link Sink} in fixed-size
+ * batches, keeping the run's totals as it goes.
+ *
+ * Everything lives in primitive fields and two reusable arrays, so
+ * {@link #add} allocates nothing. The sink sees the same arrays on every call
+ * and must be done with them before it returns.
+ */
+public final class PayrollBatch {
+
+    @FunctionalInterface
+    public interface Sink {
+        void write(long[] logIds, long[] amountsMinor, int count);
+    }
+
+    private final Sink sink;
+    private final long[] logIds;
+    private final long[] amountsMinor;
+    private int size;
+
+    private long logCount;
+    private long totalMinutes;
+    private long overtimeMinutes;
+    private long halfDayCount;
+    private long grossMinor;
+
+    public PayrollBatch(int batchSize, Sink sink) {
+        this.sink = sink;
+        this.logIds = new long[batchSize];
+        this.amountsMinor = new long[batchSize];
+    }
+
+    /**
+     * Prices one log (see {@link PayrollCalculator}) and queues it; returns its pay in minor units.
+     */
+    public long add(long logId, int wageKind, long rateMinor, long minutes,
+                    int overtimeAfterMinutes, int overtimeRatePercent, int halfDayMinutes) {
+        long pay = PayrollCalculator.payMinor(wageKind, rateMinor, minutes,
+                overtimeAfterMinutes, overtimeRatePercent, halfDayMinutes);
+
+        logCount++;
+        totalMinutes += Math.max(0, minutes);
+        overtimeMinutes += PayrollCalculator.overtimeMinutes(minutes, overtimeAfterMinutes);
+        if (wageKind == PayrollCalculator.WAGE_DAILY && PayrollCalculator.isHalfDay(minutes, halfDayMinutes)) {
+            halfDayCount++;
+        }
+        grossMinor += pay;
+
+        logIds[size] = logId;
+        amountsMinor[size] = pay;
+        if (++size == logIds.length) {
+            flush();
+        }
+        return pay;
+    }
+
+    /**
+     * Writes whatever is still queued. Call once after the last {@link #add}.
+     */
+    public void flush() {
+        if (size > 0) {
+            sink.write(logIds, amountsMinor, size);
+            size = 0;
+        }
+    }
+
+    public long logCount() {
+        return logCount;
+    }
+
+    public long totalMinutes() {
+        return totalMinutes;
+    }
+
+    public long overtimeMinutes() {
+        return overtimeMinutes;
+    }
+
+    public long halfDayCount() {
+        return halfDayCount;
+    }
+
+    public long grossMinor() {
+        return grossMinor;
+    }
+}
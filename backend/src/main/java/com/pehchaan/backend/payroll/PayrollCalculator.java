@@ -0,0 +1,64 @@
+package com.pehchaan.backend.payroll;
+
+/**
+ * Pay for one shift in integer minor units (paise), with no allocation, so a
+ * payroll run can price millions of logs in a tight loop.
+ *
+ * Rules, per Assignment:
+ * <ul>
+ *   <li>HOURLY: the rate per hour for every minute worked. Minutes past
+ *       {@code overtimeAfterMinutes} are paid at {@code overtimeRatePercent}
+ *       of the rate.</li>
+ *   <li>DAILY: the rate per shift, or half of it when the shift was shorter than
+ *       {@code halfDayMinutes}. Minutes past {@code overtimeAfterMinutes} are
+ *       paid at that percentage of the day rate's per-minute value.</li>
+ * </ul>
+ * A rule set to 0 is off. Amounts are rounded half-up once per shift.
+ */
+public final class PayrollCalculator {
+
+    public static final int WAGE_NONE = 0;
+    public static final int WAGE_DAILY = 1;
+    public static final int WAGE_HOURLY = 2;
+
+    public static final int DEFAULT_OVERTIME_PERCENT = 150;
+
+    private PayrollCalculator() {
+    }
+
+    public static long payMinor(int wageKind, long rateMinor, long minutes,
+                                int overtimeAfterMinutes, int overtimeRatePercent, int halfDayMinutes) {
+        if (minutes < 0) {
+            minutes = 0;
+        }
+        int otPercent = overtimeRatePercent > 0 ? overtimeRatePercent : DEFAULT_OVERTIME_PERCENT;
+        long overtime = overtimeAfterMinutes > 0 ? Math.max(0, minutes - overtimeAfterMinutes) : 0;
+
+        if (wageKind == WAGE_HOURLY) {
+            long regular = minutes - overtime;
+            // rate/60 per regular minute, rate*pct/6000 per overtime minute, one rounding
+            return divideHalfUp(rateMinor * (regular * 100 + overtime * otPercent), 6000);
+        }
+        if (wageKind == WAGE_DAILY) {
+            long base = isHalfDay(minutes, halfDayMinutes) ? divideHalfUp(rateMinor, 2) : rateMinor;
+            if (overtime == 0) {
+                return base;
+            }
+            return base + divideHalfUp(rateMinor * overtime * otPercent, (long) overtimeAfterMinutes * 100);
+        }
+        return 0;
+    }
+
+    public static long overtimeMinutes(long minutes, int overtimeAfterMinutes) {
+        return overtimeAfterMinutes > 0 ? Math.max(0, minutes - overtimeAfterMinutes) : 0;
+    }
+
+    public static boolean isHalfDay(long minutes, int halfDayMinutes) {
+        return halfDayMinutes > 0 && minutes < halfDayMinutes;
+    }
+
+    // For non-negative values
+    static long divideHalfUp(long numerator, long denominator) {
+        return (numerator + denominator / 2) / denominator;
+    }
+}
@@ -0,0 +1,169 @@
+package com.pehchaan.backend.realtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans committed gig transitions out to the consumer's and laborer's open
+ * /api/gigs/stream connections.
+ *
+ * Connections are plain {@link SseEmitter}s; nothing holds a thread while a
+ * client is idle, and sends run on virtual threads. The last
+ * {@code gigs.stream.replay-buffer-size} events are kept in a ring buffer so a
+ * client that reconnects with Last-Event-ID gets what it missed without
+ * re-reading its gig history. Event ids are "{epoch}-{sequence}"; an id from
+ * before a restart, or older than the buffer, gets a "resync" event instead,
+ * telling the client to reload once.
+ */
+@Component
+public class GigEventHub {
+
+    private static final String EVENT_NAME = "gig";
+    private static final String RESYNC_EVENT_NAME = "resync";
+    private static final int MAX_QUEUED_PER_SUBSCRIBER = 64;
+
+    private final long emitterTimeoutMs;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // userId -> open connections (a user may have several tabs/devices)
+    private final Map<Long, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Replay ring buffer; guarded by "this"
+    private final Recorded[] ring;
+    private long lastSequence = 0;
+
+    public GigEventHub(@Value("${gigs.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+                       @Value("${gigs.stream.replay-buffer-size:4096}") int replayBufferSize) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.ring = new Recorded[replayBufferSize];
+    }
+
+    /**
+     * Opens a stream for this user, first replaying anything after lastEventId.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        SseSubscriber subscriber = new SseSubscriber(userId, emitter, senders, MAX_QUEUED_PER_SUBSCRIBER,
+                this::unregister);
+
+        // Queueing the backlog and registering under the same lock as publish()
+        // means every event is delivered once and in order: either replayed or live.
+        // send() only enqueues, so holding the lock here is cheap.
+        synchronized (this) {
+            List<Recorded> missed = replayAfter(userId, lastEventId);
+            if (missed == null) {
+                subscriber.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data(""));
+            } else {
+                missed.forEach(recorded -> subscriber.send(toSse(recorded)));
+            }
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGigTransition(GigTransitionEvent event) {
+        publish(event);
+    }
+
+    public synchronized void publish(GigTransitionEvent event) {
+        Recorded recorded = new Recorded(++lastSequence, event);
+        ring[(int) (recorded.sequence() % ring.length)] = recorded;
+        sendTo(event.consumerId(), recorded);
+        sendTo(event.laborerId(), recorded);
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Keeps idle connections from being cut by proxies and finds dead ones.
+     */
+    @Scheduled(fixedDelayString = "${gigs.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber ->
+                subscriber.send(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(SseSubscriber::complete));
+        senders.close();
+    }
+
+    // --- Helper Methods ---
+
+    private void sendTo(Long userId, Recorded recorded) {
+        if (userId != null) {
+            subscribers.getOrDefault(userId, Set.of()).forEach(subscriber -> subscriber.send(toSse(recorded)));
+        }
+    }
+
+    private void unregister(SseSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Events after lastEventId addressed to this user; empty for a fresh
+     * connection, null if the id can't be honoured and the client must resync.
+     * Caller holds the lock.
+     */
+    private List<Recorded> replayAfter(Long userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !epoch.equals(lastEventId.substring(0, dash))) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldestKept = Math.max(1, lastSequence - ring.length + 1);
+        if (after > lastSequence || after < oldestKept - 1) {
+            return null;
+        }
+
+        List<Recorded> missed = new ArrayList<>();
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            Recorded recorded = ring[(int) (sequence % ring.length)];
+            if (recorded.event().isFor(userId)) {
+                missed.add(recorded);
+            }
+        }
+        return missed;
+    }
+
+    private SseEmitter.SseEventBuilder toSse(Recorded recorded) {
+        return SseEmitter.event()
+                .id(epoch + "-" + recorded.sequence())
+                .name(EVENT_NAME)
+                .data(recorded.event(), MediaType.APPLICATION_JSON);
+    }
+
+    private record Recorded(long sequence, GigTransitionEvent event) {
+    }
+}
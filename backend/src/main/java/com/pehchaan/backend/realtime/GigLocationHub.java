@@ -0,0 +1,168 @@
+package com.pehchaan.backend.realtime;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.pehchaan.backend.entity.Gig;
+import com.pehchaan.backend.repository.GigChannelRepository;
+import com.pehchaan.backend.search.LaborerSnapshot;
+import com.pehchaan.backend.search.LaborerUpdatedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Relays a laborer's location to the consumer of their active gig.
+ *
+ * Channels are keyed by gig id and opened/closed from committed gig transitions
+ * (ACCEPTED/IN_PROGRESS open one; anything else closes it). Location updates
+ * arrive as {@link LaborerUpdatedEvent}s from ProfileService and are handed
+ * straight to the subscribers, with no database access per relay. Each
+ * subscriber is throttled on its own and only ever holds the newest point.
+ */
+@Component
+public class GigLocationHub {
+
+    private final GigChannelRepository gigChannelRepository;
+    private final long emitterTimeoutMs;
+    private final long minIntervalMs;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService throttle = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("gig-location-throttle").daemon().factory());
+
+    private final Map<Long, Channel> channelsByGig = new ConcurrentHashMap<>();
+    // laborerId -> gigId of their active gig
+    private final Map<Long, Long> gigByLaborer = new ConcurrentHashMap<>();
+
+    public GigLocationHub(GigChannelRepository gigChannelRepository,
+                          @Value("${gigs.location-stream.timeout-ms:3600000}") long emitterTimeoutMs,
+                          @Value("${gigs.location-stream.min-interval-ms:1000}") long minIntervalMs) {
+        this.gigChannelRepository = gigChannelRepository;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.minIntervalMs = minIntervalMs;
+    }
+
+    /**
+     * Opens the live location stream of this gig's laborer for its consumer.
+     */
+    public SseEmitter subscribe(Long gigId, Long consumerId) {
+        Channel channel = channelsByGig.get(gigId);
+        if (channel == null) {
+            // Cold path (e.g. after a restart): open the channel from the gig row once
+            channel = openFromDatabase(gigId, consumerId);
+        }
+        if (!channel.consumerId().equals(consumerId)) {
+            throw notYourGig();
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        LocationSubscriber subscriber = new LocationSubscriber(gigId, emitter, senders, throttle, minIntervalMs,
+                this::unregister);
+        channel.subscribers().add(subscriber);
+
+        LaborerLocationUpdate last = channel.latest().get();
+        if (last != null) {
+            subscriber.offer(last);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGigTransition(GigTransitionEvent event) {
+        if (isActive(event.status()) && event.laborerId() != null) {
+            open(event.gigId(), event.consumerId(), event.laborerId());
+        } else {
+            close(event.gigId());
+        }
+    }
+
+    @EventListener
+    public void onLaborerUpdated(LaborerUpdatedEvent event) {
+        LaborerSnapshot snapshot = event.snapshot();
+        if (snapshot.latitude() == null || snapshot.longitude() == null) {
+            return;
+        }
+        Long gigId = gigByLaborer.get(snapshot.id());
+        Channel channel = gigId != null ? channelsByGig.get(gigId) : null;
+        if (channel == null) {
+            return;
+        }
+
+        LaborerLocationUpdate update = new LaborerLocationUpdate(
+                gigId, snapshot.latitude(), snapshot.longitude(), LocalDateTime.now());
+        // Profile/status edits republish an unchanged location; don't relay those
+        if (update.samePositionAs(channel.latest().getAndSet(update))) {
+            return;
+        }
+        channel.subscribers().forEach(subscriber -> subscriber.offer(update));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channelsByGig.values().forEach(channel -> channel.subscribers().forEach(LocationSubscriber::complete));
+        throttle.shutdownNow();
+        senders.close();
+    }
+
+    // --- Helper Methods ---
+
+    // Missing and someone else's gigs get the same answer, so gig ids can't be probed
+    private Channel openFromDatabase(Long gigId, Long consumerId) {
+        GigChannelRepository.GigParties gig = gigChannelRepository.findForConsumer(gigId, consumerId)
+                .orElseThrow(GigLocationHub::notYourGig);
+        if (!isActive(gig.status()) || gig.laborerId() == null) {
+            throw new IllegalStateException("Live location is only available while the gig is accepted or in progress.");
+        }
+        return open(gigId, consumerId, gig.laborerId());
+    }
+
+    private static AccessDeniedException notYourGig() {
+        return new AccessDeniedException("You are not authorized to access this gig.");
+    }
+
+    private Channel open(Long gigId, Long consumerId, Long laborerId) {
+        gigByLaborer.put(laborerId, gigId);
+        return channelsByGig.computeIfAbsent(gigId, id -> new Channel(consumerId, laborerId));
+    }
+
+    private void close(Long gigId) {
+        Channel channel = channelsByGig.remove(gigId);
+        if (channel != null) {
+            gigByLaborer.remove(channel.laborerId(), gigId);
+            channel.subscribers().forEach(LocationSubscriber::complete);
+        }
+    }
+
+    private void unregister(LocationSubscriber subscriber) {
+        Channel channel = channelsByGig.get(subscriber.gigId());
+        if (channel != null) {
+            channel.subscribers().remove(subscriber);
+        }
+    }
+
+    private static boolean isActive(Gig.GigStatus status) {
+        return status == Gig.GigStatus.ACCEPTED || status == Gig.GigStatus.IN_PROGRESS;
+    }
+
+    private record Channel(Long consumerId, Long laborerId,
+                           Set<LocationSubscriber> subscribers,
+                           AtomicReference<LaborerLocationUpdate> latest) {
+        Channel(Long consumerId, Long laborerId) {
+            this(consumerId, laborerId, ConcurrentHashMap.newKeySet(), new AtomicReference<>());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.pehchaan.backend.realtime;
+
+import java.time.LocalDateTime;
+
+import com.pehchaan.backend.dto.gig.GigResponse;
+import com.pehchaan.backend.entity.Gig;
+
+/**
+ * Published by GigService whenever a gig changes state. Also the (compact)
+ * payload pushed to the gig's consumer and laborer over /api/gigs/stream.
+ */
+public record GigTransitionEvent(
+        Long gigId,
+        Gig.GigStatus status,
+        Long consumerId,
+        Long laborerId,
+        LocalDateTime occurredAt
+) {
+
+    public static GigTransitionEvent from(GigResponse gig) {
+        return new GigTransitionEvent(gig.getId(), gig.getStatus(), gig.getConsumerId(), gig.getLaborerId(), LocalDateTime.now());
+    }
+
+    public boolean isFor(Long userId) {
+        return userId.equals(consumerId) || userId.equals(laborerId);
+    }
+}
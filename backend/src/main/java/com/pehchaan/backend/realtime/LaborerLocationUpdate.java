@@ -0,0 +1,18 @@
+package com.pehchaan.backend.realtime;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the per-gig live location stream.
+ */
+public record LaborerLocationUpdate(
+        Long gigId,
+        double latitude,
+        double longitude,
+        LocalDateTime reportedAt
+) {
+
+    boolean samePositionAs(LaborerLocationUpdate other) {
+        return other != null && latitude == other.latitude && longitude == other.longitude;
+    }
+}
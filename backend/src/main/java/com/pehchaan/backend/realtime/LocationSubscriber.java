@@ -0,0 +1,105 @@
+package com.pehchaan.backend.realtime;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * A consumer watching one gig's laborer, throttled to one point per interval.
+ *
+ * Only the newest point is kept: while a send is pending or in progress, later
+ * points overwrite it, so a slow client skips intermediate positions instead of
+ * building a backlog. Sends run on the given executor (virtual threads); the
+ * scheduler only handles the throttle delay.
+ */
+final class LocationSubscriber {
+
+    private static final String EVENT_NAME = "location";
+
+    private final Long gigId;
+    private final SseEmitter emitter;
+    private final Executor senders;
+    private final ScheduledExecutorService scheduler;
+    private final long minIntervalNanos;
+    private final Consumer<LocationSubscriber> onClose;
+
+    private final AtomicReference<LaborerLocationUpdate> latest = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long lastSentNanos;
+
+    LocationSubscriber(Long gigId, SseEmitter emitter, Executor senders, ScheduledExecutorService scheduler,
+                       long minIntervalMs, Consumer<LocationSubscriber> onClose) {
+        this.gigId = gigId;
+        this.emitter = emitter;
+        this.senders = senders;
+        this.scheduler = scheduler;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+        this.lastSentNanos = System.nanoTime() - minIntervalNanos;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    Long gigId() {
+        return gigId;
+    }
+
+    void offer(LaborerLocationUpdate update) {
+        if (closed.get()) {
+            return;
+        }
+        latest.set(update);
+        scheduleSend();
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    private void scheduleSend() {
+        if (scheduled.compareAndSet(false, true)) {
+            long waitNanos = lastSentNanos + minIntervalNanos - System.nanoTime();
+            if (waitNanos <= 0) {
+                senders.execute(this::sendLatest);
+            } else {
+                scheduler.schedule(() -> senders.execute(this::sendLatest), waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void sendLatest() {
+        LaborerLocationUpdate update = latest.getAndSet(null);
+        try {
+            if (update != null && !closed.get()) {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(update, MediaType.APPLICATION_JSON));
+                lastSentNanos = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container reports it to the emitter
+            close();
+        } finally {
+            scheduled.set(false);
+            // A point that arrived while we were sending waits for the next slot
+            if (latest.get() != null && !closed.get()) {
+                scheduleSend();
+            }
+        }
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            latest.set(null);
+            onClose.accept(this);
+        }
+    }
+}
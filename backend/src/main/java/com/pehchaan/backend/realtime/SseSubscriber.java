@@ -0,0 +1,98 @@
+package com.pehchaan.backend.realtime;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open SSE connection.
+ *
+ * Sends are queued and drained by at most one task at a time on the given
+ * executor, so events reach the client in order and a slow client never blocks
+ * the thread that published the event. A client that falls too far behind is
+ * disconnected; it reconnects with Last-Event-ID and catches up from the replay buffer.
+ */
+final class SseSubscriber {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int maxQueued;
+    private final Consumer<SseSubscriber> onClose;
+
+    private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SseSubscriber(Long userId, SseEmitter emitter, Executor executor, int maxQueued, Consumer<SseSubscriber> onClose) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxQueued = maxQueued;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    void send(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            close();
+            emitter.complete();
+            return;
+        }
+        queue.add(event);
+        scheduleDrain();
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed.get() && (event = queue.poll()) != null) {
+                queued.decrementAndGet();
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter already completed); the container
+            // reports the error to the emitter itself, so only stop sending here
+            close();
+        } finally {
+            draining.set(false);
+            if (!closed.get() && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            onClose.accept(this);
+        }
+    }
+}
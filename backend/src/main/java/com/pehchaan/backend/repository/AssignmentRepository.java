@@ -2,7 +2,10 @@ package com.pehchaan.backend.repository;
 
 import com.pehchaan.backend.entity.Assignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +17,13 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     
     // Finds a specific assignment for a laborer and project
     Optional<Assignment> findByLaborerIdAndProjectId(Long laborerId, Long projectId);
+
+    // Which of these laborers already have an assignment on the project
+    @Query("SELECT a.laborer.id FROM Assignment a WHERE a.project.id = :projectId AND a.laborer.id IN :laborerIds")
+    List<Long> findAssignedLaborerIds(@Param("projectId") Long projectId, @Param("laborerIds") Collection<Long> laborerIds);
+
+    // Every assignment of these laborers on these projects, for wage lookups in bulk
+    @Query("SELECT a FROM Assignment a WHERE a.project.id IN :projectIds AND a.laborer.id IN :laborerIds")
+    List<Assignment> findByProjectIdsAndLaborerIds(@Param("projectIds") Collection<Long> projectIds,
+                                                   @Param("laborerIds") Collection<Long> laborerIds);
 }
\ No newline at end of file
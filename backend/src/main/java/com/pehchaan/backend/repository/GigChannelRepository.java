@@ -0,0 +1,39 @@
+package com.pehchaan.backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.entity.Gig;
+
+/**
+ * The one lookup a cold live-location subscription needs. Plain JdbcTemplate
+ * on purpose: it takes a connection for the single statement and hands it back
+ * at once, instead of pinning the request's EntityManager (and a pooled
+ * connection) for as long as the SSE stream stays open.
+ */
+@Repository
+public class GigChannelRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GigChannelRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record GigParties(Gig.GigStatus status, Long laborerId) {
+    }
+
+    /**
+     * The gig's status and laborer, only if the gig belongs to this consumer;
+     * empty both when it does not exist and when it is someone else's.
+     */
+    public Optional<GigParties> findForConsumer(Long gigId, Long consumerId) {
+        return jdbcTemplate.query(
+                "SELECT status, laborer_id FROM gigs WHERE id = ? AND consumer_id = ?",
+                (rs, rowNum) -> new GigParties(
+                        Gig.GigStatus.valueOf(rs.getString(1)), rs.getObject(2, Long.class)),
+                gigId, consumerId).stream().findFirst();
+    }
+}
@@ -0,0 +1,113 @@
+package com.pehchaan.backend.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.gig.GigResponse;
+import com.pehchaan.backend.entity.Gig;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Read-side gig queries that return {@link GigResponse} rows directly.
+ * The consumer and laborer names are joined in the same statement, so there is
+ * no lazy loading (and no 1 + 2N queries) while mapping.
+ */
+@Repository
+public class GigQueryRepository {
+
+    // Column order must match mapRow()
+    static final String GIG_COLUMNS =
+            "g.id, g.status, g.payment_method, g.skill, " +
+            "c.id, c.first_name, c.last_name, ST_Y(g.consumer_location), ST_X(g.consumer_location), g.consumer_address, " +
+            "l.id, l.first_name, l.last_name, " +
+            "g.created_at, g.accepted_at, g.work_started_at, g.completed_at, g.paid_at, " +
+            "g.visiting_charge, g.total_amount, g.rating";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<GigResponse> findLaborerGigs(Long laborerId, KeysetCursor after, Integer limit) {
+        return findGigs("g.laborer_id", laborerId, after, limit);
+    }
+
+    public List<GigResponse> findConsumerGigs(Long consumerId, KeysetCursor after, Integer limit) {
+        return findGigs("g.consumer_id", consumerId, after, limit);
+    }
+
+    /**
+     * Still-open REQUESTED gigs among the given ids, newest first (used for dispatch offers).
+     */
+    @SuppressWarnings("unchecked")
+    public List<GigResponse> findRequestedByIds(List<Long> gigIds) {
+        if (gigIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT " + GIG_COLUMNS + " FROM gigs g " +
+                     "JOIN users c ON c.id = g.consumer_id " +
+                     "LEFT JOIN users l ON l.id = g.laborer_id " +
+                     "WHERE g.id IN (:gigIds) AND g.status = 'REQUESTED' " +
+                     "ORDER BY g.created_at DESC, g.id DESC";
+        return ((List<Object[]>) entityManager.createNativeQuery(sql)
+                .setParameter("gigIds", gigIds)
+                .getResultList()).stream()
+                .map(GigQueryRepository::mapRow)
+                .toList();
+    }
+
+    /**
+     * Keyset page over (created_at DESC, id DESC), served by the
+     * (laborer_id | consumer_id, created_at DESC, id DESC) indexes on gigs.
+     * A null limit returns everything after the cursor.
+     */
+    @SuppressWarnings("unchecked")
+    private List<GigResponse> findGigs(String ownerColumn, Long userId, KeysetCursor after, Integer limit) {
+        String sql = "SELECT " + GIG_COLUMNS + " FROM gigs g " +
+                     "JOIN users c ON c.id = g.consumer_id " +
+                     "LEFT JOIN users l ON l.id = g.laborer_id " +
+                     "WHERE " + ownerColumn + " = :userId " +
+                     "AND (g.created_at, g.id) < (:cursorTime, :cursorId) " +
+                     "ORDER BY g.created_at DESC, g.id DESC" +
+                     (limit != null ? " LIMIT :limit" : "");
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("userId", userId);
+        query.setParameter("cursorTime", after.time());
+        query.setParameter("cursorId", after.id());
+        if (limit != null) {
+            query.setParameter("limit", limit);
+        }
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(GigQueryRepository::mapRow)
+                .toList();
+    }
+
+    static GigResponse mapRow(Object[] r) {
+        return GigResponse.builder()
+                .id(NativeRows.toLong(r[0]))
+                .status(Gig.GigStatus.valueOf((String) r[1]))
+                .paymentMethod(r[2] != null ? Gig.PaymentMethod.valueOf((String) r[2]) : null)
+                .skill((String) r[3])
+                .consumerId(NativeRows.toLong(r[4]))
+                .consumerName(r[5] + " " + r[6])
+                .consumerLatitude(((Number) r[7]).doubleValue())
+                .consumerLongitude(((Number) r[8]).doubleValue())
+                .consumerAddress((String) r[9])
+                .laborerId(NativeRows.toLong(r[10]))
+                .laborerName(r[10] != null ? r[11] + " " + r[12] : null) // Unassigned dispatch gig
+                .createdAt(NativeRows.toLocalDateTime(r[13]))
+                .acceptedAt(NativeRows.toLocalDateTime(r[14]))
+                .workStartedAt(NativeRows.toLocalDateTime(r[15]))
+                .completedAt(NativeRows.toLocalDateTime(r[16]))
+                .paidAt(NativeRows.toLocalDateTime(r[17]))
+                .visitingCharge((BigDecimal) r[18])
+                .totalAmount((BigDecimal) r[19])
+                .rating(r[20] != null ? ((Number) r[20]).intValue() : null)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.pehchaan.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.dto.gig.GigResponse;
+import com.pehchaan.backend.entity.Gig;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Gig state transitions as single conditional statements.
+ *
+ * Each method checks ownership and the expected current status in the WHERE
+ * clause, applies the change and returns the updated row (with names joined)
+ * in one round trip. An empty result means the guard did not match; the
+ * caller decides which error to report. "One active gig per laborer/consumer"
+ * is enforced by the partial unique indexes in db/migration, so concurrent
+ * requests cannot double-book without any row locks held in Java.
+ *
+ * Dispatch-mode gigs are inserted with no laborer and assigned by {@link #claim}.
+ *
+ * Inserts take their id straight from gigs_seq. Hibernate's pooled optimizer
+ * treats each sequence value as the top of its own block of 50, so an id
+ * used here never overlaps a block Hibernate hands out.
+ */
+@Repository
+public class GigTransitionRepository {
+
+    private static final String RETURNING_GIG =
+            "SELECT " + GigQueryRepository.GIG_COLUMNS + " FROM g " +
+            "JOIN users c ON c.id = g.consumer_id " +
+            "LEFT JOIN users l ON l.id = g.laborer_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates a REQUESTED gig, but only if the laborer exists and is AVAILABLE right now.
+     */
+    public Optional<GigResponse> insertRequested(Long consumerId, Long laborerId, String skill,
+                                                 double latitude, double longitude, String address,
+                                                 BigDecimal visitingCharge, BigDecimal platformFee,
+                                                 BigDecimal laborerVisitingPayout, LocalDateTime now) {
+        String sql = "WITH g AS (" +
+                     "INSERT INTO gigs (id, consumer_id, laborer_id, status, skill, consumer_location, consumer_address, " +
+                     "visiting_charge, platform_fee, laborer_visiting_payout, total_amount, payment_method, created_at) " +
+                     "SELECT nextval('gigs_seq'), :consumerId, u.id, 'REQUESTED', :skill, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326), :address, " +
+                     ":visitingCharge, :platformFee, :payout, :visitingCharge, 'PENDING', :now " +
+                     "FROM users u WHERE u.id = :laborerId AND u.role = 'ROLE_LABOR' AND u.status = 'AVAILABLE' " +
+                     "RETURNING *) " + RETURNING_GIG;
+        return single(sql, Map.of(
+                "consumerId", consumerId,
+                "laborerId", laborerId,
+                "skill", skill,
+                "lon", longitude, // X is Longitude
+                "lat", latitude,  // Y is Latitude
+                "address", address,
+                "visitingCharge", visitingCharge,
+                "platformFee", platformFee,
+                "payout", laborerVisitingPayout,
+                "now", now
+        ));
+    }
+
+    /**
+     * Creates a REQUESTED gig with no laborer yet; it is offered to several laborers
+     * and assigned to whoever claims it first.
+     */
+    public Optional<GigResponse> insertDispatched(Long consumerId, String skill,
+                                                  double latitude, double longitude, String address,
+                                                  BigDecimal visitingCharge, BigDecimal platformFee,
+                                                  BigDecimal laborerVisitingPayout, LocalDateTime now) {
+        String sql = "WITH g AS (" +
+                     "INSERT INTO gigs (id, consumer_id, laborer_id, status, skill, consumer_location, consumer_address, " +
+                     "visiting_charge, platform_fee, laborer_visiting_payout, total_amount, payment_method, created_at) " +
+                     "VALUES (nextval('gigs_seq'), :consumerId, NULL, 'REQUESTED', :skill, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326), :address, " +
+                     ":visitingCharge, :platformFee, :payout, :visitingCharge, 'PENDING', :now) " +
+                     "RETURNING *) " + RETURNING_GIG;
+        return single(sql, Map.of(
+                "consumerId", consumerId,
+                "skill", skill,
+                "lon", longitude, // X is Longitude
+                "lat", latitude,  // Y is Latitude
+                "address", address,
+                "visitingCharge", visitingCharge,
+                "platformFee", platformFee,
+                "payout", laborerVisitingPayout,
+                "now", now
+        ));
+    }
+
+    /**
+     * Unassigned REQUESTED -> ACCEPTED by this laborer, who is marked OFFLINE in the same statement.
+     */
+    public Optional<GigResponse> claim(Long gigId, Long laborerId, LocalDateTime now) {
+        String sql = "WITH g AS (" +
+                     "UPDATE gigs SET laborer_id = :actorId, status = 'ACCEPTED', accepted_at = :now " +
+                     "WHERE id = :gigId AND laborer_id IS NULL AND status = 'REQUESTED' " +
+                     "RETURNING *), " +
+                     "busy AS (UPDATE users SET status = 'OFFLINE' WHERE id = (SELECT laborer_id FROM g)) " +
+                     RETURNING_GIG;
+        return single(sql, Map.of("gigId", gigId, "actorId", laborerId, "now", now));
+    }
+
+    /**
+     * Cancels dispatch gigs nobody claimed before the cutoff and returns them.
+     */
+    @SuppressWarnings("unchecked")
+    public List<GigResponse> cancelUnclaimed(LocalDateTime createdBefore) {
+        String sql = "WITH g AS (UPDATE gigs SET status = 'CANCELLED' " +
+                     "WHERE laborer_id IS NULL AND status = 'REQUESTED' AND created_at < :createdBefore " +
+                     "RETURNING *) " + RETURNING_GIG;
+        return ((List<Object[]>) entityManager.createNativeQuery(sql)
+                .setParameter("createdBefore", createdBefore)
+                .getResultList()).stream()
+                .map(GigQueryRepository::mapRow)
+                .toList();
+    }
+
+    /**
+     * REQUESTED -> ACCEPTED, and marks the laborer OFFLINE in the same statement.
+     */
+    public Optional<GigResponse> accept(Long gigId, Long laborerId, LocalDateTime now) {
+        String sql = "WITH g AS (" +
+                     "UPDATE gigs SET status = 'ACCEPTED', accepted_at = :now " +
+                     "WHERE id = :gigId AND laborer_id = :actorId AND status = 'REQUESTED' " +
+                     "RETURNING *), " +
+                     "busy AS (UPDATE users SET status = 'OFFLINE' WHERE id = (SELECT laborer_id FROM g)) " +
+                     RETURNING_GIG;
+        return single(sql, Map.of("gigId", gigId, "actorId", laborerId, "now", now));
+    }
+
+    /**
+     * ACCEPTED -> IN_PROGRESS.
+     */
+    public Optional<GigResponse> startWork(Long gigId, Long laborerId, LocalDateTime now) {
+        return update("status = 'IN_PROGRESS', work_started_at = :now",
+                "laborer_id = :actorId AND status = 'ACCEPTED'",
+                Map.of("gigId", gigId, "actorId", laborerId, "now", now));
+    }
+
+    /**
+     * ACCEPTED or IN_PROGRESS -> PENDING_PAYMENT, with the final total.
+     */
+    public Optional<GigResponse> complete(Long gigId, Long laborerId, BigDecimal additionalAmount, LocalDateTime now) {
+        return update("status = 'PENDING_PAYMENT', total_amount = visiting_charge + :additional, completed_at = :now",
+                "laborer_id = :actorId AND status IN ('ACCEPTED', 'IN_PROGRESS')",
+                Map.of("gigId", gigId, "actorId", laborerId, "additional", additionalAmount, "now", now));
+    }
+
+    /**
+     * PENDING_PAYMENT -> COMPLETED. Either party on the gig may confirm payment.
+     */
+    public Optional<GigResponse> markPaid(Long gigId, Long userId, Gig.PaymentMethod paymentMethod, LocalDateTime now) {
+        return update("status = 'COMPLETED', payment_method = :paymentMethod, paid_at = :now",
+                "(laborer_id = :actorId OR consumer_id = :actorId) AND status = 'PENDING_PAYMENT'",
+                Map.of("gigId", gigId, "actorId", userId, "paymentMethod", paymentMethod.name(), "now", now));
+    }
+
+    // --- Helper Methods ---
+
+    private Optional<GigResponse> update(String setClause, String guard, Map<String, Object> params) {
+        String sql = "WITH g AS (UPDATE gigs SET " + setClause + " WHERE id = :gigId AND " + guard + " RETURNING *) " +
+                     RETURNING_GIG;
+        return single(sql, params);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<GigResponse> single(String sql, Map<String, Object> params) {
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().findFirst().map(GigQueryRepository::mapRow);
+    }
+}
@@ -0,0 +1,34 @@
+package com.pehchaan.backend.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Conversions for the Object[] rows native queries return.
+ */
+final class NativeRows {
+
+    private NativeRows() {
+    }
+
+    static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    // Native queries may hand back either type depending on the driver/dialect
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
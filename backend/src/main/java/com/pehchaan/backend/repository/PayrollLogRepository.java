@@ -0,0 +1,106 @@
+package com.pehchaan.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.payroll.PayrollBatch;
+import com.pehchaan.backend.payroll.PayrollCalculator;
+
+/**
+ * Plain-JDBC side of a payroll run. Approved logs are read one project and
+ * one page at a time, in (check_in_time, id) keyset order along
+ * idx_work_logs_approved, straight into a {@link PayrollBatch}, and paid logs
+ * are written back a batch at a time. No entities are involved and nothing
+ * is held per log, so each page can be its own short transaction.
+ */
+@Repository
+public class PayrollLogRepository {
+
+    // Wage type and amounts come back as numbers, so the batch prices a row without parsing anything
+    private static final String APPROVED_LOGS_SQL =
+            "SELECT w.id, " +
+            "CAST(FLOOR(EXTRACT(EPOCH FROM (w.check_out_time - w.check_in_time)) / 60) AS bigint), " +
+            "CASE a.wage_type WHEN 'DAILY' THEN " + PayrollCalculator.WAGE_DAILY +
+            " WHEN 'HOURLY' THEN " + PayrollCalculator.WAGE_HOURLY + " ELSE " + PayrollCalculator.WAGE_NONE + " END, " +
+            "CAST(ROUND(COALESCE(a.wage_rate, 0) * 100) AS bigint), " +
+            "COALESCE(a.overtime_after_minutes, 0), COALESCE(a.overtime_rate_percent, 0), COALESCE(a.half_day_minutes, 0), " +
+            "w.check_in_time " +
+            "FROM work_logs w " +
+            "LEFT JOIN assignments a ON a.project_id = w.project_id AND a.laborer_id = w.laborer_id " +
+            "WHERE w.project_id = ? AND w.status = 'APPROVED' " +
+            // The plain bound starts the index range at the cursor; the row comparison breaks check-in ties by id
+            "AND w.check_in_time >= ? AND (w.check_in_time, w.id) > (?, ?) AND w.check_in_time < ? " +
+            "ORDER BY w.check_in_time, w.id LIMIT ?";
+
+    // Marks one batch PAID with its new amounts and moves the rollups (APPROVED -> PAID, wage difference)
+    private static final String MARK_PAID_SQL =
+            "WITH paid AS (" +
+            "UPDATE work_logs w SET status = 'PAID', payroll_run_id = ?, wage_earned = v.amount / 100.0 " +
+            "FROM unnest(?::bigint[], ?::bigint[]) AS v(id, amount), work_logs old " +
+            "WHERE w.id = v.id AND old.id = v.id AND w.status = 'APPROVED' " +
+            "RETURNING w.project_id, w.laborer_id, w.check_in_time, w.wage_earned - COALESCE(old.wage_earned, 0) AS wage_delta" +
+            "), rolled_up AS (" +
+            WorkLogRollupRepository.INSERT_ROLLUP +
+            "SELECT project_id, laborer_id, CAST(check_in_time AS date), 0, SUM(wage_delta), 0, 0, -COUNT(*), COUNT(*), 0 " +
+            "FROM paid GROUP BY project_id, laborer_id, CAST(check_in_time AS date) " +
+            WorkLogRollupRepository.ADD_ON_CONFLICT +
+            ") SELECT COUNT(*) FROM paid";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PayrollLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Where a project's pass over its approved logs has got to: the last log read.
+     */
+    public record PageCursor(LocalDateTime checkInTime, long logId) {
+
+        public static PageCursor startOf(LocalDateTime from) {
+            return new PageCursor(from, 0L);
+        }
+    }
+
+    public List<Long> findProjectIds(Long contractorId) {
+        return jdbcTemplate.queryForList("SELECT id FROM projects WHERE contractor_id = ? ORDER BY id",
+                Long.class, contractorId);
+    }
+
+    /**
+     * Feeds up to {@code limit} APPROVED logs of the project that come after
+     * {@code after} and check in before {@code toExclusive} into the batch.
+     * Returns the last log read, or null when there were none left.
+     */
+    public PageCursor readApprovedLogs(Long projectId, PageCursor after, LocalDateTime toExclusive, int limit,
+                                       PayrollBatch batch) {
+        PageCursor[] last = new PageCursor[1];
+        jdbcTemplate.query(APPROVED_LOGS_SQL, rs -> {
+            batch.add(rs.getLong(1), rs.getInt(3), rs.getLong(4), rs.getLong(2),
+                    rs.getInt(5), rs.getInt(6), rs.getInt(7));
+            last[0] = new PageCursor(rs.getTimestamp(8).toLocalDateTime(), rs.getLong(1));
+        }, projectId, Timestamp.valueOf(after.checkInTime()), Timestamp.valueOf(after.checkInTime()), after.logId(),
+                Timestamp.valueOf(toExclusive), limit);
+        return last[0];
+    }
+
+    /**
+     * Marks the first {@code count} logs PAID by this run. Returns how many were still APPROVED.
+     */
+    public int markPaid(Long runId, long[] logIds, long[] amountsMinor, int count) {
+        Integer updated = jdbcTemplate.queryForObject(MARK_PAID_SQL, Integer.class,
+                runId, Arrays.copyOf(logIds, count), Arrays.copyOf(amountsMinor, count));
+        return updated != null ? updated : 0;
+    }
+
+    public long countLaborers(Long runId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT laborer_id) FROM work_logs WHERE payroll_run_id = ?", Long.class, runId);
+        return count != null ? count : 0;
+    }
+}
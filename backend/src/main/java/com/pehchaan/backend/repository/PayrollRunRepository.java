@@ -0,0 +1,25 @@
+package com.pehchaan.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.entity.PayrollRun;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    List<PayrollRun> findByContractorIdOrderByStartedAtDesc(Long contractorId);
+
+    // Runs a previous process left RUNNING can never finish; this frees their contractors to run again
+    @Modifying
+    @Query("UPDATE PayrollRun r SET r.status = com.pehchaan.backend.entity.PayrollRun.RunStatus.FAILED, " +
+           "r.completedAt = :now, r.failureReason = :reason " +
+           "WHERE r.status = com.pehchaan.backend.entity.PayrollRun.RunStatus.RUNNING")
+    int failRunning(@Param("now") LocalDateTime now, @Param("reason") String reason);
+}
@@ -1,8 +1,13 @@
 package com.pehchaan.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.pehchaan.backend.entity.Role;
 import com.pehchaan.backend.entity.User;
 
 @Repository
@@ -16,4 +21,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return An Optional containing the User if found, or an empty Optional if not.
      */
     Optional<User> findByPhone(String phone);
+
+    /**
+     * Loads a user with their skills in one query, so mapping needs no session.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.skills WHERE u.id = :id")
+    Optional<User> findWithSkillsById(@Param("id") Long id);
+
+    /**
+     * Which of these ids belong to users with the given role.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.role = :role")
+    List<Long> findIdsWithRole(@Param("ids") Collection<Long> ids, @Param("role") Role role);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.pehchaan.backend.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.dto.work.WorkLogFilter;
+
+/**
+ * Streams work-log rows for exports through a forward-only server-side cursor,
+ * so an export never holds more than one fetch of rows in memory. The same
+ * columns and filters as WorkLogQueryRepository, without the keyset paging.
+ * Must run inside a transaction; outside one the PostgreSQL driver ignores the
+ * fetch size and buffers the whole result.
+ */
+@Repository
+public class WorkLogExportRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    // Column order is what the export writers read
+    private static final String EXPORT_SQL =
+            "SELECT w.id, p.id, p.name, l.id, l.first_name, l.last_name, " +
+            "w.check_in_time, w.check_out_time, w.wage_earned, w.status " +
+            "FROM work_logs w " +
+            "JOIN projects p ON p.id = w.project_id " +
+            "JOIN users l ON l.id = w.laborer_id ";
+
+    private final JdbcTemplate streamingTemplate;
+
+    public WorkLogExportRepository(JdbcTemplate jdbcTemplate) {
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void streamContractorLogs(Long contractorId, WorkLogFilter filter, RowCallbackHandler handler) {
+        // Project by project, so each project's rows come straight off idx_work_logs_project_checkin
+        stream("p.contractor_id", contractorId, filter, "w.project_id, w.check_in_time DESC, w.id DESC", handler);
+    }
+
+    public void streamLaborerLogs(Long laborerId, WorkLogFilter filter, RowCallbackHandler handler) {
+        stream("w.laborer_id", laborerId, filter, "w.check_in_time DESC, w.id DESC", handler);
+    }
+
+    // --- Helper Methods ---
+
+    private void stream(String ownerColumn, Long ownerId, WorkLogFilter filter, String orderBy,
+                        RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL).append("WHERE ").append(ownerColumn).append(" = ? ");
+        List<Object> args = new ArrayList<>();
+        args.add(ownerId);
+        if (filter.projectId() != null) {
+            sql.append("AND w.project_id = ? ");
+            args.add(filter.projectId());
+        }
+        if (filter.status() != null) {
+            sql.append("AND w.status = ? ");
+            args.add(filter.status().name());
+        }
+        if (filter.from() != null) {
+            sql.append("AND w.check_in_time >= ? ");
+            args.add(Timestamp.valueOf(filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            sql.append("AND w.check_in_time < ? ");
+            args.add(Timestamp.valueOf(filter.to().plusDays(1).atStartOfDay()));
+        }
+        sql.append("ORDER BY ").append(orderBy);
+        streamingTemplate.query(sql.toString(), handler, args.toArray());
+    }
+}
@@ -0,0 +1,144 @@
+package com.pehchaan.backend.repository;
+
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.work.WorkLogFilter;
+import com.pehchaan.backend.dto.work.WorkLogResponse;
+import com.pehchaan.backend.entity.WorkLog;
+import com.pehchaan.backend.shift.OpenShift;
+import com.pehchaan.backend.shift.ShiftPolicy;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Read-side work-log queries that return flat {@link WorkLogResponse} rows.
+ * Project and laborer names are joined in one statement, so a contractor's
+ * dashboard costs one query no matter how many projects and crews it spans.
+ */
+@Repository
+public class WorkLogQueryRepository {
+
+    // Column order must match mapRow()
+    private static final String LOG_COLUMNS =
+            "w.id, p.id, p.name, l.id, l.first_name, l.last_name, " +
+            "w.check_in_time, w.check_out_time, w.wage_earned, w.status";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Logs across every project the contractor owns, newest check-in first.
+     */
+    public List<WorkLogResponse> findContractorLogs(Long contractorId, WorkLogFilter filter,
+                                                    KeysetCursor after, Integer limit) {
+        return findLogs("p.contractor_id", contractorId, filter, after, limit);
+    }
+
+    /**
+     * A laborer's own logs, newest check-in first.
+     */
+    public List<WorkLogResponse> findLaborerLogs(Long laborerId, WorkLogFilter filter,
+                                                 KeysetCursor after, Integer limit) {
+        return findLogs("w.laborer_id", laborerId, filter, after, limit);
+    }
+
+    /**
+     * Every checked-in (open) log with its project's shift policy, optionally for one project.
+     * Reads through the idx_work_logs_open / idx_work_logs_project_open partial indexes (db/migration).
+     */
+    @SuppressWarnings("unchecked")
+    public List<OpenShift> findOpenShifts(Long projectId) {
+        String sql = "SELECT w.id, w.project_id, w.check_in_time, p.shift_cutoff, p.max_shift_minutes " +
+                     "FROM work_logs w JOIN projects p ON p.id = w.project_id " +
+                     "WHERE w.check_out_time IS NULL" + (projectId != null ? " AND w.project_id = :projectId" : "");
+        Query query = entityManager.createNativeQuery(sql);
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(r -> new OpenShift(
+                        NativeRows.toLong(r[0]),
+                        NativeRows.toLong(r[1]),
+                        NativeRows.toLocalDateTime(r[2]),
+                        new ShiftPolicy(toLocalTime(r[3]), r[4] != null ? ((Number) r[4]).intValue() : null)))
+                .toList();
+    }
+
+    /**
+     * Keyset page over (check_in_time DESC, id DESC). A null limit returns everything after the cursor.
+     */
+    @SuppressWarnings("unchecked")
+    private List<WorkLogResponse> findLogs(String ownerColumn, Long ownerId, WorkLogFilter filter,
+                                           KeysetCursor after, Integer limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(LOG_COLUMNS).append(" FROM work_logs w ")
+                .append("JOIN projects p ON p.id = w.project_id ")
+                .append("JOIN users l ON l.id = w.laborer_id ")
+                .append("WHERE ").append(ownerColumn).append(" = :ownerId ")
+                .append("AND (w.check_in_time, w.id) < (:cursorTime, :cursorId) ");
+        if (filter.projectId() != null) {
+            sql.append("AND w.project_id = :projectId ");
+        }
+        if (filter.status() != null) {
+            sql.append("AND w.status = :status ");
+        }
+        if (filter.from() != null) {
+            sql.append("AND w.check_in_time >= :from ");
+        }
+        if (filter.to() != null) {
+            sql.append("AND w.check_in_time < :toExclusive ");
+        }
+        sql.append("ORDER BY w.check_in_time DESC, w.id DESC");
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter("ownerId", ownerId);
+        query.setParameter("cursorTime", after.time());
+        query.setParameter("cursorId", after.id());
+        if (filter.projectId() != null) {
+            query.setParameter("projectId", filter.projectId());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status().name());
+        }
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from().atStartOfDay());
+        }
+        if (filter.to() != null) {
+            query.setParameter("toExclusive", filter.to().plusDays(1).atStartOfDay());
+        }
+        if (limit != null) {
+            query.setParameter("limit", limit);
+        }
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(WorkLogQueryRepository::mapRow)
+                .toList();
+    }
+
+    private static LocalTime toLocalTime(Object value) {
+        return value instanceof Time time ? time.toLocalTime() : (LocalTime) value;
+    }
+
+    private static WorkLogResponse mapRow(Object[] r) {
+        return WorkLogResponse.builder()
+                .id(NativeRows.toLong(r[0]))
+                .projectId(NativeRows.toLong(r[1]))
+                .projectName((String) r[2])
+                .laborerId(NativeRows.toLong(r[3]))
+                .laborerName(r[4] + " " + r[5])
+                .checkInTime(NativeRows.toLocalDateTime(r[6]))
+                .checkOutTime(NativeRows.toLocalDateTime(r[7]))
+                .wageEarned((BigDecimal) r[8])
+                .status(WorkLog.WorkStatus.valueOf((String) r[9]))
+                .build();
+    }
+}
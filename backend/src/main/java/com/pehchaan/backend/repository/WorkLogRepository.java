@@ -1,19 +1,21 @@
 package com.pehchaan.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.pehchaan.backend.entity.WorkLog;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
 
-    /**
-     * Finds all work logs for a specific laborer.
-     */
-    List<WorkLog> findByLaborerId(Long laborerId);
-
     /**
      * Finds all work logs for a specific project.
      */
@@ -23,12 +25,17 @@ public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
      * This is a key method: It finds the "open" work log for a laborer.
      * (i.e., a log where they have checked IN but not checked OUT).
      * This is how we'll know if a user is currently on the clock.
+     * The row is locked so a check-out and an auto-checkout can't both close it.
      */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<WorkLog> findByLaborerIdAndCheckOutTimeIsNull(Long laborerId);
 
     /**
-     * ✅ ADDED: Finds all work logs for a given list of project IDs.
-     * This is for the contractor's dashboard.
+     * The still-open logs among these ids, locked for closing. Rows another
+     * transaction holds (a laborer checking out right now) are skipped.
      */
-    List<WorkLog> findByProjectIdIn(List<Long> projectIds);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // SKIP LOCKED
+    @Query("SELECT w FROM WorkLog w WHERE w.id IN :ids AND w.checkOutTime IS NULL")
+    List<WorkLog> findOpenByIdsForUpdate(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,228 @@
+package com.pehchaan.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Repository;
+
+import com.pehchaan.backend.dto.work.WorkSummaryRow;
+import com.pehchaan.backend.entity.WorkLog;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Writes and reads the per (project, laborer, day) payroll rollups.
+ *
+ * Writes are single-statement upserts that add deltas to the row, so
+ * concurrent check-outs on the same day never lose an update. Reads never
+ * touch work_logs; {@link #rebuild} is the only query that does.
+ *
+ * {@link #rebuild} is additive too: it writes the difference between the
+ * logs and the rollups as one more delta, so it never has to hold off, or
+ * wait for, the check-ins and check-outs running next to it.
+ */
+@Repository
+public class WorkLogRollupRepository {
+
+    static final String INSERT_ROLLUP =
+            "INSERT INTO work_log_rollups (project_id, laborer_id, work_date, minutes_worked, wage_total, " +
+            "active_count, pending_approval_count, approved_count, paid_count, disputed_count) ";
+
+    // Makes an INSERT_ROLLUP add its values to an existing row instead of failing
+    static final String ADD_ON_CONFLICT =
+            "ON CONFLICT (project_id, laborer_id, work_date) DO UPDATE SET " +
+            "minutes_worked = work_log_rollups.minutes_worked + EXCLUDED.minutes_worked, " +
+            "wage_total = work_log_rollups.wage_total + EXCLUDED.wage_total, " +
+            "active_count = work_log_rollups.active_count + EXCLUDED.active_count, " +
+            "pending_approval_count = work_log_rollups.pending_approval_count + EXCLUDED.pending_approval_count, " +
+            "approved_count = work_log_rollups.approved_count + EXCLUDED.approved_count, " +
+            "paid_count = work_log_rollups.paid_count + EXCLUDED.paid_count, " +
+            "disputed_count = work_log_rollups.disputed_count + EXCLUDED.disputed_count";
+
+    // Namespace for rebuild's advisory lock; the two-int key form never collides with single bigint keys
+    private static final int REBUILD_LOCK_NAMESPACE = 1_015;
+
+    // The value columns of a rollup row, in INSERT_ROLLUP order after the (project, laborer, day) key
+    private static final List<String> VALUE_COLUMNS = List.of("minutes_worked", "wage_total", "active_count",
+            "pending_approval_count", "approved_count", "paid_count", "disputed_count");
+
+    // Column order must match mapRow()
+    private static final String SUMMARY_COLUMNS =
+            "r.project_id, p.name, r.laborer_id, l.first_name, l.last_name, r.work_date, r.minutes_worked, " +
+            "r.wage_total, r.active_count, r.pending_approval_count, r.approved_count, r.paid_count, r.disputed_count";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Adds one log's change to its day's rollup: minutes and wage are added,
+     * and the log moves from one status count to another. A null {@code from}
+     * means the log is new.
+     */
+    public void apply(Long projectId, Long laborerId, LocalDate workDate, long minutes, BigDecimal wage,
+                      WorkLog.WorkStatus from, WorkLog.WorkStatus to) {
+        int[] counts = new int[WorkLog.WorkStatus.values().length];
+        if (from != null) {
+            counts[from.ordinal()]--;
+        }
+        counts[to.ordinal()]++;
+
+        String sql = INSERT_ROLLUP +
+                     "VALUES (:projectId, :laborerId, :workDate, :minutes, :wage, " +
+                     ":active, :pendingApproval, :approved, :paid, :disputed) " +
+                     ADD_ON_CONFLICT;
+
+        entityManager.createNativeQuery(sql)
+                .setParameter("projectId", projectId)
+                .setParameter("laborerId", laborerId)
+                .setParameter("workDate", workDate)
+                .setParameter("minutes", minutes)
+                .setParameter("wage", wage != null ? wage : BigDecimal.ZERO)
+                .setParameter("active", counts[WorkLog.WorkStatus.ACTIVE.ordinal()])
+                .setParameter("pendingApproval", counts[WorkLog.WorkStatus.PENDING_APPROVAL.ordinal()])
+                .setParameter("approved", counts[WorkLog.WorkStatus.APPROVED.ordinal()])
+                .setParameter("paid", counts[WorkLog.WorkStatus.PAID.ordinal()])
+                .setParameter("disputed", counts[WorkLog.WorkStatus.DISPUTED.ordinal()])
+                .executeUpdate();
+    }
+
+    /**
+     * Rollup rows for the contractor's projects, by day then project and laborer.
+     * Dates are inclusive; any null filter is ignored.
+     */
+    public List<WorkSummaryRow> findContractorSummary(Long contractorId, Long projectId, LocalDate from, LocalDate to) {
+        return findSummary("p.contractor_id", contractorId, projectId, from, to);
+    }
+
+    /**
+     * A laborer's own rollup rows across projects.
+     */
+    public List<WorkSummaryRow> findLaborerSummary(Long laborerId, Long projectId, LocalDate from, LocalDate to) {
+        return findSummary("r.laborer_id", laborerId, projectId, from, to);
+    }
+
+    /**
+     * Brings the rollups of the contractor's projects back in line with their
+     * raw logs. Returns the number of rollup rows it had to correct.
+     *
+     * The logs and the rollups are read in one statement, so under one
+     * snapshot, and only their difference is added to each row. A check-out
+     * that commits while this runs is either in both sides of that difference
+     * or in neither, and its own delta lands on top either way, so check-ins
+     * and check-outs never wait for a rebuild to finish. Rows left with no
+     * logs behind them are then removed.
+     *
+     * Two rebuilds of the same contractor would each add the same correction,
+     * so a second one is refused while the first is running.
+     */
+    public int rebuild(Long contractorId) {
+        Object locked = entityManager.createNativeQuery("SELECT pg_try_advisory_xact_lock(:namespace, :contractorId)")
+                .setParameter("namespace", REBUILD_LOCK_NAMESPACE)
+                .setParameter("contractorId", Math.toIntExact(contractorId))
+                .getSingleResult();
+        if (!Boolean.TRUE.equals(locked)) {
+            throw new IllegalStateException("The work summary is already being rebuilt; please retry shortly.");
+        }
+
+        String sql = "WITH truth AS (" +
+                     "SELECT w.project_id, w.laborer_id, CAST(w.check_in_time AS date) AS work_date, " +
+                     // Same truncation as Duration.toMinutes() in WorkLogService
+                     "COALESCE(SUM(FLOOR(EXTRACT(EPOCH FROM (w.check_out_time - w.check_in_time)) / 60)), 0) AS minutes_worked, " +
+                     "COALESCE(SUM(w.wage_earned), 0) AS wage_total, " +
+                     "COUNT(*) FILTER (WHERE w.status = 'ACTIVE') AS active_count, " +
+                     "COUNT(*) FILTER (WHERE w.status = 'PENDING_APPROVAL') AS pending_approval_count, " +
+                     "COUNT(*) FILTER (WHERE w.status = 'APPROVED') AS approved_count, " +
+                     "COUNT(*) FILTER (WHERE w.status = 'PAID') AS paid_count, " +
+                     "COUNT(*) FILTER (WHERE w.status = 'DISPUTED') AS disputed_count " +
+                     "FROM work_logs w JOIN projects p ON p.id = w.project_id " +
+                     "WHERE p.contractor_id = :contractorId " +
+                     "GROUP BY w.project_id, w.laborer_id, CAST(w.check_in_time AS date)" +
+                     "), held AS (" +
+                     "SELECT r.* FROM work_log_rollups r JOIN projects p ON p.id = r.project_id " +
+                     "WHERE p.contractor_id = :contractorId" +
+                     "), drift AS (" +
+                     "SELECT COALESCE(t.project_id, h.project_id) AS project_id, " +
+                     "COALESCE(t.laborer_id, h.laborer_id) AS laborer_id, " +
+                     "COALESCE(t.work_date, h.work_date) AS work_date, " +
+                     joinValues(column -> "COALESCE(t." + column + ", 0) - COALESCE(h." + column + ", 0) AS " + column) +
+                     " FROM truth t FULL JOIN held h ON h.project_id = t.project_id " +
+                     "AND h.laborer_id = t.laborer_id AND h.work_date = t.work_date" +
+                     ") " + INSERT_ROLLUP +
+                     "SELECT project_id, laborer_id, work_date, " + joinValues(column -> column) + " FROM drift " +
+                     "WHERE " + String.join(" OR ", VALUE_COLUMNS.stream().map(column -> column + " <> 0").toList()) +
+                     " " + ADD_ON_CONFLICT;
+        int corrected = entityManager.createNativeQuery(sql)
+                .setParameter("contractorId", contractorId)
+                .executeUpdate();
+
+        // The DELETE re-checks rows a concurrent delta touched, so a row that just got a log again stays
+        entityManager.createNativeQuery(
+                        "DELETE FROM work_log_rollups r USING projects p " +
+                        "WHERE p.id = r.project_id AND p.contractor_id = :contractorId AND " +
+                        String.join(" AND ", VALUE_COLUMNS.stream().map(column -> "r." + column + " = 0").toList()))
+                .setParameter("contractorId", contractorId)
+                .executeUpdate();
+        return corrected;
+    }
+
+    // --- Helper Methods ---
+
+    private static String joinValues(UnaryOperator<String> expression) {
+        return String.join(", ", VALUE_COLUMNS.stream().map(expression).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WorkSummaryRow> findSummary(String ownerColumn, Long ownerId, Long projectId,
+                                             LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(SUMMARY_COLUMNS).append(" FROM work_log_rollups r ")
+                .append("JOIN projects p ON p.id = r.project_id ")
+                .append("JOIN users l ON l.id = r.laborer_id ")
+                .append("WHERE ").append(ownerColumn).append(" = :ownerId ");
+        if (projectId != null) {
+            sql.append("AND r.project_id = :projectId ");
+        }
+        if (from != null) {
+            sql.append("AND r.work_date >= :from ");
+        }
+        if (to != null) {
+            sql.append("AND r.work_date <= :to ");
+        }
+        sql.append("ORDER BY r.work_date DESC, r.project_id, r.laborer_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter("ownerId", ownerId);
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        return ((List<Object[]>) query.getResultList()).stream()
+                .map(WorkLogRollupRepository::mapRow)
+                .toList();
+    }
+
+    private static WorkSummaryRow mapRow(Object[] r) {
+        return WorkSummaryRow.builder()
+                .projectId(NativeRows.toLong(r[0]))
+                .projectName((String) r[1])
+                .laborerId(NativeRows.toLong(r[2]))
+                .laborerName(r[3] + " " + r[4])
+                .workDate(NativeRows.toLocalDate(r[5]))
+                .minutesWorked(NativeRows.toLong(r[6]))
+                .wageTotal((BigDecimal) r[7])
+                .activeCount(((Number) r[8]).intValue())
+                .pendingApprovalCount(((Number) r[9]).intValue())
+                .approvedCount(((Number) r[10]).intValue())
+                .paidCount(((Number) r[11]).intValue())
+                .disputedCount(((Number) r[12]).intValue())
+                .build();
+    }
+}
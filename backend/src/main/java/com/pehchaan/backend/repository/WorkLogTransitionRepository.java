@@ -0,0 +1,79 @@
+package com.pehchaan.backend.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Set-based work-log status changes.
+ *
+ * Like GigTransitionRepository, ownership and the expected current status are
+ * checked in the WHERE clause, so whatever the statement didn't touch was
+ * either not the caller's or not in the right state. The matching rollup
+ * rows are adjusted in the same statement.
+ */
+@Repository
+public class WorkLogTransitionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Approves the contractor's PENDING_APPROVAL logs among {@code logIds}. Returns the ids it approved.
+     */
+    public List<Long> approvePendingByIds(Long contractorId, Collection<Long> logIds) {
+        return approvePending("AND w.id IN (:logIds) ", contractorId, query -> query.setParameter("logIds", logIds));
+    }
+
+    /**
+     * Approves every PENDING_APPROVAL log of one of the contractor's projects,
+     * optionally limited to check-in days between from and to (inclusive).
+     */
+    public List<Long> approvePendingByProject(Long contractorId, Long projectId, LocalDate from, LocalDate to) {
+        StringBuilder filter = new StringBuilder("AND w.project_id = :projectId ");
+        if (from != null) {
+            filter.append("AND w.check_in_time >= :from ");
+        }
+        if (to != null) {
+            filter.append("AND w.check_in_time < :toExclusive ");
+        }
+        return approvePending(filter.toString(), contractorId, query -> {
+            query.setParameter("projectId", projectId);
+            if (from != null) {
+                query.setParameter("from", from.atStartOfDay());
+            }
+            if (to != null) {
+                query.setParameter("toExclusive", to.plusDays(1).atStartOfDay());
+            }
+        });
+    }
+
+    // --- Helper Methods ---
+
+    @SuppressWarnings("unchecked")
+    private List<Long> approvePending(String filter, Long contractorId, Consumer<Query> binder) {
+        String sql = "WITH approved AS (" +
+                     "UPDATE work_logs w SET status = 'APPROVED' FROM projects p " +
+                     "WHERE p.id = w.project_id AND p.contractor_id = :contractorId " +
+                     "AND w.status = 'PENDING_APPROVAL' " + filter +
+                     "RETURNING w.id, w.project_id, w.laborer_id, w.check_in_time" +
+                     "), rolled_up AS (" +
+                     WorkLogRollupRepository.INSERT_ROLLUP +
+                     "SELECT project_id, laborer_id, CAST(check_in_time AS date), 0, 0, 0, -COUNT(*), COUNT(*), 0, 0 " +
+                     "FROM approved GROUP BY project_id, laborer_id, CAST(check_in_time AS date) " +
+                     WorkLogRollupRepository.ADD_ON_CONFLICT +
+                     ") SELECT id FROM approved ORDER BY id";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("contractorId", contractorId);
+        binder.accept(query);
+        return ((List<Number>) query.getResultList()).stream().map(Number::longValue).toList();
+    }
+}
@@ -1,7 +1,10 @@
 package com.pehchaan.backend.repository;
 
+import com.pehchaan.backend.dto.assignment.WorkerSearchQuery;
+import com.pehchaan.backend.dto.common.RatingCursor;
 import com.pehchaan.backend.entity.User;
 import com.pehchaan.backend.entity.Role; 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -9,6 +12,10 @@ import jakarta.persistence.TypedQuery;
 import org.locationtech.jts.geom.Point; 
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public class WorkerSearchRepository {
@@ -16,33 +23,109 @@ public class WorkerSearchRepository {
     @PersistenceContext
     private EntityManager entityManager;
 
-    public List<User> searchWorkersBySkill(String skill) {
-        String jpql = "SELECT u FROM User u JOIN u.skills s WHERE u.role = :role AND UPPER(s) = UPPER(:skill)";
+    /**
+     * SQL fallback for contractor worker search while LaborerSkillIndex warms up.
+     * Same filters and (rating DESC, id) keyset order as the index; skills are
+     * fetched in a second query so nothing lazy-loads while mapping.
+     */
+    @SuppressWarnings("unchecked")
+    public List<User> searchWorkers(WorkerSearchQuery search, RatingCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT u.id FROM users u WHERE u.role = 'ROLE_LABOR' ");
+        if (search.availableOnly()) {
+            sql.append("AND u.status = 'AVAILABLE' ");
+        }
+        if (search.verifiedOnly()) {
+            sql.append("AND u.is_verified = true ");
+        }
+        if (search.minRating() != null) {
+            sql.append("AND u.rating >= :minRating ");
+        }
+        if (!search.skills().isEmpty()) {
+            sql.append(search.matchAll()
+                    ? "AND (SELECT COUNT(DISTINCT UPPER(s.skill)) FROM user_skills s " +
+                      "WHERE s.user_id = u.id AND UPPER(s.skill) IN (:skills)) = :skillCount "
+                    : "AND EXISTS (SELECT 1 FROM user_skills s WHERE s.user_id = u.id AND UPPER(s.skill) IN (:skills)) ");
+        }
+        sql.append("AND (COALESCE(u.rating, -1) < :cursorRating " +
+                   "OR (COALESCE(u.rating, -1) = :cursorRating AND u.id > :cursorId)) " +
+                   "ORDER BY COALESCE(u.rating, -1) DESC, u.id LIMIT :limit");
+
+        Query idQuery = entityManager.createNativeQuery(sql.toString());
+        if (search.minRating() != null) {
+            idQuery.setParameter("minRating", search.minRating());
+        }
+        if (!search.skills().isEmpty()) {
+            idQuery.setParameter("skills", search.skills());
+            if (search.matchAll()) {
+                idQuery.setParameter("skillCount", search.skills().size());
+            }
+        }
+        idQuery.setParameter("cursorRating", after.rating());
+        idQuery.setParameter("cursorId", after.id());
+        idQuery.setParameter("limit", limit);
+        List<Long> ids = ((List<Number>) idQuery.getResultList()).stream().map(Number::longValue).toList();
+        return fetchWithSkills(ids);
+    }
+
+    /**
+     * Every laborer with skills fetched in the same query. Used to warm LaborerSkillIndex.
+     */
+    public List<User> findAllLaborersWithSkills() {
+        String jpql = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.skills WHERE u.role = :role";
         TypedQuery<User> query = entityManager.createQuery(jpql, User.class);
-        query.setParameter("role", Role.ROLE_LABOR); 
-        query.setParameter("skill", skill);
+        query.setParameter("role", Role.ROLE_LABOR);
         return query.getResultList();
     }
 
     /**
-     * ✅ FIXED: Switched to ordinal parameters ?1 and ?2.
-     * ?1 maps to the first method argument (consumerLocation).
-     * ?2 maps to the second method argument (skill).
+     * Loads every laborer that can appear in nearby search, with skills fetched
+     * in the same query. Used to warm the in-memory geo index at startup.
+     */
+    public List<User> findAvailableLaborersWithLocation() {
+        String jpql = "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.skills " +
+                      "WHERE u.role = :role AND u.status = 'AVAILABLE' AND u.currentLocation IS NOT NULL";
+        TypedQuery<User> query = entityManager.createQuery(jpql, User.class);
+        query.setParameter("role", Role.ROLE_LABOR);
+        return query.getResultList();
+    }
+
+    /**
+     * Nearest AVAILABLE laborers with the skill within radiusMeters of the point,
+     * closest first. Skills are fetched in a second query, as in searchWorkers.
      */
     @SuppressWarnings("unchecked")
-    public List<User> findNearbyAvailableWorkers(Point consumerLocation, String skill) {
-    String sql = "SELECT * FROM users u " +
+    @Timed(value = "workers.nearby.query", histogram = true)
+    public List<User> findNearbyAvailableWorkers(Point location, String skill, double radiusMeters, int limit) {
+        String sql = "SELECT u.id FROM users u " +
                      "WHERE u.role = 'ROLE_LABOR' " +
                      "AND u.status = 'AVAILABLE' " +
-                     "AND EXISTS (SELECT 1 FROM user_skills s WHERE s.user_id = u.id AND UPPER(s.skill) = UPPER(?2)) " +
-                     "AND ST_DWithin(CAST(u.current_location AS geography), CAST(?1 AS geography), 5000) " +
-                     "ORDER BY ST_Distance(CAST(u.current_location AS geography), CAST(?1 AS geography)) " +
-                     "LIMIT 10";
-
-        Query query = entityManager.createNativeQuery(sql, User.class);
-        query.setParameter(1, consumerLocation); // ✅ ?1
-        query.setParameter(2, skill); // ✅ ?2
-        
-        return query.getResultList();
+                     "AND EXISTS (SELECT 1 FROM user_skills s WHERE s.user_id = u.id AND UPPER(s.skill) = UPPER(:skill)) " +
+                     "AND ST_DWithin(CAST(u.current_location AS geography), CAST(:location AS geography), :radius) " +
+                     "ORDER BY ST_Distance(CAST(u.current_location AS geography), CAST(:location AS geography)), u.id " +
+                     "LIMIT :limit";
+
+        Query idQuery = entityManager.createNativeQuery(sql);
+        idQuery.setParameter("location", location);
+        idQuery.setParameter("skill", skill);
+        idQuery.setParameter("radius", radiusMeters);
+        idQuery.setParameter("limit", limit);
+        List<Long> ids = ((List<Number>) idQuery.getResultList()).stream().map(Number::longValue).toList();
+        return fetchWithSkills(ids);
+    }
+
+    // --- Helper Methods ---
+
+    // Loads the users with their skills, in the order of ids
+    private List<User> fetchWithSkills(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> byId = entityManager.createQuery(
+                        "SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.skills WHERE u.id IN :ids", User.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
\ No newline at end of file
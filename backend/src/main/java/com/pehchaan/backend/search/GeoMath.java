@@ -0,0 +1,37 @@
+package com.pehchaan.backend.search;
+
+/**
+ * Small spherical-earth helpers for working with WGS 84 (SRID 4326) coordinates in memory.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    public static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Great-circle distance in meters (haversine formula).
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * How many degrees of longitude span the given distance at this latitude.
+     */
+    public static double metersToLonDegrees(double meters, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return cos < 1e-6 ? 360.0 : meters / (METERS_PER_DEGREE_LAT * cos);
+    }
+
+    public static double metersToLatDegrees(double meters) {
+        return meters / METERS_PER_DEGREE_LAT;
+    }
+}
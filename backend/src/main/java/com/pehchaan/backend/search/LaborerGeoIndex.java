@@ -0,0 +1,292 @@
+package com.pehchaan.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.repository.WorkerSearchRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process spatial index of AVAILABLE laborers, used by the consumer's
+ * "Find a Plumber" search instead of a PostGIS query.
+ *
+ * Laborers are bucketed into fixed-size lat/lon grid cells, one grid per skill.
+ * Each cell keeps its members in primitive arrays that are swapped copy-on-write,
+ * so readers never lock and a k-nearest lookup only scans the handful of cells
+ * that overlap the search radius.
+ *
+ * The index is rebuilt from the users table once the app is ready and is then
+ * kept current through {@link LaborerUpdatedEvent}s. Until the rebuild finishes
+ * {@link #isWarm()} is false and callers should fall back to the SQL search.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LaborerGeoIndex {
+
+    // ~2.2 km of latitude per cell, so a 5 km search touches about 6x6 cells.
+    private static final double CELL_DEGREES = 0.02;
+
+    private final WorkerSearchRepository workerSearchRepository;
+
+    @Value("${workers.geo-index.enabled:true}")
+    private boolean enabled;
+
+    // userId -> what we currently have indexed for that user
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // SKILL -> (cell key -> cell)
+    private final Map<String, Map<Long, Cell>> cellsBySkill = new ConcurrentHashMap<>();
+
+    // Users updated while a rebuild is running; the rebuild must not overwrite them with stale rows.
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean warm;
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            log.info("Laborer geo index is disabled; nearby search will use PostGIS.");
+            return;
+        }
+        Thread.ofVirtual().name("laborer-geo-index-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Reloads every searchable laborer from the database.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        try {
+            List<LaborerSnapshot> laborers = workerSearchRepository.findAvailableLaborersWithLocation()
+                    .stream()
+                    .map(LaborerSnapshot::fromEntity)
+                    .toList();
+            for (LaborerSnapshot snapshot : laborers) {
+                entries.compute(snapshot.id(), (id, current) ->
+                        touchedDuringRebuild.contains(id) ? current : apply(current, snapshot));
+            }
+            warm = true;
+            log.info("Laborer geo index warmed with {} laborers.", entries.size());
+        } catch (RuntimeException e) {
+            log.warn("Laborer geo index rebuild failed; nearby search stays on PostGIS.", e);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    @EventListener
+    public void onLaborerUpdated(LaborerUpdatedEvent event) {
+        update(event.snapshot());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLaborerStatusChanged(LaborerStatusChangedEvent event) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(event.laborerId());
+        }
+        // We can only drop or re-label someone we already hold; a status alone can't place them on the grid
+        entries.computeIfPresent(event.laborerId(),
+                (id, current) -> apply(current, current.snapshot.withStatus(event.status())));
+    }
+
+    /**
+     * Inserts, moves or removes a laborer depending on whether they are still searchable.
+     */
+    public void update(LaborerSnapshot snapshot) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(snapshot.id());
+        }
+        entries.compute(snapshot.id(), (id, current) -> apply(current, snapshot));
+    }
+
+    /**
+     * Finds up to {@code limit} laborers with the given skill within {@code radiusMeters},
+     * nearest first.
+     */
+    public List<LaborerSnapshot> findNearest(String skill, double latitude, double longitude,
+                                             double radiusMeters, int limit) {
+        Map<Long, Cell> cells = cellsBySkill.get(normalizeSkill(skill));
+        if (cells == null || limit <= 0) {
+            return List.of();
+        }
+
+        double latSpan = GeoMath.metersToLatDegrees(radiusMeters);
+        double lonSpan = GeoMath.metersToLonDegrees(radiusMeters, latitude);
+        int minLat = cellIndex(latitude - latSpan, 90);
+        int maxLat = cellIndex(latitude + latSpan, 90);
+        int minLon = cellIndex(longitude - lonSpan, 180);
+        int maxLon = cellIndex(longitude + lonSpan, 180);
+
+        // Bounded "top k" kept sorted by distance with insertion sort; k is small (10).
+        long[] bestIds = new long[limit];
+        double[] bestDistances = new double[limit];
+        int found = 0;
+
+        for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+            for (int lonIdx = minLon; lonIdx <= maxLon; lonIdx++) {
+                Cell cell = cells.get(cellKey(latIdx, lonIdx));
+                if (cell == null) {
+                    continue;
+                }
+                Points points = cell.points;
+                for (int i = 0; i < points.ids.length; i++) {
+                    double distance = GeoMath.distanceMeters(latitude, longitude, points.lats[i], points.lons[i]);
+                    if (distance > radiusMeters || (found == limit && distance >= bestDistances[limit - 1])) {
+                        continue;
+                    }
+                    int pos = found < limit ? found++ : limit - 1;
+                    while (pos > 0 && bestDistances[pos - 1] > distance) {
+                        bestDistances[pos] = bestDistances[pos - 1];
+                        bestIds[pos] = bestIds[pos - 1];
+                        pos--;
+                    }
+                    bestDistances[pos] = distance;
+                    bestIds[pos] = points.ids[i];
+                }
+            }
+        }
+
+        List<LaborerSnapshot> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            Entry entry = entries.get(bestIds[i]);
+            if (entry != null) {
+                result.add(entry.snapshot);
+            }
+        }
+        return result;
+    }
+
+    // --- Helper Methods ---
+
+    // Runs inside entries.compute(), so updates for the same user never interleave.
+    private Entry apply(Entry current, LaborerSnapshot snapshot) {
+        if (current != null) {
+            for (String skill : current.skills) {
+                Map<Long, Cell> cells = cellsBySkill.get(skill);
+                Cell cell = cells != null ? cells.get(current.cellKey) : null;
+                if (cell != null) {
+                    cell.remove(snapshot.id());
+                }
+            }
+        }
+        if (!snapshot.isSearchable()) {
+            return null;
+        }
+
+        double lat = snapshot.latitude();
+        double lon = snapshot.longitude();
+        long key = cellKey(cellIndex(lat, 90), cellIndex(lon, 180));
+        Set<String> skills = normalizeSkills(snapshot.skills());
+        for (String skill : skills) {
+            cellsBySkill.computeIfAbsent(skill, s -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key, k -> new Cell())
+                    .put(snapshot.id(), lat, lon);
+        }
+        return new Entry(snapshot, key, skills);
+    }
+
+    private static int cellIndex(double degrees, double offset) {
+        return (int) Math.floor((degrees + offset) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private static String normalizeSkill(String skill) {
+        return skill == null ? "" : skill.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalizeSkills(Set<String> skills) {
+        Set<String> normalized = new HashSet<>();
+        for (String skill : skills) {
+            if (skill != null && !skill.isBlank()) {
+                normalized.add(normalizeSkill(skill));
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+
+    private record Entry(LaborerSnapshot snapshot, long cellKey, Set<String> skills) {
+    }
+
+    private record Points(long[] ids, double[] lats, double[] lons) {
+        static final Points EMPTY = new Points(new long[0], new double[0], new double[0]);
+    }
+
+    /**
+     * One grid cell. Writers copy the arrays under the cell's monitor;
+     * readers just grab the current {@link Points} reference.
+     */
+    private static final class Cell {
+
+        private volatile Points points = Points.EMPTY;
+
+        synchronized void put(long id, double lat, double lon) {
+            Points current = points;
+            int n = current.ids.length;
+            for (int i = 0; i < n; i++) {
+                if (current.ids[i] == id) {
+                    long[] ids = current.ids.clone();
+                    double[] lats = current.lats.clone();
+                    double[] lons = current.lons.clone();
+                    lats[i] = lat;
+                    lons[i] = lon;
+                    points = new Points(ids, lats, lons);
+                    return;
+                }
+            }
+            long[] ids = Arrays.copyOf(current.ids, n + 1);
+            double[] lats = Arrays.copyOf(current.lats, n + 1);
+            double[] lons = Arrays.copyOf(current.lons, n + 1);
+            ids[n] = id;
+            lats[n] = lat;
+            lons[n] = lon;
+            points = new Points(ids, lats, lons);
+        }
+
+        synchronized void remove(long id) {
+            Points current = points;
+            int n = current.ids.length;
+            for (int i = 0; i < n; i++) {
+                if (current.ids[i] == id) {
+                    long[] ids = new long[n - 1];
+                    double[] lats = new double[n - 1];
+                    double[] lons = new double[n - 1];
+                    System.arraycopy(current.ids, 0, ids, 0, i);
+                    System.arraycopy(current.lats, 0, lats, 0, i);
+                    System.arraycopy(current.lons, 0, lons, 0, i);
+                    System.arraycopy(current.ids, i + 1, ids, i, n - i - 1);
+                    System.arraycopy(current.lats, i + 1, lats, i, n - i - 1);
+                    System.arraycopy(current.lons, i + 1, lons, i, n - i - 1);
+                    points = new Points(ids, lats, lons);
+                    return;
+                }
+            }
+        }
+    }
+}
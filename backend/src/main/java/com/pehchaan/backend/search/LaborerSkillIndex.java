@@ -0,0 +1,295 @@
+package com.pehchaan.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.dto.assignment.WorkerSearchQuery;
+import com.pehchaan.backend.dto.common.RatingCursor;
+import com.pehchaan.backend.repository.WorkerSearchRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inverted index over laborers for the contractor's worker search.
+ *
+ * Every laborer id is posted into compressed (Roaring) bitmaps: one per skill,
+ * one each for AVAILABLE and verified, one per whole-star rating bucket, and
+ * one for the laborer role itself. A query is a handful of bitmap AND/ORs;
+ * results are then read bucket by bucket from the highest rating down, so a
+ * page is usually filled without touching most of the matches.
+ *
+ * Like {@link LaborerGeoIndex}, it is rebuilt from the database once the app
+ * is ready and kept current from laborer events; until then
+ * {@link #isWarm()} is false and callers fall back to SQL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LaborerSkillIndex {
+
+    // floor(rating) for 0..5 stars; unrated laborers live in bucket 0
+    private static final int RATING_BUCKETS = 6;
+
+    private final WorkerSearchRepository workerSearchRepository;
+
+    @Value("${workers.skill-index.enabled:true}")
+    private boolean enabled;
+
+    // Snapshots are swapped without the lock; the bitmaps below are guarded by it
+    private final Map<Integer, LaborerSnapshot> laborers = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap allLaborers = new RoaringBitmap();
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final RoaringBitmap verified = new RoaringBitmap();
+    private final RoaringBitmap[] ratingBuckets = new RoaringBitmap[RATING_BUCKETS];
+    private final Map<String, RoaringBitmap> bySkill = new HashMap<>();
+
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean warm;
+
+    {
+        for (int i = 0; i < RATING_BUCKETS; i++) {
+            ratingBuckets[i] = new RoaringBitmap();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public int size() {
+        return laborers.size();
+    }
+
+    /**
+     * The held snapshot of this laborer, or null if the index doesn't have them (yet).
+     */
+    public LaborerSnapshot find(Long laborerId) {
+        return laborers.get(toIndexId(laborerId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            log.info("Laborer skill index is disabled; worker search will use SQL.");
+            return;
+        }
+        Thread.ofVirtual().name("laborer-skill-index-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Reloads every laborer from the database.
+     */
+    public void rebuild() {
+        rebuilding = true;
+        try {
+            List<LaborerSnapshot> snapshots = workerSearchRepository.findAllLaborersWithSkills()
+                    .stream()
+                    .map(LaborerSnapshot::fromEntity)
+                    .toList();
+            for (LaborerSnapshot snapshot : snapshots) {
+                if (!touchedDuringRebuild.contains(snapshot.id())) {
+                    update(snapshot);
+                }
+            }
+            warm = true;
+            log.info("Laborer skill index warmed with {} laborers.", laborers.size());
+        } catch (RuntimeException e) {
+            log.warn("Laborer skill index rebuild failed; worker search stays on SQL.", e);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    @EventListener
+    public void onLaborerUpdated(LaborerUpdatedEvent event) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(event.snapshot().id());
+        }
+        update(event.snapshot());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLaborerStatusChanged(LaborerStatusChangedEvent event) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(event.laborerId());
+        }
+        LaborerSnapshot current = laborers.get(toIndexId(event.laborerId()));
+        if (current != null) {
+            update(current.withStatus(event.status()));
+        }
+    }
+
+    public void update(LaborerSnapshot snapshot) {
+        int id = toIndexId(snapshot.id());
+        lock.writeLock().lock();
+        try {
+            LaborerSnapshot previous = laborers.put(id, snapshot);
+            // GPS pings are most updates and change nothing we post
+            if (previous != null && samePostings(previous, snapshot)) {
+                return;
+            }
+            if (previous != null) {
+                unpost(id, previous);
+            }
+            post(id, snapshot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * One page of matches, sorted by rating (highest first, unrated last) then id.
+     * Returns up to {@code limit + 1} rows so the caller can tell whether there is a next page.
+     */
+    public List<LaborerSnapshot> search(WorkerSearchQuery query, RatingCursor after, int limit) {
+        RoaringBitmap matches = matching(query);
+        double minRating = query.minRating() != null ? query.minRating() : Double.NEGATIVE_INFINITY;
+        int fromBucket = Math.min(bucketOf(after.rating()), RATING_BUCKETS - 1);
+        int lowestBucket = query.minRating() != null ? bucketOf(minRating) : 0;
+
+        Comparator<LaborerSnapshot> order = Comparator
+                .comparingDouble((LaborerSnapshot s) -> RatingCursor.sortRating(s.rating())).reversed()
+                .thenComparingLong(LaborerSnapshot::id);
+
+        List<LaborerSnapshot> page = new ArrayList<>(limit + 1);
+        for (int bucket = fromBucket; bucket >= lowestBucket && page.size() <= limit; bucket--) {
+            RoaringBitmap inBucket;
+            lock.readLock().lock();
+            try {
+                inBucket = RoaringBitmap.and(matches, ratingBuckets[bucket]);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<LaborerSnapshot> rows = new ArrayList<>(inBucket.getCardinality());
+            IntIterator ids = inBucket.getIntIterator();
+            while (ids.hasNext()) {
+                LaborerSnapshot snapshot = laborers.get(ids.next());
+                if (snapshot == null) {
+                    continue;
+                }
+                double rating = RatingCursor.sortRating(snapshot.rating());
+                if (rating >= minRating && after.isBefore(rating, snapshot.id())) {
+                    rows.add(snapshot);
+                }
+            }
+            rows.sort(order);
+            for (int i = 0; i < rows.size() && page.size() <= limit; i++) {
+                page.add(rows.get(i));
+            }
+        }
+        return page;
+    }
+
+    // --- Helper Methods ---
+
+    private RoaringBitmap matching(WorkerSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result;
+            if (query.skills().isEmpty()) {
+                result = allLaborers.clone();
+            } else {
+                List<RoaringBitmap> postings = new ArrayList<>();
+                for (String skill : query.skills()) {
+                    RoaringBitmap posting = bySkill.get(skill);
+                    if (posting != null) {
+                        postings.add(posting);
+                    } else if (query.matchAll()) {
+                        return new RoaringBitmap(); // Nobody has this skill
+                    }
+                }
+                if (postings.isEmpty()) {
+                    return new RoaringBitmap();
+                }
+                result = query.matchAll()
+                        ? FastAggregation.and(postings.iterator())
+                        : FastAggregation.or(postings.iterator());
+            }
+            if (query.availableOnly()) {
+                result.and(available);
+            }
+            if (query.verifiedOnly()) {
+                result.and(verified);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void post(int id, LaborerSnapshot snapshot) {
+        allLaborers.add(id);
+        if (LaborerSnapshot.STATUS_AVAILABLE.equals(snapshot.status())) {
+            available.add(id);
+        }
+        if (Boolean.TRUE.equals(snapshot.isVerified())) {
+            verified.add(id);
+        }
+        ratingBuckets[bucketOf(RatingCursor.sortRating(snapshot.rating()))].add(id);
+        for (String skill : snapshot.skills()) {
+            bySkill.computeIfAbsent(normalizeSkill(skill), key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    // Caller holds the write lock
+    private void unpost(int id, LaborerSnapshot snapshot) {
+        allLaborers.remove(id);
+        available.remove(id);
+        verified.remove(id);
+        ratingBuckets[bucketOf(RatingCursor.sortRating(snapshot.rating()))].remove(id);
+        for (String skill : snapshot.skills()) {
+            String key = normalizeSkill(skill);
+            RoaringBitmap posting = bySkill.get(key);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    bySkill.remove(key);
+                }
+            }
+        }
+    }
+
+    private static boolean samePostings(LaborerSnapshot a, LaborerSnapshot b) {
+        return Objects.equals(a.status(), b.status())
+                && Objects.equals(a.isVerified(), b.isVerified())
+                && Objects.equals(a.rating(), b.rating())
+                && Objects.equals(a.skills(), b.skills());
+    }
+
+    private static int bucketOf(double rating) {
+        return Math.max(0, Math.min(RATING_BUCKETS - 1, (int) Math.floor(rating)));
+    }
+
+    private static int toIndexId(Long id) {
+        return Math.toIntExact(id); // Roaring bitmaps hold 32-bit ids
+    }
+
+    private static String normalizeSkill(String skill) {
+        return skill.trim().toUpperCase(Locale.ROOT);
+    }
+}
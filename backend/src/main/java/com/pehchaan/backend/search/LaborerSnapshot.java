@@ -0,0 +1,78 @@
+package com.pehchaan.backend.search;
+
+import java.util.Set;
+
+import com.pehchaan.backend.dto.profile.ProfileResponse;
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
+
+/**
+ * An immutable copy of the laborer fields the in-memory search indexes need.
+ * Holding a snapshot (instead of the JPA entity) lets us answer searches
+ * without touching the database or a Hibernate session.
+ */
+public record LaborerSnapshot(
+        Long id,
+        String phone,
+        String firstName,
+        String lastName,
+        Double rating,
+        Boolean isVerified,
+        String status,
+        Set<String> skills,
+        Double latitude,
+        Double longitude
+) {
+
+    public static final String STATUS_AVAILABLE = "AVAILABLE";
+
+    public static LaborerSnapshot fromEntity(User user) {
+        return new LaborerSnapshot(
+                user.getId(),
+                user.getPhone(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRating(),
+                user.getIsVerified(),
+                user.getStatus(),
+                user.getSkills() != null ? Set.copyOf(user.getSkills()) : Set.of(),
+                user.getCurrentLocation() != null ? user.getCurrentLocation().getY() : null, // Lat is Y
+                user.getCurrentLocation() != null ? user.getCurrentLocation().getX() : null  // Lon is X
+        );
+    }
+
+    /**
+     * A laborer shows up in nearby search only when they are AVAILABLE,
+     * have shared a location and have at least one skill.
+     */
+    public boolean isSearchable() {
+        return STATUS_AVAILABLE.equals(status)
+                && latitude != null
+                && longitude != null
+                && !skills.isEmpty();
+    }
+
+    public LaborerSnapshot withLocation(Double latitude, Double longitude) {
+        return new LaborerSnapshot(id, phone, firstName, lastName, rating, isVerified, status, skills, latitude, longitude);
+    }
+
+    public LaborerSnapshot withStatus(String status) {
+        return new LaborerSnapshot(id, phone, firstName, lastName, rating, isVerified, status, skills, latitude, longitude);
+    }
+
+    public ProfileResponse toProfileResponse() {
+        return ProfileResponse.builder()
+                .id(id)
+                .phone(phone)
+                .role(Role.ROLE_LABOR)
+                .firstName(firstName)
+                .lastName(lastName)
+                .rating(rating)
+                .isVerified(isVerified)
+                .status(status)
+                .skills(skills)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
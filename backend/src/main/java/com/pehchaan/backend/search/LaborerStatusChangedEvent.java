@@ -0,0 +1,11 @@
+package com.pehchaan.backend.search;
+
+/**
+ * Published when only a laborer's availability changed (e.g. they accepted a gig)
+ * and the caller did not load the full user to build a {@link LaborerSnapshot}.
+ *
+ * It is published inside the transaction that changed the status, so the search
+ * indexes listen AFTER_COMMIT: a rolled-back accept must not hide the laborer.
+ */
+public record LaborerStatusChangedEvent(Long laborerId, String status) {
+}
@@ -0,0 +1,8 @@
+package com.pehchaan.backend.search;
+
+/**
+ * Published whenever a laborer's profile, status or location changes,
+ * so the in-memory search indexes can stay current without polling the DB.
+ */
+public record LaborerUpdatedEvent(LaborerSnapshot snapshot) {
+}
@@ -0,0 +1,324 @@
+package com.pehchaan.backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.repository.WorkerSearchRepository;
+
+/**
+ * Short-lived cache of PostGIS nearby-search results, used while
+ * {@link LaborerGeoIndex} is cold or disabled.
+ *
+ * Results are cached per (skill, tile) where a tile is a fixed lat/lon square.
+ * A miss queries once from the tile's centre with the radius widened to cover
+ * the whole tile, so every caller in the tile can be answered from the same
+ * rows: they are filtered and re-ranked by exact distance from the caller's own
+ * point. Concurrent misses for a tile share a single query.
+ *
+ * An entry lives for the configured TTL, the cache holds at most maxTiles
+ * entries, and a tile is dropped early when one of the laborers in it changes
+ * status or moves to another tile. Laborers who newly become available only
+ * show up once the entry expires.
+ */
+@Component
+public class NearbySearchCache {
+
+    // ~1.1 km of latitude per tile; the widened query radius is ~0.8 km more than the caller's
+    static final double TILE_DEGREES = 0.01;
+    // Rows fetched per tile, as a multiple of the caller's limit
+    private static final int CANDIDATE_FACTOR = 5;
+
+    private final WorkerSearchRepository workerSearchRepository;
+    private final GeometryFactory geometryFactory;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxTiles;
+
+    private final Map<TileKey, Entry> entries = new ConcurrentHashMap<>();
+    // laborerId -> tiles whose cached rows include them
+    private final Map<Long, Set<TileKey>> tilesByLaborer = new ConcurrentHashMap<>();
+
+    public NearbySearchCache(WorkerSearchRepository workerSearchRepository,
+                             GeometryFactory geometryFactory,
+                             @Value("${workers.nearby-cache.enabled:true}") boolean enabled,
+                             @Value("${workers.nearby-cache.ttl-ms:15000}") long ttlMs,
+                             @Value("${workers.nearby-cache.max-tiles:5000}") int maxTiles) {
+        this.workerSearchRepository = workerSearchRepository;
+        this.geometryFactory = geometryFactory;
+        this.enabled = enabled;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxTiles = maxTiles;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Up to {@code limit} AVAILABLE laborers with the skill within radiusMeters, closest first.
+     */
+    public List<LaborerSnapshot> findNearest(String skill, double latitude, double longitude,
+                                             double radiusMeters, int limit) {
+        if (!enabled) {
+            return query(skill, latitude, longitude, radiusMeters, limit);
+        }
+        TileKey key = TileKey.of(skill, latitude, longitude, radiusMeters, limit);
+        Tile tile = load(key);
+        List<LaborerSnapshot> nearest = tile.nearest(latitude, longitude, radiusMeters, limit);
+        // A truncated tile can't prove nobody closer was cut off; ask PostGIS directly
+        return nearest != null ? nearest : query(skill, latitude, longitude, radiusMeters, limit);
+    }
+
+    @EventListener
+    public void onLaborerUpdated(LaborerUpdatedEvent event) {
+        LaborerSnapshot snapshot = event.snapshot();
+        Set<TileKey> tiles = tilesByLaborer.get(snapshot.id());
+        if (tiles == null) {
+            return;
+        }
+        // GPS pings inside the tile they were cached in keep the entry
+        boolean movedOut = snapshot.latitude() == null || snapshot.longitude() == null
+                || tiles.stream().noneMatch(key -> key.contains(snapshot.latitude(), snapshot.longitude()));
+        if (!snapshot.isSearchable() || movedOut) {
+            invalidateLaborer(snapshot.id());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLaborerStatusChanged(LaborerStatusChangedEvent event) {
+        if (!LaborerSnapshot.STATUS_AVAILABLE.equals(event.status())) {
+            invalidateLaborer(event.laborerId());
+        }
+    }
+
+    public void invalidateAll() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    // --- Helper Methods ---
+
+    private Tile load(TileKey key) {
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime(), ttlNanos)) {
+                invalidate(key, entry);
+                entry = null;
+            }
+            if (entry == null) {
+                Entry created = new Entry();
+                entry = entries.putIfAbsent(key, created);
+                if (entry == null) {
+                    return lead(key, created);
+                }
+            }
+            try {
+                return entry.tile().join();
+            } catch (CompletionException e) {
+                // The leader's query failed; it already dropped the entry, so this caller retries
+                if (entries.get(key) == entry) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+    }
+
+    // Runs the one query for this tile on the caller's thread and hands the rows to everyone waiting
+    private Tile lead(TileKey key, Entry entry) {
+        Tile tile;
+        try {
+            tile = fetchTile(key);
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.tile().completeExceptionally(e);
+            throw e;
+        }
+        entry.loadedAtNanos = System.nanoTime();
+        for (LaborerSnapshot candidate : tile.candidates()) {
+            tilesByLaborer.computeIfAbsent(candidate.id(), id -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        entry.tile().complete(tile);
+        if (entries.size() > maxTiles) {
+            evict();
+        }
+        return tile;
+    }
+
+    private Tile fetchTile(TileKey key) {
+        double centerLat = key.centerLatitude();
+        double centerLon = key.centerLongitude();
+        double queryRadius = key.radiusMeters() + key.halfDiagonalMeters();
+        int candidateLimit = key.limit() * CANDIDATE_FACTOR;
+        List<LaborerSnapshot> candidates = workerSearchRepository.findNearbyAvailableWorkers(
+                        geometryFactory.createPoint(new Coordinate(centerLon, centerLat)),
+                        key.skill(), queryRadius, candidateLimit)
+                .stream()
+                .map(LaborerSnapshot::fromEntity)
+                .filter(snapshot -> snapshot.latitude() != null && snapshot.longitude() != null)
+                .toList();
+
+        boolean truncated = candidates.size() >= candidateLimit;
+        double farthest = candidates.isEmpty() ? 0 : distance(candidates.get(candidates.size() - 1), centerLat, centerLon);
+        return new Tile(centerLat, centerLon, candidates, truncated, farthest);
+    }
+
+    private List<LaborerSnapshot> query(String skill, double latitude, double longitude, double radiusMeters, int limit) {
+        return workerSearchRepository.findNearbyAvailableWorkers(
+                        geometryFactory.createPoint(new Coordinate(longitude, latitude)), skill, radiusMeters, limit)
+                .stream()
+                .map(LaborerSnapshot::fromEntity)
+                .toList();
+    }
+
+    private void invalidateLaborer(Long laborerId) {
+        Set<TileKey> tiles = tilesByLaborer.remove(laborerId);
+        if (tiles != null) {
+            tiles.forEach(this::invalidate);
+        }
+    }
+
+    private void invalidate(TileKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            invalidate(key, entry);
+        }
+    }
+
+    private void invalidate(TileKey key, Entry entry) {
+        if (!entries.remove(key, entry)) {
+            return;
+        }
+        Tile tile = entry.tile().getNow(null);
+        if (tile == null) {
+            return; // Still loading; the leader's waiters get its rows, later callers query again
+        }
+        for (LaborerSnapshot candidate : tile.candidates()) {
+            tilesByLaborer.computeIfPresent(candidate.id(), (id, tiles) -> {
+                tiles.remove(key);
+                return tiles.isEmpty() ? null : tiles;
+            });
+        }
+    }
+
+    // Drops expired tiles, then the oldest ones, until we are back under maxTiles
+    private void evict() {
+        long now = System.nanoTime();
+        List<Map.Entry<TileKey, Entry>> loaded = new ArrayList<>();
+        for (Map.Entry<TileKey, Entry> e : entries.entrySet()) {
+            if (e.getValue().isExpired(now, ttlNanos)) {
+                invalidate(e.getKey(), e.getValue());
+            } else if (e.getValue().tile().isDone()) {
+                loaded.add(e);
+            }
+        }
+        int excess = entries.size() - maxTiles;
+        if (excess <= 0) {
+            return;
+        }
+        loaded.sort(Comparator.comparingLong(e -> e.getValue().loadedAtNanos));
+        for (int i = 0; i < excess && i < loaded.size(); i++) {
+            invalidate(loaded.get(i).getKey(), loaded.get(i).getValue());
+        }
+    }
+
+    private static double distance(LaborerSnapshot snapshot, double latitude, double longitude) {
+        return GeoMath.distanceMeters(latitude, longitude, snapshot.latitude(), snapshot.longitude());
+    }
+
+    record TileKey(String skill, int latTile, int lonTile, double radiusMeters, int limit) {
+
+        static TileKey of(String skill, double latitude, double longitude, double radiusMeters, int limit) {
+            return new TileKey(skill == null ? "" : skill.trim().toUpperCase(Locale.ROOT),
+                    (int) Math.floor(latitude / TILE_DEGREES),
+                    (int) Math.floor(longitude / TILE_DEGREES),
+                    radiusMeters, limit);
+        }
+
+        double centerLatitude() {
+            return (latTile + 0.5) * TILE_DEGREES;
+        }
+
+        double centerLongitude() {
+            return (lonTile + 0.5) * TILE_DEGREES;
+        }
+
+        // Farthest any point of the tile can be from its centre (the corner nearer the pole)
+        double halfDiagonalMeters() {
+            double poleward = Math.abs(latTile * TILE_DEGREES) > Math.abs((latTile + 1) * TILE_DEGREES)
+                    ? latTile * TILE_DEGREES
+                    : (latTile + 1) * TILE_DEGREES;
+            return GeoMath.distanceMeters(centerLatitude(), centerLongitude(),
+                    poleward, centerLongitude() + TILE_DEGREES / 2);
+        }
+
+        boolean contains(double latitude, double longitude) {
+            return (int) Math.floor(latitude / TILE_DEGREES) == latTile
+                    && (int) Math.floor(longitude / TILE_DEGREES) == lonTile;
+        }
+    }
+
+    /**
+     * The rows fetched for one tile, closest to its centre first.
+     */
+    record Tile(double centerLat, double centerLon, List<LaborerSnapshot> candidates,
+                boolean truncated, double farthestMeters) {
+
+        /**
+         * The caller's nearest laborers, or null if the tile was truncated and
+         * someone left out of it could be closer to this caller than what we have.
+         */
+        List<LaborerSnapshot> nearest(double latitude, double longitude, double radiusMeters, int limit) {
+            List<Ranked> ranked = new ArrayList<>();
+            for (LaborerSnapshot candidate : candidates) {
+                double d = distance(candidate, latitude, longitude);
+                if (d <= radiusMeters) {
+                    ranked.add(new Ranked(candidate, d));
+                }
+            }
+            ranked.sort(Comparator.comparingDouble(Ranked::distance).thenComparingLong(r -> r.snapshot().id()));
+            List<Ranked> top = ranked.subList(0, Math.min(limit, ranked.size()));
+
+            if (truncated) {
+                // Anyone we didn't fetch is at least farthestMeters from the centre,
+                // so at least (farthestMeters - offset) from the caller
+                double offset = GeoMath.distanceMeters(centerLat, centerLon, latitude, longitude);
+                double worstNeeded = top.size() == limit ? top.get(top.size() - 1).distance() : radiusMeters;
+                if (worstNeeded > farthestMeters - offset) {
+                    return null;
+                }
+            }
+            return top.stream().map(Ranked::snapshot).toList();
+        }
+    }
+
+    private record Ranked(LaborerSnapshot snapshot, double distance) {
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<Tile> tile = new CompletableFuture<>();
+        private volatile long loadedAtNanos;
+
+        CompletableFuture<Tile> tile() {
+            return tile;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return tile.isDone() && now - loadedAtNanos > ttlNanos;
+        }
+    }
+}
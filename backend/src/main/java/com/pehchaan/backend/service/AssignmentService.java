@@ -1,44 +1,80 @@
 package com.pehchaan.backend.service;
 
+import com.pehchaan.backend.config.AuthenticatedUser;
 import com.pehchaan.backend.dto.assignment.AssignmentRequest;
 import com.pehchaan.backend.dto.assignment.AssignmentResponse;
+import com.pehchaan.backend.dto.assignment.BulkAssignmentRequest;
+import com.pehchaan.backend.dto.assignment.BulkAssignmentResponse;
+import com.pehchaan.backend.dto.assignment.WorkerSearchQuery;
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.common.PageResponse;
+import com.pehchaan.backend.dto.common.RatingCursor;
 import com.pehchaan.backend.dto.profile.ProfileResponse;
 import com.pehchaan.backend.entity.Assignment;
 import com.pehchaan.backend.entity.Project;
+import com.pehchaan.backend.entity.Role;
 import com.pehchaan.backend.entity.User;
 import com.pehchaan.backend.repository.AssignmentRepository;
 import com.pehchaan.backend.repository.ProjectRepository;
 import com.pehchaan.backend.repository.UserRepository;
 import com.pehchaan.backend.repository.WorkerSearchRepository;
+import com.pehchaan.backend.search.LaborerSkillIndex;
+import com.pehchaan.backend.search.LaborerSnapshot;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class AssignmentService {
 
+    private static final int MAX_BULK_ASSIGNMENTS = 1000;
+
     private final AssignmentRepository assignmentRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final WorkerSearchRepository workerSearchRepository;
+    private final LaborerSkillIndex laborerSkillIndex;
     // ❌ REMOVED: This unused dependency was causing the error.
     // private final ProfileService profileService;
 
     /**
-     * Search for available workers by skill.
+     * Search for workers by skill(s) and filters, best rated first.
+     * Served from the in-memory bitmap index once it is warm; SQL otherwise.
      */
-    public List<ProfileResponse> searchWorkers(String skill) {
-        return workerSearchRepository.searchWorkersBySkill(skill)
-                .stream()
-                .map(ProfileResponse::fromEntity) // Use the DTO helper
-                .collect(Collectors.toList());
+    public PageResponse<ProfileResponse> searchWorkers(WorkerSearchQuery query, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampPageSize(limit);
+        RatingCursor after = RatingCursor.decode(cursor);
+
+        // Both paths return up to pageSize + 1 rows; the extra one only says "there's more"
+        List<LaborerSnapshot> rows = laborerSkillIndex.isWarm()
+                ? laborerSkillIndex.search(query, after, pageSize)
+                : workerSearchRepository.searchWorkers(query, after, pageSize + 1)
+                        .stream()
+                        .map(LaborerSnapshot::fromEntity)
+                        .toList();
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            LaborerSnapshot last = rows.get(pageSize - 1);
+            nextCursor = new RatingCursor(RatingCursor.sortRating(last.rating()), last.id()).encode();
+        }
+        return PageResponse.<ProfileResponse>builder()
+                .items(rows.stream().map(LaborerSnapshot::toProfileResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     /**
@@ -46,7 +82,7 @@ public class AssignmentService {
      */
     @Transactional
     public AssignmentResponse createAssignment(AssignmentRequest request) {
-        User contractor = getAuthenticatedUser();
+        AuthenticatedUser contractor = AuthenticatedUser.current();
         
         Project project = projectRepository.findById(request.getProjectId())
                 .orElseThrow(() -> new IllegalArgumentException("Project not found"));
@@ -55,7 +91,7 @@ public class AssignmentService {
                 .orElseThrow(() -> new IllegalArgumentException("Laborer not found"));
 
         // Security Check: Ensure the contractor owns this project
-        if (!project.getContractor().getId().equals(contractor.getId())) {
+        if (!project.getContractor().getId().equals(contractor.id())) {
             throw new AccessDeniedException("You do not own this project.");
         }
 
@@ -70,26 +106,104 @@ public class AssignmentService {
                 .laborer(laborer)
                 .wageRate(request.getWageRate())
                 .wageType(request.getWageType())
+                .overtimeAfterMinutes(request.getOvertimeAfterMinutes())
+                .overtimeRatePercent(request.getOvertimeRatePercent())
+                .halfDayMinutes(request.getHalfDayMinutes())
                 .build();
         
         Assignment savedAssignment = assignmentRepository.save(newAssignment);
         return AssignmentResponse.fromEntity(savedAssignment);
     }
 
+    /**
+     * Assign a whole crew to a project in one go (Contractor Only).
+     * Laborers already on the project, and ids that aren't laborers, are skipped
+     * and reported. The rest are inserted in JDBC batches, so the whole call is a
+     * few lookups plus one batched INSERT per 50 workers.
+     */
+    @Transactional
+    public BulkAssignmentResponse createAssignments(BulkAssignmentRequest request) {
+        AuthenticatedUser contractor = AuthenticatedUser.current();
+        Map<Long, BulkAssignmentRequest.Worker> workers = validateCrew(request);
+
+        Project project = projectRepository.findById(request.getProjectId())
+                .orElseThrow(() -> new IllegalArgumentException("Project not found"));
+        if (!project.getContractor().getId().equals(contractor.id())) {
+            throw new AccessDeniedException("You do not own this project.");
+        }
+
+        Set<Long> laborerIds = new HashSet<>(userRepository.findIdsWithRole(workers.keySet(), Role.ROLE_LABOR));
+        Set<Long> assigned = laborerIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(assignmentRepository.findAssignedLaborerIds(project.getId(), laborerIds));
+
+        List<Assignment> toCreate = new ArrayList<>();
+        List<Long> alreadyAssigned = new ArrayList<>();
+        List<Long> unknownLaborers = new ArrayList<>();
+        for (BulkAssignmentRequest.Worker worker : workers.values()) {
+            if (!laborerIds.contains(worker.getLaborerId())) {
+                unknownLaborers.add(worker.getLaborerId());
+            } else if (assigned.contains(worker.getLaborerId())) {
+                alreadyAssigned.add(worker.getLaborerId());
+            } else {
+                toCreate.add(Assignment.builder()
+                        .project(project)
+                        .laborer(userRepository.getReferenceById(worker.getLaborerId()))
+                        .wageRate(worker.getWageRate())
+                        .wageType(worker.getWageType())
+                        .overtimeAfterMinutes(worker.getOvertimeAfterMinutes())
+                        .overtimeRatePercent(worker.getOvertimeRatePercent())
+                        .halfDayMinutes(worker.getHalfDayMinutes())
+                        .build());
+            }
+        }
+
+        List<AssignmentResponse> created = assignmentRepository.saveAll(toCreate)
+                .stream()
+                .map(AssignmentResponse::fromEntity)
+                .collect(Collectors.toList());
+        return BulkAssignmentResponse.builder()
+                .createdCount(created.size())
+                .created(created)
+                .alreadyAssigned(alreadyAssigned)
+                .unknownLaborers(unknownLaborers)
+                .build();
+    }
+
     /**
      * Get all assignments for the currently logged-in laborer.
      */
     public List<AssignmentResponse> getMyAssignments() {
-        User laborer = getAuthenticatedUser();
-        return assignmentRepository.findByLaborerId(laborer.getId())
+        AuthenticatedUser laborer = AuthenticatedUser.current();
+        return assignmentRepository.findByLaborerId(laborer.id())
                 .stream()
                 .map(AssignmentResponse::fromEntity)
                 .collect(Collectors.toList());
     }
-    
-    private User getAuthenticatedUser() {
-        String userPhone = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByPhone(userPhone)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userPhone));
+
+    // --- Helper Methods ---
+
+    // Crew keyed by laborer id, in request order
+    private Map<Long, BulkAssignmentRequest.Worker> validateCrew(BulkAssignmentRequest request) {
+        if (request.getProjectId() == null) {
+            throw new IllegalArgumentException("projectId is required.");
+        }
+        if (request.getWorkers() == null || request.getWorkers().isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is required.");
+        }
+        if (request.getWorkers().size() > MAX_BULK_ASSIGNMENTS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ASSIGNMENTS + " workers can be assigned at once.");
+        }
+
+        Map<Long, BulkAssignmentRequest.Worker> workers = new LinkedHashMap<>();
+        for (BulkAssignmentRequest.Worker worker : request.getWorkers()) {
+            if (worker.getLaborerId() == null || worker.getWageRate() == null || worker.getWageType() == null) {
+                throw new IllegalArgumentException("Each worker needs a laborerId, wageRate and wageType.");
+            }
+            if (workers.putIfAbsent(worker.getLaborerId(), worker) != null) {
+                throw new IllegalArgumentException("Laborer " + worker.getLaborerId() + " is listed more than once.");
+            }
+        }
+        return workers;
     }
-}
\ No newline at end of file
+}
@@ -11,10 +11,12 @@ import com.pehchaan.backend.dto.auth.RegisterRequest;
 import com.pehchaan.backend.entity.User;
 import com.pehchaan.backend.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class AuthService {
 
     private final UserRepository userRepository;
@@ -0,0 +1,167 @@
+package com.pehchaan.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory offer book for broadcast ("dispatch mode") gigs.
+ *
+ * A dispatched gig is offered to several laborers at once. Each offer holds a
+ * single {@link AtomicLong} claim slot, so when many laborers accept at the same
+ * moment exactly one compare-and-set succeeds and the rest are turned away
+ * without touching the database. The winner then makes the claim durable with
+ * a guarded UPDATE; if that fails the claim is released again.
+ *
+ * Offers are not persisted. After a restart (or once the TTL passes) an
+ * unclaimed gig is cancelled by {@link GigService#expireUnclaimedGigs()}.
+ */
+@Component
+public class GigDispatcher {
+
+    private static final long UNCLAIMED = 0L;
+
+    private final int fanout;
+    private final Duration offerTtl;
+
+    private final Map<Long, Offer> offers = new ConcurrentHashMap<>();
+    // laborerId -> gig ids currently offered to them
+    private final Map<Long, Set<Long>> offersByLaborer = new ConcurrentHashMap<>();
+
+    public GigDispatcher(@Value("${gigs.dispatch.fanout:5}") int fanout,
+                         @Value("${gigs.dispatch.offer-ttl-seconds:120}") long offerTtlSeconds) {
+        this.fanout = fanout;
+        this.offerTtl = Duration.ofSeconds(offerTtlSeconds);
+    }
+
+    // How many of the nearest laborers each dispatch gig is offered to
+    public int fanout() {
+        return fanout;
+    }
+
+    public Duration offerTtl() {
+        return offerTtl;
+    }
+
+    public void offer(Long gigId, List<Long> laborerIds) {
+        Offer offer = new Offer(Set.copyOf(laborerIds), System.nanoTime() + offerTtl.toNanos());
+        offers.put(gigId, offer);
+        for (Long laborerId : laborerIds) {
+            addToLaborer(laborerId, gigId);
+        }
+    }
+
+    public boolean isDispatched(Long gigId) {
+        return offers.containsKey(gigId);
+    }
+
+    public boolean isOfferedTo(Long gigId, Long laborerId) {
+        Offer offer = offers.get(gigId);
+        return offer != null && offer.laborerIds().contains(laborerId);
+    }
+
+    /**
+     * First caller wins. Returns false if the gig was already claimed, has
+     * expired, or was never offered to this laborer.
+     */
+    public boolean claim(Long gigId, Long laborerId) {
+        Offer offer = offers.get(gigId);
+        if (offer == null || !offer.laborerIds().contains(laborerId) || offer.isExpired(System.nanoTime())) {
+            return false;
+        }
+        if (!offer.claimedBy().compareAndSet(UNCLAIMED, laborerId)) {
+            return false;
+        }
+        // Withdraw the offer from everyone else. The entry itself stays until it
+        // expires, so late accepts get "already taken" rather than "not found".
+        for (Long other : offer.laborerIds()) {
+            removeFromLaborer(other, gigId);
+        }
+        return true;
+    }
+
+    /**
+     * Undoes a claim whose database update did not go through, so the other
+     * laborers can still take the gig.
+     */
+    public void release(Long gigId, Long laborerId) {
+        Offer offer = offers.get(gigId);
+        if (offer != null && offer.claimedBy().compareAndSet(laborerId, UNCLAIMED)) {
+            for (Long other : offer.laborerIds()) {
+                if (!other.equals(laborerId)) {
+                    addToLaborer(other, gigId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open (unclaimed, unexpired) offers for this laborer.
+     */
+    public List<Long> openOffersFor(Long laborerId) {
+        Set<Long> gigIds = offersByLaborer.get(laborerId);
+        if (gigIds == null) {
+            return List.of();
+        }
+        long now = System.nanoTime();
+        List<Long> open = new ArrayList<>();
+        for (Long gigId : gigIds) {
+            Offer offer = offers.get(gigId);
+            if (offer != null && offer.claimedBy().get() == UNCLAIMED && !offer.isExpired(now)) {
+                open.add(gigId);
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Drops offers past their TTL. Returns how many were removed.
+     */
+    public int evictExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<Long, Offer> entry : offers.entrySet()) {
+            Offer offer = entry.getValue();
+            if (offer.isExpired(now) && offers.remove(entry.getKey(), offer)) {
+                for (Long laborerId : offer.laborerIds()) {
+                    removeFromLaborer(laborerId, entry.getKey());
+                }
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Mutate inside compute() so a concurrent remove can't drop the set we're adding to
+    private void addToLaborer(Long laborerId, Long gigId) {
+        offersByLaborer.compute(laborerId, (id, gigIds) -> {
+            Set<Long> updated = gigIds != null ? gigIds : ConcurrentHashMap.newKeySet();
+            updated.add(gigId);
+            return updated;
+        });
+    }
+
+    private void removeFromLaborer(Long laborerId, Long gigId) {
+        offersByLaborer.computeIfPresent(laborerId, (id, gigIds) -> {
+            gigIds.remove(gigId);
+            return gigIds.isEmpty() ? null : gigIds;
+        });
+    }
+
+    private record Offer(Set<Long> laborerIds, long expiresAtNanos, AtomicLong claimedBy) {
+        Offer(Set<Long> laborerIds, long expiresAtNanos) {
+            this(laborerIds, expiresAtNanos, new AtomicLong(UNCLAIMED));
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
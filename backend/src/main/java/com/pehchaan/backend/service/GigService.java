@@ -1,115 +1,111 @@
 package com.pehchaan.backend.service;
 
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.common.PageResponse;
 import com.pehchaan.backend.dto.gig.GigRequest;
 import com.pehchaan.backend.dto.gig.GigResponse;
 import com.pehchaan.backend.dto.gig.InvoiceRequest;
 import com.pehchaan.backend.dto.gig.PaymentRequest;
 import com.pehchaan.backend.entity.Gig;
-import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.realtime.GigTransitionEvent;
+import com.pehchaan.backend.repository.GigQueryRepository;
 import com.pehchaan.backend.repository.GigRepository;
+import com.pehchaan.backend.repository.GigTransitionRepository;
 import com.pehchaan.backend.repository.UserRepository;
+import com.pehchaan.backend.search.LaborerStatusChangedEvent;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.Point;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class GigService {
 
     private final GigRepository gigRepository;
+    private final GigQueryRepository gigQueryRepository;
+    private final GigTransitionRepository gigTransitionRepository;
     private final UserRepository userRepository;
-    private final GeometryFactory geometryFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaborerStateWriteBuffer laborerStateWriteBuffer;
+    private final WorkerService workerService;
+    private final GigDispatcher gigDispatcher;
 
     // --- Define constants for your business logic ---
     private static final BigDecimal VISITING_CHARGE = new BigDecimal("110.00");
     private static final BigDecimal PLATFORM_FEE = new BigDecimal("10.00");
     private static final BigDecimal LABORER_VISITING_PAYOUT = new BigDecimal("100.00");
-    private static final List<Gig.GigStatus> ACTIVE_GIG_STATUSES = List.of(
-            Gig.GigStatus.REQUESTED,
-            Gig.GigStatus.ACCEPTED,
-            Gig.GigStatus.IN_PROGRESS
-    );
+    // Partial unique indexes over the active statuses (REQUESTED, ACCEPTED, IN_PROGRESS); see db/migration
+    private static final String ACTIVE_LABORER_GIG_INDEX = "ux_gigs_active_laborer";
+    private static final String ACTIVE_CONSUMER_GIG_INDEX = "ux_gigs_active_consumer";
 
     /**
-     * Consumer requests a gig from a specific laborer.
+     * Consumer requests a gig from a specific laborer, or (with no laborerId)
+     * dispatches it to the nearest available laborers.
+     * The availability check and the insert are one statement; the partial unique
+     * indexes on gigs reject a second active gig for either party.
      */
     @Transactional
     public GigResponse requestGig(GigRequest request) {
-        User consumer = getAuthenticatedUser();
-        User laborer = userRepository.findById(request.getLaborerId())
-                .orElseThrow(() -> new IllegalArgumentException("Laborer not found"));
+        Long consumerId = AuthenticatedUser.current().id();
 
         if (request.getAddress() == null || request.getAddress().isBlank()) {
             throw new IllegalArgumentException("Address is required.");
         }
+        String skill = request.getSkill().toUpperCase();
 
-        // --- Validation Checks ---
-        if (!"AVAILABLE".equals(laborer.getStatus())) {
-            throw new IllegalStateException("This worker is no longer available.");
-        }
-        gigRepository.findActiveGigForLaborer(laborer.getId(), ACTIVE_GIG_STATUSES)
-                .ifPresent(g -> {
-                    throw new IllegalStateException("This worker is already handling a request.");
-                });
-        gigRepository.findActiveGigForConsumer(consumer.getId(), ACTIVE_GIG_STATUSES)
-                .ifPresent(g -> {
-                    throw new IllegalStateException("You already have an active gig request.");
-                });
-
-        // --- Create the Gig ---
-        Point locationPoint = geometryFactory.createPoint(
-            new Coordinate(request.getLongitude(), request.getLatitude())
-        );
-
-        Gig newGig = Gig.builder()
-                .consumer(consumer)
-                .laborer(laborer)
-                .skill(request.getSkill().toUpperCase())
-                .consumerLocation(locationPoint)
-                .consumerAddress(request.getAddress())
-                .status(Gig.GigStatus.REQUESTED)
-                .visitingCharge(VISITING_CHARGE)
-                .platformFee(PLATFORM_FEE)
-                .laborerVisitingPayout(LABORER_VISITING_PAYOUT)
-                .totalAmount(VISITING_CHARGE) // The initial total is just the visiting charge
-                .paymentMethod(Gig.PaymentMethod.PENDING)
-                .build();
+        if (request.getLaborerId() == null) {
+            return dispatchGig(consumerId, skill, request);
+        }
 
-        Gig savedGig = gigRepository.save(newGig);
-        return GigResponse.fromEntity(savedGig);
+        try {
+            return gigTransitionRepository.insertRequested(
+                    consumerId,
+                    request.getLaborerId(),
+                    skill,
+                    request.getLatitude(),
+                    request.getLongitude(),
+                    request.getAddress(),
+                    VISITING_CHARGE,
+                    PLATFORM_FEE,
+                    LABORER_VISITING_PAYOUT,
+                    LocalDateTime.now()
+            ).map(this::published).orElseThrow(() -> laborerUnavailable(request.getLaborerId()));
+        } catch (DataIntegrityViolationException e) {
+            throw activeGigConflict(e);
+        }
     }
 
     /**
-     * Laborer accepts an incoming gig request.
+     * Laborer accepts an incoming gig request (or claims a dispatch offer).
      */
     @Transactional
     public GigResponse acceptGig(Long gigId) {
-        User laborer = getAuthenticatedUser();
-        Gig gig = getGigForLaborer(gigId, laborer.getId());
-
-        if (gig.getStatus() != Gig.GigStatus.REQUESTED) {
-            throw new IllegalStateException("This gig is no longer in a 'REQUESTED' state.");
-        }
-
-        // --- Update State ---
-        gig.setStatus(Gig.GigStatus.ACCEPTED);
-        gig.setAcceptedAt(LocalDateTime.now());
-        laborer.setStatus("OFFLINE"); // Laborer is now busy
-        userRepository.save(laborer);
-
-        Gig savedGig = gigRepository.save(gig);
-        return GigResponse.fromEntity(savedGig);
+        Long laborerId = AuthenticatedUser.current().id();
+        laborerStateWriteBuffer.discardStatus(laborerId); // Don't let a buffered "AVAILABLE" win
+
+        // Both paths also mark the laborer OFFLINE (busy) in the same statement
+        GigResponse accepted = gigDispatcher.isDispatched(gigId)
+                ? claimDispatchedGig(gigId, laborerId)
+                : gigTransitionRepository.accept(gigId, laborerId, LocalDateTime.now())
+                        .orElseThrow(() -> transitionRejected(gigId, laborerId, false,
+                                "This gig is no longer in a 'REQUESTED' state."));
+
+        eventPublisher.publishEvent(new LaborerStatusChangedEvent(laborerId, "OFFLINE"));
+        return published(accepted);
     }
 
     /**
@@ -117,17 +113,11 @@ public class GigService {
      */
     @Transactional
     public GigResponse startWork(Long gigId) {
-        User laborer = getAuthenticatedUser();
-        Gig gig = getGigForLaborer(gigId, laborer.getId());
-
-        if (gig.getStatus() != Gig.GigStatus.ACCEPTED) {
-            throw new IllegalStateException("Gig must be in 'ACCEPTED' state to start work.");
-        }
-
-        gig.setStatus(Gig.GigStatus.IN_PROGRESS);
-        gig.setWorkStartedAt(LocalDateTime.now());
-        Gig savedGig = gigRepository.save(gig);
-        return GigResponse.fromEntity(savedGig);
+        Long laborerId = AuthenticatedUser.current().id();
+        return gigTransitionRepository.startWork(gigId, laborerId, LocalDateTime.now())
+                .map(this::published)
+                .orElseThrow(() -> transitionRejected(gigId, laborerId, false,
+                        "Gig must be in 'ACCEPTED' state to start work."));
     }
 
     /**
@@ -135,26 +125,18 @@ public class GigService {
      */
     @Transactional
     public GigResponse completeAndInvoiceGig(Long gigId, InvoiceRequest request) {
-        User laborer = getAuthenticatedUser();
-        Gig gig = getGigForLaborer(gigId, laborer.getId());
-
-        if (!List.of(Gig.GigStatus.ACCEPTED, Gig.GigStatus.IN_PROGRESS).contains(gig.getStatus())) {
-            throw new IllegalStateException("This gig cannot be completed from its current state.");
-        }
+        Long laborerId = AuthenticatedUser.current().id();
 
         BigDecimal additionalAmount = request.getAdditionalAmount() != null ? request.getAdditionalAmount() : BigDecimal.ZERO;
         if (additionalAmount.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Additional amount cannot be negative.");
         }
 
-        // --- Update Gig State ---
-        gig.setStatus(Gig.GigStatus.PENDING_PAYMENT);
         // The total is the visiting charge PLUS any additional amount
-        gig.setTotalAmount(gig.getVisitingCharge().add(additionalAmount));
-        gig.setCompletedAt(LocalDateTime.now());
-
-        Gig savedGig = gigRepository.save(gig);
-        return GigResponse.fromEntity(savedGig);
+        return gigTransitionRepository.complete(gigId, laborerId, additionalAmount, LocalDateTime.now())
+                .map(this::published)
+                .orElseThrow(() -> transitionRejected(gigId, laborerId, false,
+                        "This gig cannot be completed from its current state."));
     }
 
     /**
@@ -162,63 +144,177 @@ public class GigService {
      */
     @Transactional
     public GigResponse markAsPaid(Long gigId, PaymentRequest request) {
-        User user = getAuthenticatedUser();
-        Gig gig = gigRepository.findById(gigId)
-                .orElseThrow(() -> new IllegalArgumentException("Gig not found"));
-
-        // Security check: Only consumer or laborer on the gig can mark it as paid
-        if (!gig.getLaborer().getId().equals(user.getId()) && !gig.getConsumer().getId().equals(user.getId())) {
-            throw new AccessDeniedException("You are not authorized to update this gig.");
+        Long userId = AuthenticatedUser.current().id();
+        if (request.getPaymentMethod() == null) {
+            throw new IllegalArgumentException("Payment method is required.");
         }
 
-        if (gig.getStatus() != Gig.GigStatus.PENDING_PAYMENT) {
-            throw new IllegalStateException("Gig is not pending payment.");
-        }
+        return gigTransitionRepository.markPaid(gigId, userId, request.getPaymentMethod(), LocalDateTime.now())
+                .map(this::published)
+                .orElseThrow(() -> transitionRejected(gigId, userId, true,
+                        "Gig is not pending payment."));
+    }
 
-        gig.setStatus(Gig.GigStatus.COMPLETED);
-        gig.setPaymentMethod(request.getPaymentMethod());
-        gig.setPaidAt(LocalDateTime.now());
 
-        Gig savedGig = gigRepository.save(gig);
-        return GigResponse.fromEntity(savedGig);
+    /**
+     * Dispatch offers the logged-in laborer can still accept.
+     */
+    public List<GigResponse> getMyOffers() {
+        Long laborerId = AuthenticatedUser.current().id();
+        return gigQueryRepository.findRequestedByIds(gigDispatcher.openOffersFor(laborerId));
     }
 
+    /**
+     * Cancels dispatch gigs that nobody claimed within the offer TTL, including
+     * ones whose in-memory offers were lost in a restart.
+     */
+    @Scheduled(fixedDelayString = "${gigs.dispatch.sweep-interval-ms:30000}")
+    @Transactional
+    public void expireUnclaimedGigs() {
+        gigDispatcher.evictExpired();
+        gigTransitionRepository.cancelUnclaimed(LocalDateTime.now().minus(gigDispatcher.offerTtl()))
+                .forEach(this::published);
+    }
 
     /**
      * Gets all gigs for the currently logged-in user (both consumer and laborer).
+     * Prefer getGigHistory() for anything that can grow; this returns the full history.
      */
     public List<GigResponse> getMyGigs() {
-        User user = getAuthenticatedUser();
-        List<Gig> gigs;
+        return findGigsForCurrentUser(KeysetCursor.START, null);
+    }
 
-        if (user.getRole() == com.pehchaan.backend.entity.Role.ROLE_LABOR) {
-            gigs = gigRepository.findByLaborerIdOrderByCreatedAtDesc(user.getId());
-        } else if (user.getRole() == com.pehchaan.backend.entity.Role.ROLE_CONSUMER) {
-            gigs = gigRepository.findByConsumerIdOrderByCreatedAtDesc(user.getId());
-        } else {
-            gigs = List.of(); // Empty list for other roles (like contractor)
+    /**
+     * One keyset page of the logged-in user's gigs, newest first.
+     */
+    public PageResponse<GigResponse> getGigHistory(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampPageSize(limit);
+        List<GigResponse> gigs = findGigsForCurrentUser(KeysetCursor.decode(cursor), pageSize);
+
+        String nextCursor = null;
+        if (gigs.size() == pageSize) {
+            GigResponse last = gigs.get(gigs.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
         }
-
-        return gigs.stream()
-                .map(GigResponse::fromEntity)
-                .collect(Collectors.toList());
+        return PageResponse.<GigResponse>builder()
+                .items(gigs)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     // --- Helper Methods ---
-    private User getAuthenticatedUser() {
-        String userPhone = SecurityContextHolder.getContext()
-                                                .getAuthentication()
-                                                .getName();
-        return userRepository.findByPhone(userPhone)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userPhone));
-    }
-
-    private Gig getGigForLaborer(Long gigId, Long laborerId) {
-        Gig gig = gigRepository.findById(gigId)
-                .orElseThrow(() -> new IllegalArgumentException("Gig not found"));
-        if (!gig.getLaborer().getId().equals(laborerId)) {
+    private GigResponse dispatchGig(Long consumerId, String skill, GigRequest request) {
+        List<Long> candidates = workerService.findDispatchCandidates(
+                skill, request.getLatitude(), request.getLongitude(), gigDispatcher.fanout());
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No workers are available nearby right now.");
+        }
+
+        GigResponse gig;
+        try {
+            gig = gigTransitionRepository.insertDispatched(
+                    consumerId,
+                    skill,
+                    request.getLatitude(),
+                    request.getLongitude(),
+                    request.getAddress(),
+                    VISITING_CHARGE,
+                    PLATFORM_FEE,
+                    LABORER_VISITING_PAYOUT,
+                    LocalDateTime.now()
+            ).orElseThrow();
+        } catch (DataIntegrityViolationException e) {
+            throw activeGigConflict(e);
+        }
+
+        // Only offer the gig once the row is visible to the laborers who will accept it
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                gigDispatcher.offer(gig.getId(), candidates);
+            }
+        });
+        return published(gig);
+    }
+
+    // The in-memory claim settles the race; the guarded UPDATE makes the winner durable
+    private GigResponse claimDispatchedGig(Long gigId, Long laborerId) {
+        if (!gigDispatcher.isOfferedTo(gigId, laborerId)) {
             throw new AccessDeniedException("You are not authorized to access this gig.");
         }
+        if (!gigDispatcher.claim(gigId, laborerId)) {
+            throw new IllegalStateException("This gig has already been taken.");
+        }
+
+        // Hand the offer back to the others if this transaction doesn't commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    gigDispatcher.release(gigId, laborerId);
+                }
+            }
+        });
+
+        try {
+            return gigTransitionRepository.claim(gigId, laborerId, LocalDateTime.now())
+                    .orElseThrow(() -> new IllegalStateException("This gig is no longer in a 'REQUESTED' state."));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("You are already handling another gig.");
+        }
+    }
+
+    // GigEventHub pushes this to both parties' streams once the transaction commits
+    private GigResponse published(GigResponse gig) {
+        eventPublisher.publishEvent(GigTransitionEvent.from(gig));
         return gig;
     }
-}
\ No newline at end of file
+
+    private List<GigResponse> findGigsForCurrentUser(KeysetCursor after, Integer limit) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+
+        if (user.role() == com.pehchaan.backend.entity.Role.ROLE_LABOR) {
+            return gigQueryRepository.findLaborerGigs(user.id(), after, limit);
+        } else if (user.role() == com.pehchaan.backend.entity.Role.ROLE_CONSUMER) {
+            return gigQueryRepository.findConsumerGigs(user.id(), after, limit);
+        }
+        return List.of(); // Empty list for other roles (like contractor)
+    }
+
+    /*
+     * The transition statements only say "no row matched". These run on that
+     * (cold) path to report the same errors the checks used to raise up front.
+     */
+    private RuntimeException transitionRejected(Long gigId, Long userId, boolean consumerMayAct, String wrongStateMessage) {
+        Gig gig = gigRepository.findById(gigId).orElse(null);
+        if (gig == null) {
+            return new IllegalArgumentException("Gig not found");
+        }
+        boolean isLaborer = gig.getLaborer() != null && gig.getLaborer().getId().equals(userId);
+        boolean isConsumer = consumerMayAct && gig.getConsumer().getId().equals(userId);
+        if (!isLaborer && !isConsumer) {
+            return new AccessDeniedException("You are not authorized to access this gig.");
+        }
+        return new IllegalStateException(wrongStateMessage);
+    }
+
+    private RuntimeException laborerUnavailable(Long laborerId) {
+        if (!userRepository.existsById(laborerId)) {
+            return new IllegalArgumentException("Laborer not found");
+        }
+        return new IllegalStateException("This worker is no longer available.");
+    }
+
+    private RuntimeException activeGigConflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (ACTIVE_LABORER_GIG_INDEX.equalsIgnoreCase(constraint)) {
+            return new IllegalStateException("This worker is already handling a request.");
+        }
+        if (ACTIVE_CONSUMER_GIG_INDEX.equalsIgnoreCase(constraint)) {
+            return new IllegalStateException("You already have an active gig request.");
+        }
+        return e;
+    }
+}
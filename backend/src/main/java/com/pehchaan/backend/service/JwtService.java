@@ -2,45 +2,109 @@ package com.pehchaan.backend.service;
 
 // ✅ FIX: Import the specific SecretKey class
 import javax.crypto.SecretKey; 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.pehchaan.backend.entity.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "service.method", histogram = true)
 public class JwtService {
 
-    @Value("${jwt.secret.key}")
-    private String SECRET_KEY;
+    private static final long TOKEN_VALIDITY_MS = 1000 * 60 * 60 * 24; // Token valid for 24 hours
+    private static final int VERIFIED_CACHE_MAX_ENTRIES = 10_000;
+
+    // Decoded and built once; both are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // Recently verified tokens, keyed by a SHA-256 of the token so we never hold raw bearer tokens.
+    // Entries leave when their token expires, or least-recently-used first once the cache is full.
+    private final Cache<TokenKey, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_MAX_ENTRIES)
+            .expireAfter(Expiry.<TokenKey, VerifiedToken>creating((key, token) ->
+                    Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+            .build();
+
+    public JwtService(@Value("${jwt.secret.key}") String secretKey) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey) // ✅ FIX: This now receives a SecretKey
+                .build();
+    }
+
+    /**
+     * Verifies the token's signature and expiry and returns its claims.
+     * A token is parsed at most once while it stays in the cache; repeat
+     * requests with the same token only pay for a hash and a map lookup.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired.
+     */
+    public VerifiedToken verify(String token) {
+        TokenKey key = TokenKey.of(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Parses and verifies the token once, without consulting the cache.
+     */
+    public VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("uid", Long.class),
+                claims.get("role", String.class),
+                claims.getExpiration().getTime()
+        );
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        // verify() already rejects expired tokens
+        return verify(token).subject().equals(userDetails.getUsername());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         
-        if (userDetails instanceof User) {
-            claims.put("role", ((User) userDetails).getRole().name());
+        if (userDetails instanceof User user) {
+            // Lets JwtAuthFilter authenticate requests without loading the user
+            claims.put("uid", user.getId());
+            claims.put("role", user.getRole().name());
         }
 
-        return buildToken(claims, userDetails, 1000 * 60 * 60 * 24); // Token valid for 24 hours
+        return buildToken(claims, userDetails, TOKEN_VALIDITY_MS);
     }
 
     // --- Private Helper Methods (Updated) ---
@@ -51,34 +115,46 @@ public class JwtService {
                 .subject(userDetails.getUsername())      
                 .issuedAt(new Date(System.currentTimeMillis())) 
                 .expiration(new Date(System.currentTimeMillis() + expiration)) 
-                .signWith(getSigningKey()) 
+                .signWith(signingKey) 
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
+    /**
+     * The claims we trust after a token's signature and expiry have been checked.
+     */
+    public record VerifiedToken(String subject, Long userId, String role, long expiresAtMillis) {
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        public boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    private record TokenKey(long h0, long h1, long h2, long h3) {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey()) // ✅ FIX: This now receives a SecretKey
-                .build()
-                .parseSignedClaims(token) 
-                .getPayload(); 
-    }
+        // Looked up once. Requests run on fresh virtual threads, so a ThreadLocal digest would be
+        // rebuilt per request anyway; cloning this one skips the provider lookup getInstance does.
+        private static final MessageDigest SHA_256 = sha256();
+
+        static TokenKey of(String token) {
+            byte[] digest = copy().digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+
+        private static MessageDigest copy() {
+            try {
+                return (MessageDigest) SHA_256.clone();
+            } catch (CloneNotSupportedException e) {
+                return sha256(); // Provider without clone support
+            }
+        }
 
-    // ✅ FIX: Change the return type from Key to SecretKey
-    private SecretKey getSigningKey() { 
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e); // Every JVM ships it
+            }
+        }
     }
-}
\ No newline at end of file
+}
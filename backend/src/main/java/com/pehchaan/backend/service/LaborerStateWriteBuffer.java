@@ -0,0 +1,206 @@
+package com.pehchaan.backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.pehchaan.backend.dto.profile.ProfileResponse;
+import com.pehchaan.backend.search.LaborerSnapshot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for laborer GPS pings and availability changes.
+ *
+ * Updates are coalesced per user id in a {@link ConcurrentHashMap} (so only the
+ * latest location/status survives) and written on a short interval as one
+ * batched JDBC UPDATE, instead of a findByPhone + full-entity save per ping.
+ *
+ * Reads of the same user should go through {@link #overlay} so callers see
+ * their own writes before the next flush. Everything left is flushed on shutdown.
+ *
+ * While a laborer has an accepted or in-progress gig, the gig owns their status:
+ * a buffered status is not written, so a late "AVAILABLE" can't undo the
+ * OFFLINE that accepting set. The flush runs at REPEATABLE READ so that a row
+ * an accept changed mid-flush fails the batch (and it is retried against the
+ * committed gig) instead of being overwritten.
+ */
+@Slf4j
+@Component
+public class LaborerStateWriteBuffer {
+
+    private static final String FLUSH_SQL =
+            "UPDATE users SET " +
+            "current_location = COALESCE(ST_SetSRID(ST_MakePoint(?, ?), 4326), current_location), " +
+            "status = CASE WHEN EXISTS (SELECT 1 FROM gigs g WHERE g.laborer_id = users.id " +
+            "AND g.status IN ('ACCEPTED', 'IN_PROGRESS')) THEN status ELSE COALESCE(?, status) END " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+
+    // Not yet picked up by a flush
+    private final Map<Long, PendingState> pending = new ConcurrentHashMap<>();
+    // Picked up by the running flush but not committed yet; still visible to readers
+    private final Map<Long, PendingState> inFlight = new ConcurrentHashMap<>();
+
+    public LaborerStateWriteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public void submitLocation(Long userId, double latitude, double longitude) {
+        pending.merge(userId, new PendingState(latitude, longitude, null), PendingState::mergeNewer);
+    }
+
+    public void submitStatus(Long userId, String status) {
+        pending.merge(userId, new PendingState(null, null, status), PendingState::mergeNewer);
+    }
+
+    /**
+     * Drops a buffered status change, e.g. when a gig transition is about to write
+     * the laborer's status directly. A change already picked up by a running flush
+     * is held back by the flush itself (see the class comment).
+     */
+    public void discardStatus(Long userId) {
+        pending.computeIfPresent(userId, (id, state) -> state.withoutStatus());
+    }
+
+    /**
+     * Returns the latest unflushed state for this user, or null if nothing is pending.
+     */
+    public PendingState pendingFor(Long userId) {
+        PendingState flushing = inFlight.get(userId);
+        PendingState queued = pending.get(userId);
+        if (flushing == null) {
+            return queued;
+        }
+        return queued == null ? flushing : flushing.mergeNewer(queued);
+    }
+
+    public ProfileResponse overlay(ProfileResponse profile) {
+        PendingState state = pendingFor(profile.getId());
+        if (state != null) {
+            if (state.hasLocation()) {
+                profile.setLatitude(state.latitude());
+                profile.setLongitude(state.longitude());
+            }
+            if (state.status() != null) {
+                profile.setStatus(state.status());
+            }
+        }
+        return profile;
+    }
+
+    public LaborerSnapshot overlay(LaborerSnapshot snapshot) {
+        PendingState state = pendingFor(snapshot.id());
+        if (state == null) {
+            return snapshot;
+        }
+        LaborerSnapshot result = snapshot;
+        if (state.hasLocation()) {
+            result = result.withLocation(state.latitude(), state.longitude());
+        }
+        if (state.status() != null) {
+            result = result.withStatus(state.status());
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${workers.write-buffer.flush-interval-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        List<PendingState> states = new ArrayList<>();
+        for (Map.Entry<Long, PendingState> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            PendingState state = entry.getValue();
+            inFlight.put(userId, state);
+            // If a newer ping raced in, leave it queued for the next flush
+            if (pending.remove(userId, state)) {
+                ids.add(userId);
+                states.add(state);
+            } else {
+                inFlight.remove(userId, state);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingState state = states.get(i);
+                    ps.setObject(1, state.longitude(), Types.DOUBLE); // X is Longitude
+                    ps.setObject(2, state.latitude(), Types.DOUBLE);  // Y is Latitude
+                    ps.setObject(3, state.status(), Types.VARCHAR);
+                    ps.setLong(4, ids.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return ids.size();
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} laborer updates; will retry.", ids.size(), e);
+            // Re-queue underneath anything newer that arrived meanwhile
+            for (int i = 0; i < ids.size(); i++) {
+                pending.merge(ids.get(i), states.get(i), (newer, failed) -> failed.mergeNewer(newer));
+            }
+        } finally {
+            for (int i = 0; i < ids.size(); i++) {
+                inFlight.remove(ids.get(i), states.get(i));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("{} laborer updates could not be flushed before shutdown.", pending.size());
+        }
+    }
+
+    /**
+     * The coalesced, not-yet-persisted state for one laborer. Null fields mean "unchanged".
+     */
+    public record PendingState(Double latitude, Double longitude, String status) {
+
+        public boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+
+        PendingState mergeNewer(PendingState newer) {
+            return new PendingState(
+                    newer.hasLocation() ? newer.latitude : latitude,
+                    newer.hasLocation() ? newer.longitude : longitude,
+                    newer.status != null ? newer.status : status
+            );
+        }
+
+        PendingState withoutStatus() {
+            return hasLocation() ? new PendingState(latitude, longitude, null) : null;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.pehchaan.backend.service;
+
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.payroll.PayrollRunRequest;
+import com.pehchaan.backend.dto.payroll.PayrollRunResponse;
+import com.pehchaan.backend.entity.PayrollRun;
+import com.pehchaan.backend.payroll.PayrollBatch;
+import com.pehchaan.backend.repository.PayrollLogRepository;
+import com.pehchaan.backend.repository.PayrollLogRepository.PageCursor;
+import com.pehchaan.backend.repository.PayrollRunRepository;
+import com.pehchaan.backend.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pays a contractor's approved work logs for a period in one run.
+ *
+ * The logs are read a page at a time, priced by {@link PayrollBatch} with the
+ * overtime and half-day rules of each log's Assignment, and marked PAID. Each
+ * page, together with the run's running totals, is its own short transaction,
+ * so a run never holds a connection or row locks between pages and check-ins
+ * and check-outs on the same projects never queue behind it.
+ *
+ * A contractor has at most one RUNNING run (ux_payroll_runs_running). A run
+ * that fails part-way is recorded as FAILED with what it had paid; those logs
+ * keep their payroll_run_id, and running the period again pays the rest.
+ */
+@Slf4j
+@Service
+@Timed(value = "service.method", histogram = true)
+public class PayrollService {
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollLogRepository payrollLogRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private static final String RUNNING_RUN_INDEX = "ux_payroll_runs_running";
+
+    public PayrollService(PayrollRunRepository payrollRunRepository,
+                          PayrollLogRepository payrollLogRepository,
+                          UserRepository userRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${payroll.batch-size:1000}") int batchSize) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.payrollLogRepository = payrollLogRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public PayrollRunResponse runPayroll(PayrollRunRequest request) {
+        if (request.getFrom() == null || request.getTo() == null) {
+            throw new IllegalArgumentException("Both from and to are required.");
+        }
+        if (request.getTo().isBefore(request.getFrom())) {
+            throw new IllegalArgumentException("to must not be before from.");
+        }
+        Long contractorId = AuthenticatedUser.current().id();
+
+        PayrollRun run;
+        try {
+            run = transactionTemplate.execute(status -> payrollRunRepository.save(PayrollRun.builder()
+                    .contractor(userRepository.getReferenceById(contractorId))
+                    .periodFrom(request.getFrom())
+                    .periodTo(request.getTo())
+                    .status(PayrollRun.RunStatus.RUNNING)
+                    .startedAt(LocalDateTime.now())
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            throw runningRunConflict(e);
+        }
+
+        try {
+            return toResponse(pay(run, contractorId, request.getFrom(), request.getTo()));
+        } catch (RuntimeException e) {
+            log.warn("Payroll run {} failed; the pages it had already paid stay paid.", run.getId(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                // The committed totals, not the ones the failed page had started to add
+                PayrollRun failed = payrollRunRepository.findById(run.getId()).orElse(run);
+                failed.setStatus(PayrollRun.RunStatus.FAILED);
+                failed.setCompletedAt(LocalDateTime.now());
+                failed.setFailureReason(truncate(e.getMessage()));
+                payrollRunRepository.save(failed);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * Nothing can still be working on a run this process did not start.
+     * Assumes one instance, like the other in-memory state this app keeps.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedRuns() {
+        Integer failed = transactionTemplate.execute(status ->
+                payrollRunRepository.failRunning(LocalDateTime.now(), "Interrupted by a restart before it finished."));
+        if (failed != null && failed > 0) {
+            log.warn("Marked {} interrupted payroll run(s) as FAILED.", failed);
+        }
+    }
+
+    public List<PayrollRunResponse> getMyRuns() {
+        Long contractorId = AuthenticatedUser.current().id();
+        return payrollRunRepository.findByContractorIdOrderByStartedAtDesc(contractorId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // --- Helper Methods ---
+
+    private PayrollRun pay(PayrollRun run, Long contractorId, LocalDate from, LocalDate to) {
+        PayrollBatch batch = new PayrollBatch(batchSize, (logIds, amountsMinor, count) -> {
+            int paid = payrollLogRepository.markPaid(run.getId(), logIds, amountsMinor, count);
+            if (paid != count) {
+                throw new IllegalStateException(
+                        "Work logs changed while payroll was running; run the period again to pay the rest.");
+            }
+        });
+        LocalDateTime toExclusive = to.plusDays(1).atStartOfDay();
+
+        for (Long projectId : payrollLogRepository.findProjectIds(contractorId)) {
+            PageCursor cursor = PageCursor.startOf(from.atStartOfDay());
+            while (cursor != null) {
+                PageCursor after = cursor;
+                // One page per transaction: read, price and mark PAID, and record the totals so far
+                cursor = transactionTemplate.execute(status -> {
+                    long before = batch.logCount();
+                    PageCursor last = payrollLogRepository.readApprovedLogs(projectId, after, toExclusive, batchSize, batch);
+                    batch.flush();
+                    payrollRunRepository.save(withTotals(run, batch));
+                    return batch.logCount() - before < batchSize ? null : last; // A short page was the last one
+                });
+            }
+        }
+
+        return transactionTemplate.execute(status -> {
+            withTotals(run, batch).setStatus(PayrollRun.RunStatus.COMPLETED);
+            run.setLaborerCount(batch.logCount() > 0 ? payrollLogRepository.countLaborers(run.getId()) : 0);
+            run.setCompletedAt(LocalDateTime.now());
+            return payrollRunRepository.save(run);
+        });
+    }
+
+    private static PayrollRun withTotals(PayrollRun run, PayrollBatch batch) {
+        run.setLogCount(batch.logCount());
+        run.setTotalMinutes(batch.totalMinutes());
+        run.setOvertimeMinutes(batch.overtimeMinutes());
+        run.setHalfDayCount(batch.halfDayCount());
+        run.setGrossMinor(batch.grossMinor());
+        return run;
+    }
+
+    private RuntimeException runningRunConflict(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (RUNNING_RUN_INDEX.equalsIgnoreCase(constraint)) {
+            return new IllegalStateException("A payroll run is already in progress for your projects.");
+        }
+        return e;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    private PayrollRunResponse toResponse(PayrollRun run) {
+        return PayrollRunResponse.builder()
+                .id(run.getId())
+                .periodFrom(run.getPeriodFrom())
+                .periodTo(run.getPeriodTo())
+                .status(run.getStatus())
+                .logCount(run.getLogCount())
+                .laborerCount(run.getLaborerCount())
+                .totalMinutes(run.getTotalMinutes())
+                .overtimeMinutes(run.getOvertimeMinutes())
+                .halfDayCount(run.getHalfDayCount())
+                .grossMinor(run.getGrossMinor())
+                .gross(BigDecimal.valueOf(run.getGrossMinor(), 2))
+                .startedAt(run.getStartedAt())
+                .completedAt(run.getCompletedAt())
+                .failureReason(run.getFailureReason())
+                .build();
+    }
+}
@@ -1,25 +1,34 @@
 package com.pehchaan.backend.service;
 
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory; // ✅ IMPORT
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import com.pehchaan.backend.config.AuthenticatedUser;
 import com.pehchaan.backend.dto.profile.ProfileResponse;
 import com.pehchaan.backend.dto.profile.UpdateLocationRequest;
 import com.pehchaan.backend.dto.profile.UpdateProfileRequest;
 import com.pehchaan.backend.dto.profile.UpdateStatusRequest;
+import com.pehchaan.backend.entity.Role;
 import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.repository.GigRepository;
 import com.pehchaan.backend.repository.UserRepository;
+import com.pehchaan.backend.search.LaborerSkillIndex;
+import com.pehchaan.backend.search.LaborerSnapshot;
+import com.pehchaan.backend.search.LaborerUpdatedEvent;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class ProfileService {
 
     private final UserRepository userRepository;
-    private final GeometryFactory geometryFactory; // ✅ ADD THIS LINE
+    private final GigRepository gigRepository;
+    private final LaborerStateWriteBuffer laborerStateWriteBuffer;
+    private final LaborerSkillIndex laborerSkillIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProfileResponse getMyProfile() {
         User user = getAuthenticatedUser();
@@ -33,42 +42,73 @@ public class ProfileService {
         user.setSkills(request.getSkills());
         
         User updatedUser = userRepository.save(user);
+        publishLaborerUpdate(updatedUser);
         return mapUserToProfileResponse(updatedUser);
     }
 
+    /**
+     * Status changes are buffered and written in batches by LaborerStateWriteBuffer.
+     * The gig owns the status while one is accepted or in progress, so the change is
+     * refused rather than published here and then dropped by the flush. Checked after
+     * buffering, so an accept that commits in between is still seen.
+     */
     public ProfileResponse updateMyStatus(UpdateStatusRequest request) {
-        User user = getAuthenticatedUser();
-        user.setStatus(request.getStatus());
-        User updatedUser = userRepository.save(user);
-        return mapUserToProfileResponse(updatedUser); 
+        Long userId = AuthenticatedUser.current().id();
+        laborerStateWriteBuffer.submitStatus(userId, request.getStatus());
+        if (gigRepository.hasActiveGig(userId)) {
+            laborerStateWriteBuffer.discardStatus(userId);
+            throw new IllegalStateException("You can't change your status during an active gig.");
+        }
+        return afterBufferedWrite(userId);
     }
 
+    /**
+     * GPS pings are buffered too; only the latest one per laborer reaches the database.
+     */
     public ProfileResponse updateMyLocation(UpdateLocationRequest request) {
-        User user = getAuthenticatedUser();
-        
-        // This was failing with NullPointerException before
-        var locationPoint = geometryFactory.createPoint(
-            new Coordinate(request.getLongitude(), request.getLatitude())
-        );
-        user.setCurrentLocation(locationPoint);
-        
-        User updatedUser = userRepository.save(user);
-        return mapUserToProfileResponse(updatedUser);
+        Long userId = AuthenticatedUser.current().id();
+        laborerStateWriteBuffer.submitLocation(userId, request.getLatitude(), request.getLongitude());
+        return afterBufferedWrite(userId);
     }
 
     
     // --- Helper Methods ---
+    // Profile responses need the whole row, so this is a single primary-key lookup
     private User getAuthenticatedUser() {
-        String userPhone = SecurityContextHolder.getContext()
-                                                .getAuthentication()
-                                                .getName();
-        
-        return userRepository.findByPhone(userPhone)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userPhone));
+        Long userId = AuthenticatedUser.current().id();
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+    }
+
+    /**
+     * Answers a buffered write from the laborer's in-memory snapshot, so a ping
+     * costs no query at all; the database is read only when the index doesn't
+     * hold the user (not a laborer, or not loaded yet).
+     */
+    private ProfileResponse afterBufferedWrite(Long userId) {
+        LaborerSnapshot held = laborerSkillIndex.find(userId);
+        if (held == null) {
+            User user = userRepository.findWithSkillsById(userId)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+            publishLaborerUpdate(user);
+            return mapUserToProfileResponse(user);
+        }
+        LaborerSnapshot snapshot = laborerStateWriteBuffer.overlay(held);
+        eventPublisher.publishEvent(new LaborerUpdatedEvent(snapshot));
+        return snapshot.toProfileResponse();
+    }
+
+    // Keeps the in-memory search indexes in step with what we just wrote
+    private void publishLaborerUpdate(User user) {
+        if (user.getRole() == Role.ROLE_LABOR) {
+            LaborerSnapshot snapshot = laborerStateWriteBuffer.overlay(LaborerSnapshot.fromEntity(user));
+            eventPublisher.publishEvent(new LaborerUpdatedEvent(snapshot));
+        }
     }
 
     private ProfileResponse mapUserToProfileResponse(User user) {
-        // This relies on the ProfileResponse.fromEntity() method
-        return ProfileResponse.fromEntity(user);
+        // This relies on the ProfileResponse.fromEntity() method.
+        // Overlay any buffered location/status so the caller reads their own writes.
+        return laborerStateWriteBuffer.overlay(ProfileResponse.fromEntity(user));
     }
 }
\ No newline at end of file
@@ -1,31 +1,45 @@
 package com.pehchaan.backend.service;
 
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.common.GeoCoordinate;
 import com.pehchaan.backend.dto.project.CreateProjectRequest;
 import com.pehchaan.backend.dto.project.ProjectResponse;
+import com.pehchaan.backend.dto.project.UpdateProjectSiteRequest;
+import com.pehchaan.backend.dto.project.UpdateShiftPolicyRequest;
 import com.pehchaan.backend.entity.Project;
 import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.geofence.ProjectSiteChangedEvent;
 import com.pehchaan.backend.repository.ProjectRepository;
+import com.pehchaan.backend.shift.ShiftPolicyChangedEvent;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory; // ✅ IMPORT
 import org.locationtech.jts.geom.Point;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.locationtech.jts.geom.Polygon;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.pehchaan.backend.repository.UserRepository;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final GeometryFactory geometryFactory; // ✅ ADD THIS INJECTION
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProjectResponse createProject(CreateProjectRequest request) {
-        User contractor = getAuthenticatedUser();
+        // The caller's id comes from the token; a reference is all the FK needs
+        User contractor = userRepository.getReferenceById(AuthenticatedUser.current().id());
 
         // This was causing a NullPointerException
         Coordinate coordinate = new Coordinate(request.getLongitude(), request.getLatitude());
@@ -37,24 +51,95 @@ public class ProjectService {
                 .location(locationPoint) 
                 .contractor(contractor)
                 .build();
+        applySite(project, request.getSiteBoundary(), request.getSiteBufferMeters(), request.getSiteRadiusMeters());
+        applyShiftPolicy(project, request.getShiftCutoff(), request.getMaxShiftMinutes());
 
         Project savedProject = projectRepository.save(project);
         return ProjectResponse.fromEntity(savedProject);
     }
 
+    /**
+     * Replaces the project's geofence (outline, buffer and radius).
+     */
+    @Transactional
+    public ProjectResponse updateProjectSite(Long projectId, UpdateProjectSiteRequest request) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found."));
+        if (!project.getContractor().getId().equals(AuthenticatedUser.current().id())) {
+            throw new AccessDeniedException("You are not authorized to modify this project.");
+        }
+
+        applySite(project, request.getSiteBoundary(), request.getSiteBufferMeters(), request.getSiteRadiusMeters());
+        Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectSiteChangedEvent(projectId)); // Drops the cached geofence
+        return ProjectResponse.fromEntity(savedProject);
+    }
+
+    /**
+     * Sets when the project's open shifts are auto-checked out.
+     */
+    @Transactional
+    public ProjectResponse updateShiftPolicy(Long projectId, UpdateShiftPolicyRequest request) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found."));
+        if (!project.getContractor().getId().equals(AuthenticatedUser.current().id())) {
+            throw new AccessDeniedException("You are not authorized to modify this project.");
+        }
+
+        applyShiftPolicy(project, request.getShiftCutoff(), request.getMaxShiftMinutes());
+        Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ShiftPolicyChangedEvent(projectId)); // Re-times open shifts
+        return ProjectResponse.fromEntity(savedProject);
+    }
+
     public List<ProjectResponse> getMyProjects() {
-        User contractor = getAuthenticatedUser();
-        return projectRepository.findByContractorId(contractor.getId())
+        AuthenticatedUser contractor = AuthenticatedUser.current();
+        return projectRepository.findByContractorId(contractor.id())
                 .stream()
                 .map(ProjectResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
-    private User getAuthenticatedUser() {
-        String userPhone = SecurityContextHolder.getContext()
-                                                .getAuthentication()
-                                                .getName();
-        return userRepository.findByPhone(userPhone)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userPhone));
+    // --- Helper Methods ---
+    private void applySite(Project project, List<GeoCoordinate> boundary, Double bufferMeters, Double radiusMeters) {
+        if (bufferMeters != null && bufferMeters < 0) {
+            throw new IllegalArgumentException("Site buffer cannot be negative.");
+        }
+        if (radiusMeters != null && radiusMeters <= 0) {
+            throw new IllegalArgumentException("Site radius must be positive.");
+        }
+        project.setSitePolygon(boundary == null || boundary.isEmpty() ? null : toPolygon(boundary));
+        project.setSiteBufferMeters(bufferMeters);
+        project.setSiteRadiusMeters(radiusMeters);
+    }
+
+    private void applyShiftPolicy(Project project, LocalTime cutoff, Integer maxShiftMinutes) {
+        if (maxShiftMinutes != null && maxShiftMinutes <= 0) {
+            throw new IllegalArgumentException("Maximum shift length must be positive.");
+        }
+        project.setShiftCutoff(cutoff);
+        project.setMaxShiftMinutes(maxShiftMinutes);
+    }
+
+    private Polygon toPolygon(List<GeoCoordinate> boundary) {
+        if (boundary.size() < 3) {
+            throw new IllegalArgumentException("A site boundary needs at least 3 points.");
+        }
+        List<Coordinate> ring = new ArrayList<>();
+        for (GeoCoordinate point : boundary) {
+            ring.add(new Coordinate(point.getLongitude(), point.getLatitude())); // X is Longitude
+        }
+        if (!ring.get(0).equals2D(ring.get(ring.size() - 1))) {
+            ring.add(new Coordinate(ring.get(0))); // Close the ring
+        }
+        if (ring.size() < 4) {
+            throw new IllegalArgumentException("A site boundary needs at least 3 points.");
+        }
+
+        Polygon polygon = geometryFactory.createPolygon(ring.toArray(Coordinate[]::new));
+        if (!polygon.isValid()) {
+            throw new IllegalArgumentException("Site boundary is not a valid polygon.");
+        }
+        return polygon;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.pehchaan.backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * The wage rules for one shift, shared by manual check-out and auto-checkout.
+ */
+public final class WageCalculator {
+
+    private WageCalculator() {
+    }
+
+    /**
+     * DAILY pays the rate once per shift; HOURLY pays the rate per hour worked
+     * (whole minutes, hours rounded to 2 places). Unknown wage types earn nothing.
+     */
+    public static BigDecimal calculate(String wageType, BigDecimal wageRate, LocalDateTime checkIn, LocalDateTime checkOut) {
+        if ("DAILY".equals(wageType)) {
+            return wageRate;
+        } else if ("HOURLY".equals(wageType)) {
+            BigDecimal hours = new BigDecimal(minutesWorked(checkIn, checkOut)).divide(new BigDecimal(60), 2, RoundingMode.HALF_UP);
+            return wageRate.multiply(hours);
+        }
+        return BigDecimal.ZERO;
+    }
+
+    public static long minutesWorked(LocalDateTime checkIn, LocalDateTime checkOut) {
+        return Duration.between(checkIn, checkOut).toMinutes();
+    }
+}
@@ -1,100 +1,130 @@
 package com.pehchaan.backend.service;
 
+import com.pehchaan.backend.config.AuthenticatedUser;
+import com.pehchaan.backend.dto.common.KeysetCursor;
+import com.pehchaan.backend.dto.common.PageResponse;
+import com.pehchaan.backend.dto.work.BulkApproveRequest;
+import com.pehchaan.backend.dto.work.BulkApproveResponse;
 import com.pehchaan.backend.dto.work.CheckInRequest;
+import com.pehchaan.backend.dto.work.WorkLogFilter;
 import com.pehchaan.backend.dto.work.WorkLogResponse;
+import com.pehchaan.backend.dto.work.WorkSummaryResponse;
+import com.pehchaan.backend.dto.work.WorkSummaryRow;
 import com.pehchaan.backend.entity.Assignment; // ✅ ADD
 import com.pehchaan.backend.entity.Project;
-import com.pehchaan.backend.entity.User;
 import com.pehchaan.backend.entity.WorkLog;
+import com.pehchaan.backend.geofence.SiteGeofenceCache;
+import com.pehchaan.backend.metrics.DomainMetrics;
 import com.pehchaan.backend.repository.AssignmentRepository; // ✅ ADD
 import com.pehchaan.backend.repository.ProjectRepository;
 import com.pehchaan.backend.repository.UserRepository;
+import com.pehchaan.backend.repository.WorkLogQueryRepository;
 import com.pehchaan.backend.repository.WorkLogRepository;
+import com.pehchaan.backend.repository.WorkLogRollupRepository;
+import com.pehchaan.backend.repository.WorkLogTransitionRepository;
+import com.pehchaan.backend.shift.OpenShift;
+import com.pehchaan.backend.shift.ShiftEndedEvent;
+import com.pehchaan.backend.shift.ShiftPolicy;
+import com.pehchaan.backend.shift.ShiftStartedEvent;
+import io.micrometer.core.annotation.Timed;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.Point;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException; 
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class WorkLogService {
 
+    private static final int MAX_BULK_APPROVE_IDS = 1000;
+
     private final WorkLogRepository workLogRepository;
+    private final WorkLogQueryRepository workLogQueryRepository;
+    private final WorkLogRollupRepository workLogRollupRepository;
+    private final WorkLogTransitionRepository workLogTransitionRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final GeometryFactory geometryFactory;
+    private final SiteGeofenceCache siteGeofenceCache;
     private final AssignmentRepository assignmentRepository; // ✅ ADD
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainMetrics domainMetrics;
 
     @Transactional
     public WorkLogResponse checkIn(@NonNull CheckInRequest request) {
-        User laborer = getAuthenticatedUser();
+        Long laborerId = AuthenticatedUser.current().id();
 
         // 1. Check if laborer is already checked in
-        workLogRepository.findByLaborerIdAndCheckOutTimeIsNull(laborer.getId())
+        workLogRepository.findByLaborerIdAndCheckOutTimeIsNull(laborerId)
             .ifPresent(activeLog -> {
+                domainMetrics.checkInRejected(DomainMetrics.CheckInRejection.ALREADY_CHECKED_IN);
                 throw new IllegalStateException("User is already checked in to a project.");
             });
 
         // 2. ✅ Check if laborer is assigned to this project
-        assignmentRepository.findByLaborerIdAndProjectId(laborer.getId(), request.getProjectId())
-            .orElseThrow(() -> new AccessDeniedException("You are not assigned to this project."));
+        assignmentRepository.findByLaborerIdAndProjectId(laborerId, request.getProjectId())
+            .orElseThrow(() -> {
+                domainMetrics.checkInRejected(DomainMetrics.CheckInRejection.NOT_ASSIGNED);
+                return new AccessDeniedException("You are not assigned to this project.");
+            });
 
         Project project = projectRepository.findById(request.getProjectId())
             .orElseThrow(() -> new IllegalArgumentException("Project not found."));
         
-        Point laborerLocation = geometryFactory.createPoint(
-            new Coordinate(request.getLongitude(), request.getLatitude())
-        );
-
-        // 3. Run the Geofence query (now checking meters)
-        boolean onSite = projectRepository.isLaborerOnSite(project.getId(), laborerLocation);
+        // 3. Geofence check against the project's cached, prepared site area (no spatial query)
+        boolean onSite = siteGeofenceCache.isOnSite(project, request.getLatitude(), request.getLongitude());
 
         if (!onSite) {
+            domainMetrics.checkInRejected(DomainMetrics.CheckInRejection.GEOFENCE);
             throw new IllegalStateException("You are not at the worksite. Check-in failed.");
         }
 
         // 4. Create and save the new "ACTIVE" work log
         WorkLog newLog = WorkLog.builder()
-                .laborer(laborer)
+                .laborer(userRepository.getReferenceById(laborerId))
                 .project(project)
                 .checkInTime(LocalDateTime.now())
                 .status(WorkLog.WorkStatus.ACTIVE)
                 .build();
         
         WorkLog savedLog = workLogRepository.save(newLog);
+        workLogRollupRepository.apply(project.getId(), laborerId, savedLog.getCheckInTime().toLocalDate(),
+                0, BigDecimal.ZERO, null, WorkLog.WorkStatus.ACTIVE);
+        eventPublisher.publishEvent(new ShiftStartedEvent(new OpenShift(savedLog.getId(), project.getId(),
+                savedLog.getCheckInTime(), new ShiftPolicy(project.getShiftCutoff(), project.getMaxShiftMinutes()))));
         return WorkLogResponse.fromEntity(savedLog);
     }
 
     @Transactional
     public WorkLogResponse checkOut() {
-        User laborer = getAuthenticatedUser();
+        Long laborerId = AuthenticatedUser.current().id();
 
-        WorkLog activeLog = workLogRepository.findByLaborerIdAndCheckOutTimeIsNull(laborer.getId())
+        WorkLog activeLog = workLogRepository.findByLaborerIdAndCheckOutTimeIsNull(laborerId)
             .orElseThrow(() -> new IllegalStateException("You are not checked in."));
 
         // ✅ REFACTORED: Get the Assignment to find the wage
         Assignment assignment = assignmentRepository.findByLaborerIdAndProjectId(
-            laborer.getId(), 
+            laborerId, 
             activeLog.getProject().getId()
         ).orElseThrow(() -> new IllegalStateException("No assignment found for this project."));
 
         LocalDateTime checkOutTime = LocalDateTime.now();
 
         // Calculate wage using the ASSIGNMENT'S wage details
-        BigDecimal wageEarned = calculateWage(
+        BigDecimal wageEarned = WageCalculator.calculate(
             assignment.getWageType(), 
             assignment.getWageRate(), 
             activeLog.getCheckInTime(), 
@@ -105,64 +135,189 @@ public class WorkLogService {
         activeLog.setWageEarned(wageEarned);
         activeLog.setStatus(WorkLog.WorkStatus.PENDING_APPROVAL);
         WorkLog savedLog = workLogRepository.save(activeLog);
+        workLogRollupRepository.apply(activeLog.getProject().getId(), laborerId,
+                activeLog.getCheckInTime().toLocalDate(),
+                WageCalculator.minutesWorked(activeLog.getCheckInTime(), checkOutTime), wageEarned,
+                WorkLog.WorkStatus.ACTIVE, WorkLog.WorkStatus.PENDING_APPROVAL);
+        eventPublisher.publishEvent(new ShiftEndedEvent(savedLog.getId()));
         return WorkLogResponse.fromEntity(savedLog);
     }
 
+    /**
+     * Goes through the same guarded UPDATE as bulk approval, so when two
+     * approvals race exactly one of them moves the log (and its rollup).
+     */
     @Transactional
     public WorkLogResponse approveWorkLog(Long logId) {
-        // ... (This logic is unchanged)
-        User contractor = getAuthenticatedUser();
-        WorkLog log = workLogRepository.findById(logId)
+        AuthenticatedUser contractor = AuthenticatedUser.current();
+        if (workLogTransitionRepository.approvePendingByIds(contractor.id(), List.of(logId)).isEmpty()) {
+            // Nothing changed; work out why for the caller
+            WorkLog log = workLogRepository.findById(logId)
+                .orElseThrow(() -> new IllegalArgumentException("Work log not found."));
+            if (!log.getProject().getContractor().getId().equals(contractor.id())) {
+                throw new AccessDeniedException("You are not authorized to approve this work log.");
+            }
+            throw new IllegalStateException("This log is not pending approval.");
+        }
+        // Not loaded before the UPDATE, so this reads the approved row
+        WorkLog approved = workLogRepository.findById(logId)
             .orElseThrow(() -> new IllegalArgumentException("Work log not found."));
-        if (!log.getProject().getContractor().getId().equals(contractor.getId())) {
-            throw new AccessDeniedException("You are not authorized to approve this work log.");
+        return WorkLogResponse.fromEntity(approved);
+    }
+
+    /**
+     * Approves many PENDING_APPROVAL logs in one statement, either by id or by
+     * project (and optional check-in date range). Ownership is checked in the
+     * same statement; ids it could not approve are reported back as skipped.
+     */
+    @Transactional
+    public BulkApproveResponse approveWorkLogs(@NonNull BulkApproveRequest request) {
+        Long contractorId = AuthenticatedUser.current().id();
+        boolean byIds = request.getLogIds() != null && !request.getLogIds().isEmpty();
+        if (byIds && request.getProjectId() != null) {
+            throw new IllegalArgumentException("Provide either logIds or a projectId, not both.");
         }
-        if (log.getStatus() != WorkLog.WorkStatus.PENDING_APPROVAL) {
-            throw new IllegalStateException("This log is not pending approval.");
+        if (!byIds && request.getProjectId() == null) {
+            throw new IllegalArgumentException("Provide logIds or a projectId to approve.");
         }
-        log.setStatus(WorkLog.WorkStatus.APPROVED);
-        WorkLog savedLog = workLogRepository.save(log);
-        return WorkLogResponse.fromEntity(savedLog);
+        if (request.getFrom() != null && request.getTo() != null && request.getFrom().isAfter(request.getTo())) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+
+        List<Long> approvedIds;
+        List<Long> skippedIds = List.of();
+        if (byIds) {
+            Set<Long> requested = new LinkedHashSet<>(request.getLogIds());
+            requested.remove(null);
+            if (requested.size() > MAX_BULK_APPROVE_IDS) {
+                throw new IllegalArgumentException("At most " + MAX_BULK_APPROVE_IDS + " logs can be approved at once.");
+            }
+            approvedIds = workLogTransitionRepository.approvePendingByIds(contractorId, requested);
+            Set<Long> approved = new HashSet<>(approvedIds);
+            skippedIds = requested.stream().filter(id -> !approved.contains(id)).toList();
+        } else {
+            approvedIds = workLogTransitionRepository.approvePendingByProject(
+                    contractorId, request.getProjectId(), request.getFrom(), request.getTo());
+        }
+
+        return BulkApproveResponse.builder()
+                .approvedCount(approvedIds.size())
+                .approvedIds(approvedIds)
+                .skippedIds(skippedIds)
+                .build();
     }
 
-    private BigDecimal calculateWage(String wageType, BigDecimal wageRate, LocalDateTime checkIn, LocalDateTime checkOut) {
-        // ... (This logic is unchanged)
-        if ("DAILY".equals(wageType)) {
-            return wageRate;
-        } else if ("HOURLY".equals(wageType)) {
-            long minutes = Duration.between(checkIn, checkOut).toMinutes();
-            BigDecimal hours = new BigDecimal(minutes).divide(new BigDecimal(60), 2, RoundingMode.HALF_UP);
-            return wageRate.multiply(hours);
+    /**
+     * Auto-checkout: closes the still-open logs among these ids at the given
+     * times, with wages worked out exactly as for a manual check-out. Logs and
+     * their assignments are read in one query each; the updates go out as JDBC
+     * batches. Returns the ids that were closed.
+     */
+    @Transactional
+    public List<Long> closeExpiredShifts(Map<Long, LocalDateTime> closeAtByLogId) {
+        List<WorkLog> logs = workLogRepository.findOpenByIdsForUpdate(closeAtByLogId.keySet());
+        if (logs.isEmpty()) {
+            return List.of();
         }
-        return BigDecimal.ZERO;
+
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> laborerIds = new HashSet<>();
+        for (WorkLog log : logs) {
+            projectIds.add(log.getProject().getId());
+            laborerIds.add(log.getLaborer().getId());
+        }
+        Map<String, Assignment> assignments = new HashMap<>();
+        for (Assignment assignment : assignmentRepository.findByProjectIdsAndLaborerIds(projectIds, laborerIds)) {
+            assignments.put(assignment.getProject().getId() + ":" + assignment.getLaborer().getId(), assignment);
+        }
+
+        List<Long> closed = new ArrayList<>();
+        for (WorkLog log : logs) {
+            Long projectId = log.getProject().getId();
+            Long laborerId = log.getLaborer().getId();
+            LocalDateTime checkOutTime = closeAtByLogId.get(log.getId());
+            Assignment assignment = assignments.get(projectId + ":" + laborerId);
+            // Removed from the project mid-shift: close the log, but there is no rate to pay from
+            BigDecimal wageEarned = assignment == null ? BigDecimal.ZERO : WageCalculator.calculate(
+                    assignment.getWageType(), assignment.getWageRate(), log.getCheckInTime(), checkOutTime);
+
+            log.setCheckOutTime(checkOutTime);
+            log.setWageEarned(wageEarned);
+            log.setStatus(WorkLog.WorkStatus.PENDING_APPROVAL);
+            closed.add(log.getId());
+        }
+
+        // After the loop: the first upsert flushes every log update above in one batch
+        for (WorkLog log : logs) {
+            workLogRollupRepository.apply(log.getProject().getId(), log.getLaborer().getId(),
+                    log.getCheckInTime().toLocalDate(),
+                    WageCalculator.minutesWorked(log.getCheckInTime(), log.getCheckOutTime()), log.getWageEarned(),
+                    WorkLog.WorkStatus.ACTIVE, WorkLog.WorkStatus.PENDING_APPROVAL);
+        }
+        return closed;
     }
 
     public List<WorkLogResponse> getMyWorkLogs() {
-        // ... (This logic is unchanged from the last step)
-        User user = getAuthenticatedUser();
-        List<WorkLog> logs;
-        if (user.getRole() == com.pehchaan.backend.entity.Role.ROLE_LABOR) {
-            logs = workLogRepository.findByLaborerId(user.getId());
-        } else if (user.getRole() == com.pehchaan.backend.entity.Role.ROLE_CONTRACTOR) {
-            List<Long> projectIds = projectRepository.findByContractorId(user.getId())
-                    .stream().map(Project::getId).collect(Collectors.toList());
-            if (projectIds.isEmpty()) {
-                logs = List.of();
-            } else {
-                logs = workLogRepository.findByProjectIdIn(projectIds);
-            }
-        } else {
-            logs = List.of();
+        // One joined query for either role; no per-log lazy loading
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user.role() == com.pehchaan.backend.entity.Role.ROLE_LABOR) {
+            return workLogQueryRepository.findLaborerLogs(user.id(), WorkLogFilter.NONE, KeysetCursor.START, null);
+        } else if (user.role() == com.pehchaan.backend.entity.Role.ROLE_CONTRACTOR) {
+            return workLogQueryRepository.findContractorLogs(user.id(), WorkLogFilter.NONE, KeysetCursor.START, null);
+        }
+        return List.of();
+    }
+
+    /**
+     * Contractor dashboard: one keyset page of logs across all their projects,
+     * newest check-in first, optionally filtered by project, status and date range.
+     */
+    public PageResponse<WorkLogResponse> getContractorDashboard(WorkLogFilter filter, String cursor, Integer limit) {
+        AuthenticatedUser contractor = AuthenticatedUser.current();
+        int pageSize = KeysetCursor.clampPageSize(limit);
+        List<WorkLogResponse> logs = workLogQueryRepository.findContractorLogs(
+                contractor.id(), filter, KeysetCursor.decode(cursor), pageSize);
+
+        String nextCursor = null;
+        if (logs.size() == pageSize) {
+            WorkLogResponse last = logs.get(logs.size() - 1);
+            nextCursor = new KeysetCursor(last.getCheckInTime(), last.getId()).encode();
+        }
+        return PageResponse.<WorkLogResponse>builder()
+                .items(logs)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Payroll totals per project, laborer and day, read only from the rollups.
+     * Contractors see their projects; laborers see their own days.
+     */
+    public WorkSummaryResponse getWorkSummary(Long projectId, LocalDate from, LocalDate to) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        List<WorkSummaryRow> rows = user.role() == com.pehchaan.backend.entity.Role.ROLE_CONTRACTOR
+                ? workLogRollupRepository.findContractorSummary(user.id(), projectId, from, to)
+                : workLogRollupRepository.findLaborerSummary(user.id(), projectId, from, to);
+
+        long totalMinutes = 0;
+        BigDecimal totalWage = BigDecimal.ZERO;
+        for (WorkSummaryRow row : rows) {
+            totalMinutes += row.getMinutesWorked();
+            totalWage = totalWage.add(row.getWageTotal());
         }
-        return logs.stream()
-                   .map(WorkLogResponse::fromEntity)
-                   .collect(Collectors.toList());
+        return WorkSummaryResponse.builder()
+                .rows(rows)
+                .totalMinutesWorked(totalMinutes)
+                .totalWage(totalWage)
+                .build();
     }
 
-    private User getAuthenticatedUser() {
-        // ... (This logic is unchanged)
-        String userPhone = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByPhone(userPhone)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userPhone));
+    /**
+     * Recomputes the rollups of the calling contractor's projects from the raw work logs.
+     * Returns the number of rollup rows that were out of step and got corrected.
+     */
+    @Transactional
+    public int rebuildWorkSummary() {
+        return workLogRollupRepository.rebuild(AuthenticatedUser.current().id());
     }
-}
\ No newline at end of file
+}
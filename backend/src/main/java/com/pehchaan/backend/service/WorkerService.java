@@ -1,11 +1,12 @@
 package com.pehchaan.backend.service;
 
 import com.pehchaan.backend.dto.profile.ProfileResponse;
-import com.pehchaan.backend.repository.WorkerSearchRepository;
+import com.pehchaan.backend.metrics.DomainMetrics;
+import com.pehchaan.backend.search.LaborerGeoIndex;
+import com.pehchaan.backend.search.LaborerSnapshot;
+import com.pehchaan.backend.search.NearbySearchCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.Point;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,25 +14,41 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "service.method", histogram = true)
 public class WorkerService {
 
-    private final WorkerSearchRepository workerSearchRepository;
-    private final GeometryFactory geometryFactory;
+    private static final double NEARBY_RADIUS_METERS = 5000;
+    private static final int NEARBY_LIMIT = 10;
+
+    private final LaborerGeoIndex laborerGeoIndex;
+    private final NearbySearchCache nearbySearchCache;
+    private final DomainMetrics domainMetrics;
 
     /**
      * Finds nearby available workers based on skill and consumer's location.
+     * Served from the in-memory geo index once it is warm; otherwise from
+     * PostGIS through the tile-keyed NearbySearchCache.
      */
     public List<ProfileResponse> findNearbyWorkers(String skill, double latitude, double longitude) {
-        // 1. Create a PostGIS Point for the consumer's location
-        Point consumerLocation = geometryFactory.createPoint(
-            new Coordinate(longitude, latitude)
-        );
-
-        // 2. Call the repository to find workers
-        // ✅ FIXED: Swapped the argument order to (consumerLocation, skill)
-        return workerSearchRepository.findNearbyAvailableWorkers(consumerLocation, skill)
-                .stream()
-                .map(ProfileResponse::fromEntity) // Convert User entities to safe DTOs
+        boolean fromIndex = laborerGeoIndex.isWarm();
+        List<LaborerSnapshot> nearest = fromIndex
+                ? laborerGeoIndex.findNearest(skill, latitude, longitude, NEARBY_RADIUS_METERS, NEARBY_LIMIT)
+                : nearbySearchCache.findNearest(skill, latitude, longitude, NEARBY_RADIUS_METERS, NEARBY_LIMIT);
+        domainMetrics.nearbySearch(fromIndex ? DomainMetrics.SearchSource.INDEX : DomainMetrics.SearchSource.SQL,
+                nearest.size());
+
+        return nearest.stream()
+                .map(LaborerSnapshot::toProfileResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ids of the nearest available workers (closest first), for dispatch-mode gigs.
+     */
+    public List<Long> findDispatchCandidates(String skill, double latitude, double longitude, int limit) {
+        return findNearbyWorkers(skill, latitude, longitude).stream()
+                .limit(limit)
+                .map(ProfileResponse::getId)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
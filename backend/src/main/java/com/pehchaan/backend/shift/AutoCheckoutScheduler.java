@@ -0,0 +1,170 @@
+package com.pehchaan.backend.shift;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.pehchaan.backend.repository.WorkLogQueryRepository;
+import com.pehchaan.backend.service.WorkLogService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closes shifts that were never checked out, at the project's cutoff or
+ * maximum shift length (see {@link ShiftPolicy}).
+ *
+ * Every open work log has a timer in a {@link HashedTimerWheel}. The wheel is
+ * seeded once at startup from the open-log partial index, and then kept
+ * current from check-in/check-out events, so the table is never polled. Each
+ * tick closes whatever came due through
+ * {@link WorkLogService#closeExpiredShifts}, in batches.
+ */
+@Slf4j
+@Component
+public class AutoCheckoutScheduler {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final WorkLogQueryRepository workLogQueryRepository;
+    private final WorkLogService workLogService;
+    private final boolean enabled;
+    private final Duration defaultMaxShift;
+    private final int batchSize;
+    private final HashedTimerWheel wheel;
+
+    // logId -> when the shift should have ended
+    private final Map<Long, LocalDateTime> closeAt = new ConcurrentHashMap<>();
+    // Logs that could not be closed on the first try (row locked by a concurrent check-out)
+    private final Set<Long> retrying = ConcurrentHashMap.newKeySet();
+    private final long tickMillis;
+
+    public AutoCheckoutScheduler(WorkLogQueryRepository workLogQueryRepository,
+                                 WorkLogService workLogService,
+                                 @Value("${work.auto-checkout.enabled:true}") boolean enabled,
+                                 @Value("${work.auto-checkout.default-max-shift-hours:12}") long defaultMaxShiftHours,
+                                 @Value("${work.auto-checkout.batch-size:100}") int batchSize,
+                                 @Value("${work.auto-checkout.tick-ms:30000}") long tickMillis) {
+        this.workLogQueryRepository = workLogQueryRepository;
+        this.workLogService = workLogService;
+        this.enabled = enabled;
+        this.defaultMaxShift = Duration.ofHours(defaultMaxShiftHours);
+        this.batchSize = batchSize;
+        this.tickMillis = tickMillis;
+        this.wheel = new HashedTimerWheel(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    public int pendingShifts() {
+        return wheel.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!enabled) {
+            log.info("Auto-checkout is disabled; open shifts stay open until checked out.");
+            return;
+        }
+        try {
+            List<OpenShift> open = workLogQueryRepository.findOpenShifts(null);
+            open.forEach(this::track);
+            log.info("Auto-checkout is timing {} open shifts.", open.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not load open shifts; only shifts started from now on will be auto-closed.", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onShiftStarted(ShiftStartedEvent event) {
+        if (enabled) {
+            track(event.shift());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onShiftEnded(ShiftEndedEvent event) {
+        untrack(event.logId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onShiftPolicyChanged(ShiftPolicyChangedEvent event) {
+        if (enabled) {
+            workLogQueryRepository.findOpenShifts(event.projectId()).forEach(this::track);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${work.auto-checkout.tick-ms:30000}")
+    public void closeDueShifts() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            Map<Long, LocalDateTime> deadlines = new HashMap<>();
+            for (Long logId : batch) {
+                LocalDateTime at = closeAt.get(logId);
+                if (at != null) {
+                    deadlines.put(logId, at);
+                }
+            }
+            closeBatch(deadlines);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void closeBatch(Map<Long, LocalDateTime> deadlines) {
+        if (deadlines.isEmpty()) {
+            return;
+        }
+        Set<Long> closed;
+        try {
+            closed = new HashSet<>(workLogService.closeExpiredShifts(deadlines));
+        } catch (RuntimeException e) {
+            log.warn("Auto-checkout of {} shifts failed; retrying next tick.", deadlines.size(), e);
+            deadlines.keySet().forEach(this::retryLater);
+            return;
+        }
+        for (Long logId : deadlines.keySet()) {
+            if (closed.contains(logId) || !retrying.add(logId)) {
+                // Closed now, or already checked out (or locked twice running): stop timing it
+                untrack(logId);
+            } else {
+                retryLater(logId);
+            }
+        }
+        if (!closed.isEmpty()) {
+            log.info("Auto-checked out {} shifts.", closed.size());
+        }
+    }
+
+    private void track(OpenShift shift) {
+        LocalDateTime deadline = shift.policy().closesAt(shift.checkInTime(), defaultMaxShift);
+        closeAt.put(shift.logId(), deadline);
+        retrying.remove(shift.logId());
+        wheel.schedule(shift.logId(), deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void untrack(Long logId) {
+        wheel.cancel(logId);
+        closeAt.remove(logId);
+        retrying.remove(logId);
+    }
+
+    private void retryLater(Long logId) {
+        wheel.schedule(logId, System.currentTimeMillis() + tickMillis);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pehchaan.backend.shift;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hashed timer wheel keyed by id.
+ *
+ * Each timer sits in the slot for its deadline tick, modulo the wheel size.
+ * {@link #advance} only visits the slots for the ticks that have passed, and
+ * fires the entries in them whose deadline is due. Entries more than one
+ * revolution out stay put until their lap comes round. Scheduling and
+ * cancelling are O(1), and no work depends on how many timers are far in the
+ * future.
+ */
+final class HashedTimerWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<Long, Long>> slots; // id -> deadline (epoch millis)
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private long currentTick;
+
+    HashedTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two.");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) the id. A deadline already in the past fires on the next advance.
+     */
+    synchronized void schedule(Long id, long deadlineMillis) {
+        cancel(id);
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        int slot = (int) (tick & mask);
+        slots.get(slot).put(id, deadlineMillis);
+        slotById.put(id, slot);
+    }
+
+    synchronized boolean cancel(Long id) {
+        Integer slot = slotById.remove(id);
+        return slot != null && slots.get(slot).remove(id) != null;
+    }
+
+    synchronized boolean contains(Long id) {
+        return slotById.containsKey(id);
+    }
+
+    synchronized int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and removes and returns every id whose deadline has passed.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Long> expired = new ArrayList<>();
+        // After a long pause one full revolution already covers every slot
+        long from = Math.max(currentTick, targetTick - mask);
+        for (long tick = from; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<Long, Long>> it = slots.get((int) (tick & mask)).entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Long> entry = it.next();
+                if (entry.getValue() <= nowMillis) {
+                    it.remove();
+                    slotById.remove(entry.getKey());
+                    expired.add(entry.getKey());
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+}
@@ -0,0 +1,9 @@
+package com.pehchaan.backend.shift;
+
+import java.time.LocalDateTime;
+
+/**
+ * A work log that is still checked in, with what is needed to know when to close it.
+ */
+public record OpenShift(Long logId, Long projectId, LocalDateTime checkInTime, ShiftPolicy policy) {
+}
@@ -0,0 +1,7 @@
+package com.pehchaan.backend.shift;
+
+/**
+ * Published when a laborer checks out, so the shift's auto-checkout timer is cancelled.
+ */
+public record ShiftEndedEvent(Long logId) {
+}
@@ -0,0 +1,26 @@
+package com.pehchaan.backend.shift;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * When a project's open shifts are closed automatically: at the first
+ * {@code cutoff} after check-in, or after {@code maxShiftMinutes}, whichever
+ * comes first. Either may be null; a project with neither falls back to the
+ * configured default maximum shift length.
+ */
+public record ShiftPolicy(LocalTime cutoff, Integer maxShiftMinutes) {
+
+    public LocalDateTime closesAt(LocalDateTime checkIn, Duration defaultMaxShift) {
+        LocalDateTime byLength = checkIn.plus(maxShiftMinutes != null ? Duration.ofMinutes(maxShiftMinutes) : defaultMaxShift);
+        if (cutoff == null) {
+            return byLength;
+        }
+        LocalDateTime byCutoff = checkIn.toLocalDate().atTime(cutoff);
+        if (!byCutoff.isAfter(checkIn)) {
+            byCutoff = byCutoff.plusDays(1); // Checked in after today's cutoff: tomorrow's applies
+        }
+        return byCutoff.isBefore(byLength) ? byCutoff : byLength;
+    }
+}
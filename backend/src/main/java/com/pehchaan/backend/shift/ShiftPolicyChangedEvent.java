@@ -0,0 +1,7 @@
+package com.pehchaan.backend.shift;
+
+/**
+ * Published when a project's cutoff or maximum shift length changes; its open shifts are re-timed.
+ */
+public record ShiftPolicyChangedEvent(Long projectId) {
+}
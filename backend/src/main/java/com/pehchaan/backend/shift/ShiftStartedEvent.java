@@ -0,0 +1,7 @@
+package com.pehchaan.backend.shift;
+
+/**
+ * Published by WorkLogService on check-in; AutoCheckoutScheduler starts timing the shift after commit.
+ */
+public record ShiftStartedEvent(OpenShift shift) {
+}
@@ -0,0 +1,30 @@
+package com.pehchaan.backend.sqlstats;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL string to its shape, so that the same query with different
+ * values counts as one: literals become ?, IN lists collapse to one ?, and
+ * whitespace is normalised. Hibernate already binds parameters, so this
+ * mostly matters for native and JdbcTemplate queries.
+ */
+final class SqlShape {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    static String of(String sql) {
+        if (sql == null) {
+            return "?";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
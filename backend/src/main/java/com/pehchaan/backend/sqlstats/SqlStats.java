@@ -0,0 +1,75 @@
+package com.pehchaan.backend.sqlstats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one HTTP request asked of the database: statements, rows read or
+ * written, time spent in JDBC calls, and how often each SQL shape ran.
+ *
+ * Bound to the request thread by {@link SqlStatsFilter}; connections taken
+ * while it is bound report into it through {@link StatementCountingDataSource}.
+ */
+final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    record RepeatedShape(String shape, int count) {
+    }
+
+    static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Null outside a tracked request (scheduled jobs, async streams, startup).
+     */
+    static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    synchronized void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        shapeCounts.merge(SqlShape.of(sql), 1, Integer::sum);
+    }
+
+    synchronized void rows(long count) {
+        rows += count;
+    }
+
+    synchronized int statements() {
+        return statements;
+    }
+
+    synchronized long rows() {
+        return rows;
+    }
+
+    synchronized long millis() {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Shapes that ran more than threshold times, most repeated first.
+     */
+    synchronized List<RepeatedShape> repeatedShapes(int threshold) {
+        return shapeCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(entry -> new RepeatedShape(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> Integer.compare(b.count(), a.count()))
+                .toList();
+    }
+}
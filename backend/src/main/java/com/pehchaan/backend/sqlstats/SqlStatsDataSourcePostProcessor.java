@@ -0,0 +1,30 @@
+package com.pehchaan.backend.sqlstats;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts a {@link StatementCountingDataSource} in front of the pool. The pool
+ * itself is untouched, so its Micrometer gauges still bind (Boot unwraps
+ * delegating data sources).
+ */
+@Component
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+
+    public SqlStatsDataSourcePostProcessor(@Value("${sql-stats.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,165 @@
+package com.pehchaan.backend.sqlstats;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the SQL each API request runs, and reports it as X-Sql-* response
+ * headers and one log line per request (DEBUG, or WARN when a statement shape
+ * repeats more than sql-stats.repeat-threshold times, the usual sign of an
+ * N+1 in a response mapper). Flagged requests also count towards
+ * http.server.sql.repeated, tagged with the route.
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20) // Outside admission control and security
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String ROWS_HEADER = "X-Sql-Rows";
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+    private static final int MAX_LOGGED_SHAPE = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int repeatThreshold;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry,
+                          @Value("${sql-stats.enabled:true}") boolean enabled,
+                          @Value("${sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        SqlStats stats = SqlStats.begin();
+        HeaderWritingResponse wrapped = new HeaderWritingResponse(response, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            SqlStats.end();
+            // Bodiless responses (204, redirects) are still open here
+            wrapped.writeHeaders();
+            report(request, response, stats);
+        }
+    }
+
+    // --- Helper Methods ---
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStats stats) {
+        List<SqlStats.RepeatedShape> repeated = stats.repeatedShapes(repeatThreshold);
+        if (repeated.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("sql method={} uri={} status={} statements={} rows={} dbMs={}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        stats.statements(), stats.rows(), stats.millis());
+            }
+            return;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meterRegistry.counter("http.server.sql.repeated",
+                "method", request.getMethod(),
+                "uri", route != null ? route.toString() : "UNKNOWN").increment();
+        SqlStats.RepeatedShape worst = repeated.getFirst();
+        log.warn("sql repeated method={} uri={} status={} statements={} rows={} dbMs={} repeats={} shape=\"{}\"",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                stats.statements(), stats.rows(), stats.millis(), worst.count(), truncate(worst.shape()));
+    }
+
+    private static String truncate(String shape) {
+        return shape.length() > MAX_LOGGED_SHAPE ? shape.substring(0, MAX_LOGGED_SHAPE) + "..." : shape;
+    }
+
+    /**
+     * Headers have to go out before the body commits the response, so they
+     * are written when the body is first opened. Controllers have finished
+     * their queries, and mapped lazy associations, by then.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStats stats;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(stats.statements()));
+            setHeader(ROWS_HEADER, Long.toString(stats.rows()));
+            setHeader(TIME_HEADER, Long.toString(stats.millis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
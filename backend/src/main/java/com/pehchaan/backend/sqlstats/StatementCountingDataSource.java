@@ -0,0 +1,137 @@
+package com.pehchaan.backend.sqlstats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections that report every statement they execute to the
+ * current request's {@link SqlStats}. Hibernate and JdbcTemplate both go
+ * through here, so lazy loads in the response mappers are counted alongside
+ * the hand-written queries.
+ *
+ * Connections taken outside a tracked request are returned unwrapped.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    // --- Helper Methods ---
+
+    private static Connection track(Connection connection) {
+        SqlStats stats = SqlStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, result, (String) args[0], stats);
+                case "prepareCall" -> statement(CallableStatement.class, result, (String) args[0], stats);
+                case "createStatement" -> statement(Statement.class, result, null, stats);
+                default -> result;
+            };
+        });
+    }
+
+    /**
+     * preparedSql is null for plain statements, whose SQL arrives with execute.
+     */
+    private static Object statement(Class<? extends Statement> type, Object statement, String preparedSql,
+                                     SqlStats stats) {
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                return rows((ResultSet) method.invoke(target, args), stats);
+            }
+            if (!name.startsWith("execute")) {
+                return method.invoke(target, args);
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } finally {
+                String sql = preparedSql != null || args == null || args.length == 0 ? preparedSql : (String) args[0];
+                stats.statement(sql, System.nanoTime() - start);
+            }
+            return switch (result) {
+                case ResultSet resultSet -> rows(resultSet, stats);
+                case Integer updated -> {
+                    stats.rows(Math.max(updated, 0));
+                    yield updated;
+                }
+                case Long updated -> {
+                    stats.rows(Math.max(updated, 0));
+                    yield updated;
+                }
+                case int[] batch -> {
+                    long updated = 0;
+                    for (int count : batch) {
+                        updated += Math.max(count, 0);
+                    }
+                    stats.rows(updated);
+                    yield batch;
+                }
+                case null, default -> result;
+            };
+        });
+    }
+
+    private static ResultSet rows(ResultSet resultSet, SqlStats stats) {
+        if (resultSet == null) {
+            return null;
+        }
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.rows(1);
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    // unwrap and isWrapperFor pass straight through, so callers reach the driver's own objects
+    private static <T> T proxy(Class<T> type, Object target, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            try {
+                return call.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
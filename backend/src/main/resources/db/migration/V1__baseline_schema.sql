@@ -0,0 +1,168 @@
+-- The schema as Hibernate (ddl-auto=update) and schema.sql left it, now owned by Flyway.
+-- Databases that predate Flyway are baselined at version 0 (spring.flyway.baseline-on-migrate),
+-- so this still runs there: every statement is a no-op when its object already exists.
+-- Indexes that only serve lookups live in V3, where they are built CONCURRENTLY.
+
+CREATE EXTENSION IF NOT EXISTS postgis;
+
+-- --- Tables ---
+
+CREATE TABLE IF NOT EXISTS users (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone            varchar(255) NOT NULL UNIQUE,
+    password         varchar(255) NOT NULL,
+    role             varchar(255) NOT NULL,
+    first_name       varchar(255),
+    last_name        varchar(255),
+    rating           float(53),
+    is_verified      boolean DEFAULT false,
+    status           varchar(255),
+    current_location geometry(Point, 4326)
+);
+
+CREATE TABLE IF NOT EXISTS user_skills (
+    user_id bigint       NOT NULL REFERENCES users (id),
+    skill   varchar(255) NOT NULL,
+    PRIMARY KEY (user_id, skill)
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name               varchar(255)          NOT NULL,
+    address            varchar(255)          NOT NULL,
+    location           geometry(Point, 4326) NOT NULL,
+    site_polygon       geometry(Polygon, 4326),
+    site_buffer_meters float(53),
+    site_radius_meters float(53),
+    shift_cutoff       time(6),
+    max_shift_minutes  integer,
+    contractor_id      bigint                NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS assignments (
+    id                     bigint        NOT NULL PRIMARY KEY,
+    project_id             bigint        NOT NULL REFERENCES projects (id),
+    laborer_id             bigint        NOT NULL REFERENCES users (id),
+    wage_rate              numeric(38, 2) NOT NULL,
+    wage_type              varchar(255)  NOT NULL,
+    overtime_after_minutes integer,
+    overtime_rate_percent  integer,
+    half_day_minutes       integer,
+    UNIQUE (project_id, laborer_id)
+);
+
+CREATE TABLE IF NOT EXISTS payroll_runs (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    contractor_id    bigint       NOT NULL REFERENCES users (id),
+    period_from      date         NOT NULL,
+    period_to        date         NOT NULL,
+    status           varchar(255) NOT NULL,
+    log_count        bigint       NOT NULL,
+    laborer_count    bigint       NOT NULL,
+    total_minutes    bigint       NOT NULL,
+    overtime_minutes bigint       NOT NULL,
+    half_day_count   bigint       NOT NULL,
+    gross_minor      bigint       NOT NULL,
+    started_at       timestamp(6) NOT NULL,
+    completed_at     timestamp(6),
+    failure_reason   varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS work_logs (
+    id             bigint       NOT NULL PRIMARY KEY,
+    project_id     bigint       NOT NULL REFERENCES projects (id),
+    laborer_id     bigint       NOT NULL REFERENCES users (id),
+    check_in_time  timestamp(6) NOT NULL,
+    check_out_time timestamp(6),
+    wage_earned    numeric(38, 2),
+    status         varchar(255) NOT NULL,
+    payroll_run_id bigint
+);
+
+CREATE TABLE IF NOT EXISTS work_log_rollups (
+    id                     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id             bigint         NOT NULL REFERENCES projects (id),
+    laborer_id             bigint         NOT NULL REFERENCES users (id),
+    work_date              date           NOT NULL,
+    minutes_worked         bigint         NOT NULL,
+    wage_total             numeric(19, 2) NOT NULL,
+    active_count           integer        NOT NULL,
+    pending_approval_count integer        NOT NULL,
+    approved_count         integer        NOT NULL,
+    paid_count             integer        NOT NULL,
+    disputed_count         integer        NOT NULL,
+    CONSTRAINT ux_work_log_rollups_day UNIQUE (project_id, laborer_id, work_date)
+);
+
+CREATE TABLE IF NOT EXISTS gigs (
+    id                      bigint                NOT NULL PRIMARY KEY,
+    consumer_id             bigint                NOT NULL REFERENCES users (id),
+    -- Null while a dispatch-mode gig is still being offered
+    laborer_id              bigint REFERENCES users (id),
+    status                  varchar(255)          NOT NULL,
+    skill                   varchar(255)          NOT NULL,
+    consumer_location       geometry(Point, 4326) NOT NULL,
+    consumer_address        varchar(255)          NOT NULL,
+    visiting_charge         numeric(38, 2)        NOT NULL,
+    platform_fee            numeric(38, 2)        NOT NULL,
+    laborer_visiting_payout numeric(38, 2)        NOT NULL,
+    total_amount            numeric(38, 2)        NOT NULL,
+    payment_method          varchar(255)          NOT NULL,
+    rating                  integer,
+    created_at              timestamp(6),
+    accepted_at             timestamp(6),
+    work_started_at         timestamp(6),
+    completed_at            timestamp(6),
+    paid_at                 timestamp(6)
+);
+
+-- --- Columns added while ddl-auto=update still managed the schema ---
+-- A database last started on an older build has the tables above without these.
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS site_polygon geometry(Polygon, 4326);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS site_buffer_meters float(53);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS site_radius_meters float(53);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS shift_cutoff time(6);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS max_shift_minutes integer;
+
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS overtime_after_minutes integer;
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS overtime_rate_percent integer;
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS half_day_minutes integer;
+
+ALTER TABLE work_logs ADD COLUMN IF NOT EXISTS payroll_run_id bigint;
+
+-- Dispatch-mode gigs have no laborer until one claims the offer.
+ALTER TABLE gigs ALTER COLUMN laborer_id DROP NOT NULL;
+
+-- --- Sequences ---
+-- Assignments, work logs and gigs take ids from pooled sequences (allocationSize 50) so inserts
+-- can be batched. Tables that predate this still hold IDENTITY-generated ids; move each sequence
+-- past them so the next block Hibernate allocates starts above the current maximum.
+
+CREATE SEQUENCE IF NOT EXISTS assignments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS work_logs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS gigs_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('assignments_seq', m.max_id) FROM (SELECT MAX(id) AS max_id FROM assignments) m
+WHERE m.max_id > (SELECT last_value FROM assignments_seq);
+SELECT setval('work_logs_seq', m.max_id) FROM (SELECT MAX(id) AS max_id FROM work_logs) m
+WHERE m.max_id > (SELECT last_value FROM work_logs_seq);
+SELECT setval('gigs_seq', m.max_id) FROM (SELECT MAX(id) AS max_id FROM gigs) m
+WHERE m.max_id > (SELECT last_value FROM gigs_seq);
+
+-- --- Data ---
+
+-- Backfill payroll rollups once, when the table is first created (see WorkLogRollupRepository.rebuild).
+INSERT INTO work_log_rollups (project_id, laborer_id, work_date, minutes_worked, wage_total,
+                              active_count, pending_approval_count, approved_count, paid_count, disputed_count)
+SELECT w.project_id, w.laborer_id, CAST(w.check_in_time AS date),
+       COALESCE(SUM(FLOOR(EXTRACT(EPOCH FROM (w.check_out_time - w.check_in_time)) / 60)), 0),
+       COALESCE(SUM(w.wage_earned), 0),
+       COUNT(*) FILTER (WHERE w.status = 'ACTIVE'),
+       COUNT(*) FILTER (WHERE w.status = 'PENDING_APPROVAL'),
+       COUNT(*) FILTER (WHERE w.status = 'APPROVED'),
+       COUNT(*) FILTER (WHERE w.status = 'PAID'),
+       COUNT(*) FILTER (WHERE w.status = 'DISPUTED')
+FROM work_logs w
+WHERE NOT EXISTS (SELECT 1 FROM work_log_rollups)
+GROUP BY w.project_id, w.laborer_id, CAST(w.check_in_time AS date);
@@ -0,0 +1,29 @@
+-- V3 makes "one active gig per laborer and per consumer" a unique index. Before that was enforced,
+-- a double tap or two racing accepts could leave someone with several active gigs, and the index
+-- build would fail on them. Keep the one furthest along (then the newest) and cancel the rest.
+-- A no-op on databases that have no duplicates.
+
+WITH ranked AS (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY laborer_id
+                              ORDER BY CASE status WHEN 'IN_PROGRESS' THEN 0 WHEN 'ACCEPTED' THEN 1 ELSE 2 END,
+                                       created_at DESC NULLS LAST, id DESC) AS rank
+    FROM gigs
+    WHERE laborer_id IS NOT NULL AND status IN ('REQUESTED', 'ACCEPTED', 'IN_PROGRESS')
+)
+UPDATE gigs g SET status = 'CANCELLED'
+FROM ranked r
+WHERE r.id = g.id AND r.rank > 1;
+
+-- Runs after the laborer pass, so gigs it just cancelled no longer compete here
+WITH ranked AS (
+    SELECT id,
+           ROW_NUMBER() OVER (PARTITION BY consumer_id
+                              ORDER BY CASE status WHEN 'IN_PROGRESS' THEN 0 WHEN 'ACCEPTED' THEN 1 ELSE 2 END,
+                                       created_at DESC NULLS LAST, id DESC) AS rank
+    FROM gigs
+    WHERE status IN ('REQUESTED', 'ACCEPTED', 'IN_PROGRESS')
+)
+UPDATE gigs g SET status = 'CANCELLED'
+FROM ranked r
+WHERE r.id = g.id AND r.rank > 1;
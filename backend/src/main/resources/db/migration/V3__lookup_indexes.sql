@@ -0,0 +1,103 @@
+-- Every index the repositories read through, built CONCURRENTLY so a deploy never blocks
+-- writes to a hot table (Flyway runs this file outside a transaction, which that requires).
+-- A concurrent build that fails leaves an INVALID index behind and IF NOT EXISTS would then
+-- skip it: drop the index by name and rerun the migration.
+
+-- --- gigs ---
+
+-- A laborer and a consumer can each have at most one active gig (V2 cancelled older duplicates).
+-- GigService maps violations of these indexes to user-facing errors by name.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_gigs_active_laborer
+    ON gigs (laborer_id)
+    WHERE status IN ('REQUESTED', 'ACCEPTED', 'IN_PROGRESS');
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_gigs_active_consumer
+    ON gigs (consumer_id)
+    WHERE status IN ('REQUESTED', 'ACCEPTED', 'IN_PROGRESS');
+
+-- Keyset pagination of gig history (GigQueryRepository)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gigs_laborer_created
+    ON gigs (laborer_id, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gigs_consumer_created
+    ON gigs (consumer_id, created_at DESC, id DESC);
+
+-- Active gigs by status; completed and cancelled gigs, the bulk of the table, stay out of it
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gigs_active_status
+    ON gigs (status, created_at)
+    WHERE status IN ('REQUESTED', 'ACCEPTED', 'IN_PROGRESS');
+
+-- Dispatch offers nobody has claimed yet, oldest first (GigTransitionRepository.cancelUnclaimed)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_gigs_unclaimed
+    ON gigs (created_at)
+    WHERE laborer_id IS NULL AND status = 'REQUESTED';
+
+-- --- users and user_skills ---
+
+-- Nearby search (WorkerSearchRepository.findNearbyAvailableWorkers): the expression and the
+-- predicate match the query's, so ST_DWithin reads only available laborers
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_available_laborer_location
+    ON users USING gist ((CAST(current_location AS geography)))
+    WHERE role = 'ROLE_LABOR' AND status = 'AVAILABLE';
+
+-- Contractor worker search: laborers in (rating DESC, id) keyset order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_laborer_rating
+    ON users ((COALESCE(rating, -1)) DESC, id)
+    WHERE role = 'ROLE_LABOR';
+
+-- Skills are matched case-insensitively (UPPER(s.skill) = UPPER(:skill)); the primary key
+-- (user_id, skill) serves the per-user probe, this one lets the planner start from the skill
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_skills_skill_upper
+    ON user_skills (UPPER(skill), user_id);
+
+-- --- projects and assignments ---
+
+-- findByContractorId, and every contractor-scoped join through projects
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_contractor
+    ON projects (contractor_id);
+
+-- findByLaborerId; findByLaborerIdAndProjectId is served by the (project_id, laborer_id) unique key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assignments_laborer
+    ON assignments (laborer_id, project_id);
+
+-- --- work_logs ---
+
+-- Keyset pagination for dashboards (WorkLogQueryRepository); also findByProjectId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_project_checkin
+    ON work_logs (project_id, check_in_time DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_laborer_checkin
+    ON work_logs (laborer_id, check_in_time DESC, id DESC);
+
+-- Open (checked-in) shifts: findByLaborerIdAndCheckOutTimeIsNull and the auto-checkout seed
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_open
+    ON work_logs (laborer_id)
+    WHERE check_out_time IS NULL;
+
+-- Who is on site right now, per project (WorkLogQueryRepository.findOpenShifts)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_project_open
+    ON work_logs (project_id)
+    WHERE check_out_time IS NULL;
+
+-- Bulk approval (WorkLogTransitionRepository) and payroll runs (PayrollLogRepository) read only
+-- the logs waiting in their status, which are a small slice of the table
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_pending_approval
+    ON work_logs (project_id, check_in_time)
+    WHERE status = 'PENDING_APPROVAL';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_approved
+    ON work_logs (project_id, check_in_time)
+    WHERE status = 'APPROVED';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_logs_payroll_run
+    ON work_logs (payroll_run_id)
+    WHERE payroll_run_id IS NOT NULL;
+
+-- --- work_log_rollups and payroll_runs ---
+
+-- A laborer's own summary; the contractor side reads through ux_work_log_rollups_day
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_work_log_rollups_laborer
+    ON work_log_rollups (laborer_id, work_date DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payroll_runs_contractor
+    ON payroll_runs (contractor_id, started_at DESC);
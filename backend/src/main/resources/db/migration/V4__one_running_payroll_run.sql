@@ -0,0 +1,12 @@
+-- Payroll runs commit a batch at a time, so "one run per contractor" can no longer be a lock held
+-- for the run's single transaction. It is this index on the RUNNING row instead (PayrollService).
+-- payroll_runs gets one row per run, so a plain (non-concurrent) build inside this transaction is fine.
+
+-- A run left RUNNING by a process that died can never finish, and two of them would fail the index.
+UPDATE payroll_runs
+SET status = 'FAILED', completed_at = now(), failure_reason = 'Interrupted before it finished.'
+WHERE status = 'RUNNING';
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_payroll_runs_running
+    ON payroll_runs (contractor_id)
+    WHERE status = 'RUNNING';
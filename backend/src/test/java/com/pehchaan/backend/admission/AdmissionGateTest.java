@@ -0,0 +1,83 @@
+package com.pehchaan.backend.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionGateTest {
+
+    private final AdmissionGate gate = new AdmissionGate(2, 1, 1, new SimpleMeterRegistry());
+
+    @Test
+    void freedSlotGoesToTheHighestPriorityWaiter() throws Exception {
+        assertThat(gate.acquire(RequestPriority.NORMAL)).isTrue();
+        assertThat(gate.acquire(RequestPriority.NORMAL)).isTrue();
+
+        CompletableFuture<Boolean> normal = CompletableFuture.supplyAsync(() -> acquire(RequestPriority.NORMAL));
+        awaitQueueDepth(RequestPriority.NORMAL, 1);
+        CompletableFuture<Boolean> critical = CompletableFuture.supplyAsync(() -> acquire(RequestPriority.CRITICAL));
+        awaitQueueDepth(RequestPriority.CRITICAL, 1);
+
+        gate.release(RequestPriority.NORMAL);
+
+        assertThat(critical.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(normal).isNotDone();
+        gate.release(RequestPriority.NORMAL);
+        assertThat(normal.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void bulkNeverTakesEverySlot() throws Exception {
+        assertThat(gate.acquire(RequestPriority.BULK)).isTrue();
+
+        // The second BULK request waits out its deadline even though a slot is free...
+        assertThat(gate.acquire(RequestPriority.BULK)).isFalse();
+        // ...and that slot is still there for a check-in
+        assertThat(gate.acquire(RequestPriority.CRITICAL)).isTrue();
+    }
+
+    @Test
+    void exportsHaveTheirOwnCapAndShareTheBulkOne() throws Exception {
+        AdmissionGate wide = new AdmissionGate(4, 2, 1, new SimpleMeterRegistry());
+        assertThat(wide.acquire(RequestPriority.EXPORT)).isTrue();
+        assertThat(wide.acquire(RequestPriority.EXPORT)).isFalse();
+
+        // BULK and EXPORT share the heavy cap of 2: one BULK request fits beside the export, not two
+        assertThat(wide.acquire(RequestPriority.BULK)).isTrue();
+        assertThat(wide.acquire(RequestPriority.BULK)).isFalse();
+        assertThat(wide.acquire(RequestPriority.NORMAL)).isTrue();
+    }
+
+    @Test
+    void shedsOnceTheDeadlinePasses() throws Exception {
+        assertThat(gate.acquire(RequestPriority.CRITICAL)).isTrue();
+        assertThat(gate.acquire(RequestPriority.CRITICAL)).isTrue();
+
+        long start = System.nanoTime();
+        assertThat(gate.acquire(RequestPriority.BULK)).isFalse();
+
+        assertThat(System.nanoTime() - start)
+                .isLessThan(RequestPriority.BULK.maxWait().toNanos() + TimeUnit.SECONDS.toNanos(1));
+        assertThat(gate.queueDepth(RequestPriority.BULK)).isZero();
+    }
+
+    private boolean acquire(RequestPriority priority) {
+        try {
+            return gate.acquire(priority);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitQueueDepth(RequestPriority priority, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (gate.queueDepth(priority) < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
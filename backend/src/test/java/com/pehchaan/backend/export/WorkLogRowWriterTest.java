@@ -0,0 +1,61 @@
+package com.pehchaan.backend.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class WorkLogRowWriterTest {
+
+    @Test
+    void writesCsvWithQuotingAndFormulaGuard() throws Exception {
+        StringWriter out = new StringWriter();
+        WorkLogRowWriter writer = ExportFormat.CSV.open(out, new ObjectMapper());
+
+        writer.writeHeader();
+        writer.writeRow(row("Site \"A\", Phase 1", "=Ravi"));
+        writer.finish();
+
+        assertThat(out.toString()).isEqualTo(
+                "id,projectId,projectName,laborerId,laborerName,checkInTime,checkOutTime,wageEarned,status\r\n" +
+                "7,3,\"Site \"\"A\"\", Phase 1\",9,\"'=Ravi Kumar\",2024-05-01T08:30:00,,,ACTIVE\r\n");
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        WorkLogRowWriter writer = ExportFormat.NDJSON.open(out, new ObjectMapper());
+
+        writer.writeHeader();
+        writer.writeRow(row("Tower", "Ravi"));
+        writer.writeRow(row("Tower", "Ravi"));
+        writer.finish();
+
+        String line = "{\"id\":7,\"projectId\":3,\"projectName\":\"Tower\",\"laborerId\":9,\"laborerName\":\"Ravi Kumar\"," +
+                      "\"checkInTime\":\"2024-05-01T08:30:00\",\"checkOutTime\":null,\"wageEarned\":null,\"status\":\"ACTIVE\"}";
+        assertThat(out.toString()).isEqualTo(line + "\n" + line + "\n");
+    }
+
+    private static ResultSet row(String projectName, String firstName) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(7L);
+        when(rs.getLong(2)).thenReturn(3L);
+        when(rs.getString(3)).thenReturn(projectName);
+        when(rs.getLong(4)).thenReturn(9L);
+        when(rs.getString(5)).thenReturn(firstName);
+        when(rs.getString(6)).thenReturn("Kumar");
+        when(rs.getTimestamp(7)).thenReturn(Timestamp.valueOf(LocalDateTime.of(2024, 5, 1, 8, 30)));
+        when(rs.getBigDecimal(9)).thenReturn((BigDecimal) null);
+        when(rs.getString(10)).thenReturn("ACTIVE");
+        return rs;
+    }
+}
@@ -0,0 +1,75 @@
+package com.pehchaan.backend.geofence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import com.pehchaan.backend.entity.Project;
+import com.pehchaan.backend.search.GeoMath;
+
+class SiteGeofenceTest {
+
+    private static final double LAT = 19.0760;
+    private static final double LON = 72.8777;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Test
+    void defaultsToTheOld200MeterRadius() {
+        SiteGeofence fence = SiteGeofence.of(project(null, null, null), geometryFactory);
+
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(190), LON)).isTrue();
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(210), LON)).isFalse();
+    }
+
+    @Test
+    void checksThePolygonPlusItsBuffer() {
+        // 100 m x 100 m square centred on the project, with a 20 m buffer
+        SiteGeofence fence = SiteGeofence.of(project(square(50), 20.0, 500.0), geometryFactory);
+
+        assertThat(fence.contains(LAT, LON)).isTrue();
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(65), LON)).isTrue();   // Inside the buffer
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(80), LON)).isFalse();  // Radius is ignored
+        assertThat(fence.contains(LAT, LON + GeoMath.metersToLonDegrees(80, LAT))).isFalse();
+    }
+
+    @Test
+    void keepsHolesOutOfTheSite() {
+        // 200 m square with a 100 m courtyard in the middle, buffered by 10 m
+        Polygon withHole = geometryFactory.createPolygon(
+                geometryFactory.createLinearRing(square(100).getCoordinates()),
+                new LinearRing[] { geometryFactory.createLinearRing(square(50).getCoordinates()) });
+        SiteGeofence fence = SiteGeofence.of(project(withHole, 10.0, null), geometryFactory);
+
+        assertThat(fence.contains(LAT, LON)).isFalse();                                    // In the courtyard
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(45), LON)).isTrue();   // Within 10 m of its edge
+        assertThat(fence.contains(LAT + GeoMath.metersToLatDegrees(75), LON)).isTrue();   // On the built part
+    }
+
+    private Project project(Polygon polygon, Double buffer, Double radius) {
+        return Project.builder()
+                .id(1L)
+                .location(geometryFactory.createPoint(new Coordinate(LON, LAT)))
+                .sitePolygon(polygon)
+                .siteBufferMeters(buffer)
+                .siteRadiusMeters(radius)
+                .build();
+    }
+
+    private Polygon square(double halfSideMeters) {
+        double dLat = GeoMath.metersToLatDegrees(halfSideMeters);
+        double dLon = GeoMath.metersToLonDegrees(halfSideMeters, LAT);
+        return geometryFactory.createPolygon(new Coordinate[] {
+                new Coordinate(LON - dLon, LAT - dLat),
+                new Coordinate(LON + dLon, LAT - dLat),
+                new Coordinate(LON + dLon, LAT + dLat),
+                new Coordinate(LON - dLon, LAT + dLat),
+                new Coordinate(LON - dLon, LAT - dLat)
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.pehchaan.backend.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.pehchaan.backend.entity.Gig;
+import com.pehchaan.backend.realtime.GigTransitionEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DomainMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DomainMetrics metrics = new DomainMetrics(registry);
+
+    @Test
+    void countsGigTransitionsByStatus() {
+        metrics.onGigTransition(new GigTransitionEvent(1L, Gig.GigStatus.ACCEPTED, 2L, 3L, LocalDateTime.now()));
+        metrics.onGigTransition(new GigTransitionEvent(1L, Gig.GigStatus.ACCEPTED, 2L, 3L, LocalDateTime.now()));
+
+        assertThat(registry.get("gigs.transitions").tag("status", "accepted").counter().count()).isEqualTo(2);
+        assertThat(registry.get("gigs.transitions").tag("status", "completed").counter().count()).isZero();
+    }
+
+    @Test
+    void splitsNearbySearchesIntoFoundAndEmpty() {
+        metrics.nearbySearch(DomainMetrics.SearchSource.INDEX, 0);
+        metrics.nearbySearch(DomainMetrics.SearchSource.INDEX, 5);
+        metrics.checkInRejected(DomainMetrics.CheckInRejection.GEOFENCE);
+
+        assertThat(registry.get("workers.nearby.searches").tags("source", "index", "result", "empty")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get("workers.nearby.searches").tags("source", "index", "result", "found")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get("work.checkins.rejected").tag("reason", "geofence").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.pehchaan.backend.payroll;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PayrollCalculatorTest {
+
+    private static final int HOURLY = PayrollCalculator.WAGE_HOURLY;
+    private static final int DAILY = PayrollCalculator.WAGE_DAILY;
+
+    @Test
+    void paysHourlyOvertimeAtTheOvertimeRate() {
+        // Rs 100/h, 9h with overtime after 8h: 8 * 100 + 1 * 150
+        assertThat(PayrollCalculator.payMinor(HOURLY, 10_000, 540, 480, 0, 0)).isEqualTo(95_000);
+        assertThat(PayrollCalculator.payMinor(HOURLY, 10_000, 540, 480, 200, 0)).isEqualTo(100_000);
+        // No overtime rule: every minute at the base rate, rounded half-up once
+        assertThat(PayrollCalculator.payMinor(HOURLY, 10_000, 541, 0, 0, 0)).isEqualTo(90_167);
+    }
+
+    @Test
+    void paysDailyHalfDaysAndOvertime() {
+        assertThat(PayrollCalculator.payMinor(DAILY, 80_000, 180, 0, 0, 240)).isEqualTo(40_000);
+        assertThat(PayrollCalculator.payMinor(DAILY, 80_000, 240, 0, 0, 240)).isEqualTo(80_000);
+        // One hour past an 8h day at 150% of the day's per-minute rate
+        assertThat(PayrollCalculator.payMinor(DAILY, 80_000, 540, 480, 150, 240)).isEqualTo(95_000);
+        assertThat(PayrollCalculator.payMinor(PayrollCalculator.WAGE_NONE, 80_000, 540, 480, 150, 240)).isZero();
+    }
+
+    @Test
+    void batchFlushesWhenFullAndKeepsTotals() {
+        List<Integer> flushed = new ArrayList<>();
+        PayrollBatch batch = new PayrollBatch(2, (logIds, amountsMinor, count) -> flushed.add(count));
+
+        batch.add(1, HOURLY, 10_000, 540, 480, 0, 0);
+        batch.add(2, DAILY, 80_000, 180, 0, 0, 240);
+        batch.add(3, DAILY, 80_000, 540, 480, 150, 0);
+        batch.flush();
+
+        assertThat(flushed).containsExactly(2, 1);
+        assertThat(batch.logCount()).isEqualTo(3);
+        assertThat(batch.totalMinutes()).isEqualTo(1_260);
+        assertThat(batch.overtimeMinutes()).isEqualTo(120);
+        assertThat(batch.halfDayCount()).isEqualTo(1);
+        assertThat(batch.grossMinor()).isEqualTo(230_000);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pehchaan.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.pehchaan.backend.entity.Assignment;
+import com.pehchaan.backend.entity.Project;
+import com.pehchaan.backend.entity.Role;
+import com.pehchaan.backend.entity.User;
+
+import jakarta.persistence.EntityManager;
+
+class AssignmentRepositoryTest extends PostgisRepositoryTest {
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findsWhichIdsAreLaborersAndWhichAreAlreadyAssigned() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long assigned = user("ROLE_LABOR");
+        long free = user("ROLE_LABOR");
+        long project = project(contractor);
+        assignmentRepository.saveAndFlush(assignment(project, assigned));
+
+        assertThat(userRepository.findIdsWithRole(List.of(contractor, assigned, free, -1L), Role.ROLE_LABOR))
+                .containsExactlyInAnyOrder(assigned, free);
+        assertThat(assignmentRepository.findAssignedLaborerIds(project, List.of(assigned, free)))
+                .containsExactly(assigned);
+    }
+
+    @Test
+    void pooledIdsNeverCollideWithIdsTakenStraightFromTheSequence() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long project = project(contractor);
+        long nativeId = jdbcTemplate.queryForObject("SELECT nextval('assignments_seq')", Long.class);
+
+        List<Assignment> saved = assignmentRepository.saveAllAndFlush(List.of(
+                assignment(project, user("ROLE_LABOR")),
+                assignment(project, user("ROLE_LABOR")),
+                assignment(project, user("ROLE_LABOR"))));
+
+        assertThat(saved).extracting(Assignment::getId).doesNotHaveDuplicates().doesNotContain(nativeId);
+    }
+
+    // --- Helper Methods ---
+
+    private Assignment assignment(long projectId, long laborerId) {
+        return Assignment.builder()
+                .project(entityManager.getReference(Project.class, projectId))
+                .laborer(entityManager.getReference(User.class, laborerId))
+                .wageRate(new BigDecimal("650.00"))
+                .wageType("DAILY")
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.pehchaan.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.pehchaan.backend.payroll.PayrollBatch;
+import com.pehchaan.backend.repository.PayrollLogRepository.PageCursor;
+
+@Import(PayrollLogRepository.class)
+class PayrollLogRepositoryTest extends PostgisRepositoryTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Autowired
+    private PayrollLogRepository payrollLogs;
+
+    @Test
+    void pagesThroughApprovedLogsInCheckInOrderWithoutRepeats() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        // Two logs share a check-in time, so the page boundary falls on a tie
+        long first = workLog(project, laborer, MORNING, MORNING.plusHours(8), "APPROVED");
+        long second = workLog(project, laborer, MORNING, MORNING.plusHours(8), "APPROVED");
+        long third = workLog(project, laborer, MORNING.plusDays(1), MORNING.plusDays(1).plusHours(8), "APPROVED");
+        workLog(project, laborer, MORNING.plusDays(2), MORNING.plusDays(2).plusHours(8), "PENDING_APPROVAL");
+
+        List<Long> read = new ArrayList<>();
+        PayrollBatch batch = new PayrollBatch(1, (logIds, amountsMinor, count) -> read.add(logIds[0]));
+        PageCursor cursor = PageCursor.startOf(MORNING.toLocalDate().atStartOfDay());
+        LocalDateTime toExclusive = MORNING.toLocalDate().plusDays(3).atStartOfDay();
+        while ((cursor = payrollLogs.readApprovedLogs(project, cursor, toExclusive, 1, batch)) != null) {
+            assertThat(read).hasSizeLessThanOrEqualTo(3);
+        }
+
+        assertThat(read).containsExactly(first, second, third);
+        assertThat(payrollLogs.findProjectIds(contractor)).containsExactly(project);
+    }
+}
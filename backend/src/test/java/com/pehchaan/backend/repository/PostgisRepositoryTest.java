@@ -0,0 +1,64 @@
+package com.pehchaan.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base for tests of the hand-written SQL: a throwaway PostGIS database with
+ * the Flyway migrations applied, and helpers to insert rows directly. Each
+ * test runs in a transaction that is rolled back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgisRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    private int phones;
+
+    protected long user(String role) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (phone, password, role, first_name, last_name) " +
+                "VALUES (?, 'x', ?, 'Test', 'User') RETURNING id",
+                Long.class, "9" + System.nanoTime() + (phones++), role);
+    }
+
+    protected long project(long contractorId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO projects (name, address, location, contractor_id) " +
+                "VALUES ('Site', 'Plot 1', ST_SetSRID(ST_MakePoint(72.8777, 19.0760), 4326), ?) RETURNING id",
+                Long.class, contractorId);
+    }
+
+    protected long workLog(long projectId, long laborerId, LocalDateTime checkIn, LocalDateTime checkOut,
+                           String status) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO work_logs (id, project_id, laborer_id, check_in_time, check_out_time, status) " +
+                "VALUES (nextval('work_logs_seq'), ?, ?, ?, ?, ?) RETURNING id",
+                Long.class, projectId, laborerId, Timestamp.valueOf(checkIn),
+                checkOut != null ? Timestamp.valueOf(checkOut) : null, status);
+    }
+
+    protected int rollupCount(long projectId, long laborerId, String column) {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + column + " FROM work_log_rollups WHERE project_id = ? AND laborer_id = ?",
+                Integer.class, projectId, laborerId);
+    }
+}
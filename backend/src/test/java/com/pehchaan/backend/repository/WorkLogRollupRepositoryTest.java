@@ -0,0 +1,75 @@
+package com.pehchaan.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.pehchaan.backend.entity.WorkLog;
+
+@Import(WorkLogRollupRepository.class)
+class WorkLogRollupRepositoryTest extends PostgisRepositoryTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Autowired
+    private WorkLogRollupRepository rollups;
+
+    @Test
+    void rebuildMatchesTheDeltasAndCanBeRepeated() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        workLog(project, laborer, MORNING, MORNING.plusMinutes(90), "PENDING_APPROVAL");
+        rollups.apply(project, laborer, MORNING.toLocalDate(), 0, BigDecimal.ZERO, null, WorkLog.WorkStatus.ACTIVE);
+        rollups.apply(project, laborer, MORNING.toLocalDate(), 90, BigDecimal.ZERO,
+                WorkLog.WorkStatus.ACTIVE, WorkLog.WorkStatus.PENDING_APPROVAL);
+
+        // Already in step: nothing to correct, however often it runs
+        assertThat(rollups.rebuild(contractor)).isZero();
+        assertThat(rollups.rebuild(contractor)).isZero();
+
+        assertThat(rollupCount(project, laborer, "minutes_worked")).isEqualTo(90);
+        assertThat(rollupCount(project, laborer, "active_count")).isZero();
+        assertThat(rollupCount(project, laborer, "pending_approval_count")).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildCorrectsDriftAndDropsRowsWithoutLogs() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        workLog(project, laborer, MORNING, MORNING.plusMinutes(90), "APPROVED");
+        // A lost approval, and a day whose only log has gone
+        rollups.apply(project, laborer, MORNING.toLocalDate(), 90, BigDecimal.ZERO,
+                null, WorkLog.WorkStatus.PENDING_APPROVAL);
+        rollups.apply(project, laborer, MORNING.toLocalDate().minusDays(1), 30, BigDecimal.ZERO,
+                null, WorkLog.WorkStatus.ACTIVE);
+
+        assertThat(rollups.rebuild(contractor)).isEqualTo(2);
+
+        assertThat(rollupCount(project, laborer, "pending_approval_count")).isZero();
+        assertThat(rollupCount(project, laborer, "approved_count")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM work_log_rollups WHERE project_id = ?", Integer.class, project)).isEqualTo(1);
+    }
+
+    @Test
+    void appliesDeltasOnTopOfARebuiltRow() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        workLog(project, laborer, MORNING, MORNING.plusHours(2), "PENDING_APPROVAL");
+        rollups.rebuild(contractor);
+
+        rollups.apply(project, laborer, MORNING.toLocalDate(), 0, BigDecimal.ZERO, null, WorkLog.WorkStatus.ACTIVE);
+
+        assertThat(rollupCount(project, laborer, "active_count")).isEqualTo(1);
+        assertThat(rollupCount(project, laborer, "pending_approval_count")).isEqualTo(1);
+        assertThat(rollupCount(project, laborer, "minutes_worked")).isEqualTo(120);
+    }
+}
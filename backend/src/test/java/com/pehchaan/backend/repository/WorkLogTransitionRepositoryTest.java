@@ -0,0 +1,63 @@
+package com.pehchaan.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+@Import({WorkLogTransitionRepository.class, WorkLogRollupRepository.class})
+class WorkLogTransitionRepositoryTest extends PostgisRepositoryTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Autowired
+    private WorkLogTransitionRepository transitions;
+
+    @Autowired
+    private WorkLogRollupRepository rollups;
+
+    @Test
+    void approvesEachLogOnceAndMovesTheRollupOnce() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        long logId = workLog(project, laborer, MORNING, MORNING.plusHours(8), "PENDING_APPROVAL");
+        rollups.rebuild(contractor);
+
+        assertThat(transitions.approvePendingByIds(contractor, List.of(logId))).containsExactly(logId);
+        assertThat(transitions.approvePendingByIds(contractor, List.of(logId))).isEmpty();
+
+        assertThat(rollupCount(project, laborer, "pending_approval_count")).isZero();
+        assertThat(rollupCount(project, laborer, "approved_count")).isEqualTo(1);
+    }
+
+    @Test
+    void leavesOtherContractorsLogsAlone() {
+        long owner = user("ROLE_CONTRACTOR");
+        long stranger = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(owner);
+        long logId = workLog(project, laborer, MORNING, MORNING.plusHours(8), "PENDING_APPROVAL");
+
+        assertThat(transitions.approvePendingByIds(stranger, List.of(logId))).isEmpty();
+        assertThat(transitions.approvePendingByProject(stranger, project, null, null)).isEmpty();
+    }
+
+    @Test
+    void approvesAProjectWithinTheDateRange() {
+        long contractor = user("ROLE_CONTRACTOR");
+        long laborer = user("ROLE_LABOR");
+        long project = project(contractor);
+        long inRange = workLog(project, laborer, MORNING, MORNING.plusHours(8), "PENDING_APPROVAL");
+        workLog(project, laborer, MORNING.plusDays(1), MORNING.plusDays(1).plusHours(8), "PENDING_APPROVAL");
+        workLog(project, laborer, MORNING.minusDays(1), null, "ACTIVE");
+
+        LocalDate day = MORNING.toLocalDate();
+        assertThat(transitions.approvePendingByProject(contractor, project, day, day)).containsExactly(inRange);
+    }
+}
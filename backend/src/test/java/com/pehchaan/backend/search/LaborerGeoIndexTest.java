@@ -0,0 +1,55 @@
+package com.pehchaan.backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LaborerGeoIndexTest {
+
+    private final LaborerGeoIndex index = new LaborerGeoIndex(null);
+
+    @Test
+    void findsNearestLaborersWithSkillInsideRadius() {
+        index.update(laborer(1L, "AVAILABLE", 19.0760, 72.8777, "Plumber"));
+        index.update(laborer(2L, "AVAILABLE", 19.0800, 72.8800, "PLUMBER"));
+        index.update(laborer(3L, "AVAILABLE", 19.0761, 72.8778, "ELECTRICIAN"));
+        index.update(laborer(4L, "AVAILABLE", 19.3000, 72.8777, "PLUMBER")); // ~25 km away
+
+        List<LaborerSnapshot> result = index.findNearest("plumber", 19.0759, 72.8776, 5000, 10);
+
+        assertThat(result).extracting(LaborerSnapshot::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void keepsOnlyTheClosestLimit() {
+        for (long id = 1; id <= 20; id++) {
+            index.update(laborer(id, "AVAILABLE", 19.0 + id * 0.001, 72.0, "MASON"));
+        }
+
+        List<LaborerSnapshot> result = index.findNearest("MASON", 19.0, 72.0, 5000, 3);
+
+        assertThat(result).extracting(LaborerSnapshot::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void movesAndRemovesLaborersOnUpdate() {
+        index.update(laborer(1L, "AVAILABLE", 19.0, 72.0, "PLUMBER"));
+        index.update(laborer(1L, "AVAILABLE", 28.6, 77.2, "PLUMBER"));
+
+        assertThat(index.findNearest("PLUMBER", 19.0, 72.0, 5000, 10)).isEmpty();
+        assertThat(index.findNearest("PLUMBER", 28.6, 77.2, 5000, 10)).hasSize(1);
+
+        index.update(laborer(1L, "OFFLINE", 28.6, 77.2, "PLUMBER"));
+
+        assertThat(index.findNearest("PLUMBER", 28.6, 77.2, 5000, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private static LaborerSnapshot laborer(long id, String status, double lat, double lon, String skill) {
+        return new LaborerSnapshot(id, "99999" + id, "Test", "Laborer", null, false,
+                status, Set.of(skill), lat, lon);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pehchaan.backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.pehchaan.backend.dto.assignment.WorkerSearchQuery;
+import com.pehchaan.backend.dto.common.RatingCursor;
+
+class LaborerSkillIndexTest {
+
+    private final LaborerSkillIndex index = new LaborerSkillIndex(null);
+
+    @Test
+    void combinesSkillsAndFilters() {
+        index.update(laborer(1L, "AVAILABLE", true, 4.5, "PLUMBER", "ELECTRICIAN"));
+        index.update(laborer(2L, "AVAILABLE", false, 4.8, "plumber"));
+        index.update(laborer(3L, "OFFLINE", true, 3.0, "ELECTRICIAN"));
+        index.update(laborer(4L, "AVAILABLE", true, null, "MASON"));
+
+        assertThat(ids(new WorkerSearchQuery(Set.of("plumber", "electrician"), true, false, false, null)))
+                .containsExactly(1L);
+        assertThat(ids(new WorkerSearchQuery(Set.of("PLUMBER", "ELECTRICIAN"), false, false, false, null)))
+                .containsExactly(2L, 1L, 3L);
+        assertThat(ids(new WorkerSearchQuery(Set.of("PLUMBER", "ELECTRICIAN"), false, true, true, null)))
+                .containsExactly(1L);
+        assertThat(ids(new WorkerSearchQuery(Set.of(), false, false, false, 4.6)))
+                .containsExactly(2L);
+        // Unrated laborers sort last
+        assertThat(ids(new WorkerSearchQuery(Set.of(), false, false, false, null)))
+                .containsExactly(2L, 1L, 3L, 4L);
+    }
+
+    @Test
+    void pagesAcrossRatingBucketsWithACursor() {
+        for (long id = 1; id <= 10; id++) {
+            index.update(laborer(id, "AVAILABLE", false, (double) (id % 5), "PAINTER"));
+        }
+        WorkerSearchQuery query = WorkerSearchQuery.bySkill("painter");
+
+        List<LaborerSnapshot> first = index.search(query, RatingCursor.START, 3);
+        assertThat(first).extracting(LaborerSnapshot::id).containsExactly(4L, 9L, 3L, 8L); // 3 + 1 look-ahead
+
+        LaborerSnapshot last = first.get(2);
+        RatingCursor next = new RatingCursor(last.rating(), last.id());
+        assertThat(index.search(query, next, 3)).extracting(LaborerSnapshot::id).containsExactly(8L, 2L, 7L, 1L);
+    }
+
+    @Test
+    void statusChangesMoveLaborersInAndOutOfAvailable() {
+        index.update(laborer(1L, "AVAILABLE", false, 4.0, "PLUMBER"));
+        WorkerSearchQuery availablePlumbers = new WorkerSearchQuery(Set.of("PLUMBER"), false, true, false, null);
+
+        index.onLaborerStatusChanged(new LaborerStatusChangedEvent(1L, "OFFLINE"));
+        assertThat(ids(availablePlumbers)).isEmpty();
+
+        index.onLaborerStatusChanged(new LaborerStatusChangedEvent(1L, "AVAILABLE"));
+        assertThat(ids(availablePlumbers)).containsExactly(1L);
+    }
+
+    private List<Long> ids(WorkerSearchQuery query) {
+        return index.search(query, RatingCursor.START, 50).stream().map(LaborerSnapshot::id).toList();
+    }
+
+    private static LaborerSnapshot laborer(Long id, String status, boolean verified, Double rating, String... skills) {
+        return new LaborerSnapshot(id, "9" + id, "First" + id, "Last", rating, verified, status,
+                Set.of(skills), 19.0, 72.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.pehchaan.backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import com.pehchaan.backend.entity.User;
+import com.pehchaan.backend.repository.WorkerSearchRepository;
+
+class NearbySearchCacheTest {
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final FakeRepository repository = new FakeRepository();
+    private final NearbySearchCache cache = new NearbySearchCache(repository, geometryFactory, true, 60_000, 100);
+
+    @Test
+    void callersInATileShareOneQueryAndAreRankedFromTheirOwnPoint() {
+        repository.laborers.add(laborer(1L, 19.0712, 72.8712));
+        repository.laborers.add(laborer(2L, 19.0788, 72.8788));
+
+        List<LaborerSnapshot> southWest = cache.findNearest("plumber", 19.0711, 72.8711, 5000, 10);
+        List<LaborerSnapshot> northEast = cache.findNearest("PLUMBER", 19.0789, 72.8789, 5000, 10);
+
+        assertThat(southWest).extracting(LaborerSnapshot::id).containsExactly(1L, 2L);
+        assertThat(northEast).extracting(LaborerSnapshot::id).containsExactly(2L, 1L);
+        assertThat(repository.queries).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesRunASingleQuery() throws Exception {
+        repository.laborers.add(laborer(1L, 19.0712, 72.8712));
+        repository.gate = new CountDownLatch(1);
+
+        List<CompletableFuture<List<LaborerSnapshot>>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(CompletableFuture.supplyAsync(() -> cache.findNearest("PLUMBER", 19.0755, 72.8755, 5000, 10)));
+        }
+        Thread.sleep(100);
+        repository.gate.countDown();
+
+        for (CompletableFuture<List<LaborerSnapshot>> caller : callers) {
+            assertThat(caller.get(1, TimeUnit.SECONDS)).extracting(LaborerSnapshot::id).containsExactly(1L);
+        }
+        assertThat(repository.queries).hasValue(1);
+    }
+
+    @Test
+    void dropsTheTileWhenALaborerInItGoesOfflineOrMovesOut() {
+        repository.laborers.add(laborer(1L, 19.0712, 72.8712));
+        cache.findNearest("PLUMBER", 19.0755, 72.8755, 5000, 10);
+
+        // A GPS ping inside the same tile keeps the entry
+        cache.onLaborerUpdated(new LaborerUpdatedEvent(snapshot(1L, 19.0720, 72.8720)));
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.onLaborerUpdated(new LaborerUpdatedEvent(snapshot(1L, 19.0900, 72.8720)));
+        assertThat(cache.size()).isZero();
+
+        cache.findNearest("PLUMBER", 19.0755, 72.8755, 5000, 10);
+        cache.onLaborerStatusChanged(new LaborerStatusChangedEvent(1L, "OFFLINE"));
+        assertThat(cache.size()).isZero();
+        assertThat(repository.queries).hasValue(2);
+    }
+
+    private User laborer(Long id, double lat, double lon) {
+        return User.builder()
+                .id(id)
+                .status("AVAILABLE")
+                .skills(Set.of("PLUMBER"))
+                .currentLocation(geometryFactory.createPoint(new Coordinate(lon, lat)))
+                .build();
+    }
+
+    private static LaborerSnapshot snapshot(Long id, double lat, double lon) {
+        return new LaborerSnapshot(id, null, null, null, null, false, "AVAILABLE", Set.of("PLUMBER"), lat, lon);
+    }
+
+    private static class FakeRepository extends WorkerSearchRepository {
+
+        final List<User> laborers = new ArrayList<>();
+        final AtomicInteger queries = new AtomicInteger();
+        volatile CountDownLatch gate;
+
+        @Override
+        public List<User> findNearbyAvailableWorkers(Point location, String skill, double radiusMeters, int limit) {
+            queries.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return laborers.stream()
+                    .filter(u -> distance(u, location) <= radiusMeters)
+                    .sorted(Comparator.comparingDouble(u -> distance(u, location)))
+                    .limit(limit)
+                    .toList();
+        }
+
+        private static double distance(User user, Point point) {
+            return GeoMath.distanceMeters(point.getY(), point.getX(),
+                    user.getCurrentLocation().getY(), user.getCurrentLocation().getX());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.pehchaan.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class GigDispatcherTest {
+
+    private final GigDispatcher dispatcher = new GigDispatcher(5, 120);
+
+    @Test
+    void exactlyOneConcurrentAcceptWins() throws Exception {
+        List<Long> laborers = LongStream.rangeClosed(1, 32).boxed().toList();
+        dispatcher.offer(100L, laborers);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long laborerId : laborers) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return dispatcher.claim(100L, laborerId);
+                }));
+            }
+            start.countDown();
+        }
+
+        long winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                winners++;
+            }
+        }
+        assertThat(winners).isEqualTo(1);
+        assertThat(laborers).allSatisfy(id -> assertThat(dispatcher.openOffersFor(id)).isEmpty());
+    }
+
+    @Test
+    void releasedClaimIsOfferedToTheOthersAgain() {
+        dispatcher.offer(100L, List.of(1L, 2L));
+
+        assertThat(dispatcher.claim(100L, 1L)).isTrue();
+        assertThat(dispatcher.openOffersFor(2L)).isEmpty();
+
+        dispatcher.release(100L, 1L);
+
+        assertThat(dispatcher.openOffersFor(2L)).containsExactly(100L);
+        assertThat(dispatcher.claim(100L, 2L)).isTrue();
+    }
+
+    @Test
+    void onlyOfferedLaborersCanClaim() {
+        dispatcher.offer(100L, List.of(1L, 2L));
+
+        assertThat(dispatcher.isOfferedTo(100L, 3L)).isFalse();
+        assertThat(dispatcher.claim(100L, 3L)).isFalse();
+    }
+}
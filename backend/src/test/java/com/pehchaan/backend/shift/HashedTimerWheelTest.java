@@ -0,0 +1,62 @@
+package com.pehchaan.backend.shift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+class HashedTimerWheelTest {
+
+    private static final long TICK = 1_000;
+
+    private final HashedTimerWheel wheel = new HashedTimerWheel(TICK, 8, 0);
+
+    @Test
+    void firesOnlyWhatIsDue() {
+        wheel.schedule(1L, 2_500);
+        wheel.schedule(2L, 5_000);
+        wheel.schedule(3L, 2_000);
+
+        assertThat(wheel.advance(1_999)).isEmpty();
+        assertThat(wheel.advance(2_600)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(wheel.advance(10_000)).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keepsTimersMoreThanOneRevolutionOut() {
+        wheel.schedule(1L, 3_000 + 8 * TICK * 2); // Same slot as tick 3, two laps later
+
+        assertThat(wheel.advance(3_000)).isEmpty();
+        assertThat(wheel.advance(12_000)).isEmpty();
+        assertThat(wheel.advance(19_000)).containsExactly(1L);
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersDoNotFireEarly() {
+        wheel.schedule(1L, 2_000);
+        wheel.schedule(2L, 2_000);
+        wheel.cancel(1L);
+        wheel.schedule(2L, 6_000);
+
+        assertThat(wheel.advance(3_000)).isEmpty();
+        assertThat(wheel.advance(6_000)).containsExactly(2L);
+    }
+
+    @Test
+    void shiftClosesAtTheEarlierOfCutoffAndMaxLength() {
+        LocalDateTime checkIn = LocalDateTime.of(2025, 3, 1, 9, 0);
+        Duration twelveHours = Duration.ofHours(12);
+
+        assertThat(new ShiftPolicy(LocalTime.of(18, 0), null).closesAt(checkIn, twelveHours))
+                .isEqualTo(LocalDateTime.of(2025, 3, 1, 18, 0));
+        assertThat(new ShiftPolicy(LocalTime.of(18, 0), 240).closesAt(checkIn, twelveHours))
+                .isEqualTo(LocalDateTime.of(2025, 3, 1, 13, 0));
+        // Checked in after the cutoff: the next day's cutoff applies, capped by the default length
+        assertThat(new ShiftPolicy(LocalTime.of(6, 0), null).closesAt(checkIn, twelveHours))
+                .isEqualTo(LocalDateTime.of(2025, 3, 1, 21, 0));
+    }
+}
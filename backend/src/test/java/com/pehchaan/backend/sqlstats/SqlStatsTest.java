@@ -0,0 +1,32 @@
+package com.pehchaan.backend.sqlstats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatsTest {
+
+    @Test
+    void reducesQueriesToTheirShape() {
+        assertThat(SqlShape.of("select * from users u1_0 where u1_0.id = 42 and u1_0.phone = 'it''s'"))
+                .isEqualTo("select * from users u1_0 where u1_0.id = ? and u1_0.phone = ?");
+        assertThat(SqlShape.of("select s from user_skills\n  where user_id IN (?, ?,?)"))
+                .isEqualTo("select s from user_skills where user_id in (?)");
+    }
+
+    @Test
+    void flagsOnlyShapesAboveTheThreshold() {
+        SqlStats stats = new SqlStats();
+        for (long id = 1; id <= 12; id++) {
+            stats.statement("select * from projects where id = " + id, 1_000_000);
+        }
+        stats.statement("select * from gigs where consumer_id = ?", 3_000_000);
+        stats.rows(13);
+
+        assertThat(stats.statements()).isEqualTo(13);
+        assertThat(stats.millis()).isEqualTo(15);
+        assertThat(stats.repeatedShapes(10))
+                .containsExactly(new SqlStats.RepeatedShape("select * from projects where id = ?", 12));
+        assertThat(stats.repeatedShapes(12)).isEmpty();
+    }
+}